@@ -1,18 +1,21 @@
 package com.example.expensetrackerapp;
 
 import android.app.Application;
-import android.app.NotificationChannel;
-import android.app.NotificationManager;
-import android.os.Build;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.ApplicationInfo;
 
+import com.example.expensetrackerapp.auth.SplashActivity;
 import com.example.expensetrackerapp.data.local.AppDatabase;
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.FirebaseFirestoreSettings;
+import com.example.expensetrackerapp.startup.AppStartupComponents;
+import com.example.expensetrackerapp.startup.StartupGraph;
 
 /**
  * Main Application class for Expense Tracker App.
- * Initializes Firebase, Room Database, and Notification Channels.
+ * Startup work (Firebase, Firestore, Room, notification channels) is declared in
+ * {@link AppStartupComponents} and run by {@link StartupGraph}; only Firebase core
+ * is initialized before the first frame.
  */
 public class ExpenseTrackerApp extends Application {
 
@@ -22,70 +25,42 @@ public class ExpenseTrackerApp extends Application {
     public static final String CHANNEL_GENERAL = "general_channel";
 
     private static ExpenseTrackerApp instance;
-    private AppDatabase database;
+    private static boolean debuggable;
 
     @Override
     public void onCreate() {
         super.onCreate();
         instance = this;
+        debuggable = (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
 
-        // Initialize Firebase
-        FirebaseApp.initializeApp(this);
-
-        // Configure Firestore with offline persistence
-        FirebaseFirestoreSettings settings = new FirebaseFirestoreSettings.Builder()
-                .setPersistenceEnabled(true)
-                .setCacheSizeBytes(FirebaseFirestoreSettings.CACHE_SIZE_UNLIMITED)
-                .build();
-        FirebaseFirestore.getInstance().setFirestoreSettings(settings);
-
-        // Initialize Room Database
-        database = AppDatabase.getInstance(this);
-
-        // Create notification channels
-        createNotificationChannels();
+        StartupGraph graph = StartupGraph.getInstance();
+        AppStartupComponents.registerAll(graph);
+        graph.start(this);
     }
 
     public static ExpenseTrackerApp getInstance() {
         return instance;
     }
 
+    /**
+     * Whether this is a debuggable build. Timing logs are written only then.
+     */
+    public static boolean isDebuggable() {
+        return debuggable;
+    }
+
     public AppDatabase getDatabase() {
-        return database;
+        return AppDatabase.getInstance(this);
     }
 
     /**
-     * Create notification channels for Android O and above.
+     * Relaunch the app in a new process, e.g. once a restored database is staged.
+     * Ending the process stops every executor, worker and observer that could still
+     * reach the old database, so the new process opens the restored file first.
      */
-    private void createNotificationChannels() {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            NotificationManager manager = getSystemService(NotificationManager.class);
-
-            // Reminders channel
-            NotificationChannel remindersChannel = new NotificationChannel(
-                    CHANNEL_REMINDERS,
-                    "Expense Reminders",
-                    NotificationManager.IMPORTANCE_DEFAULT);
-            remindersChannel.setDescription("Daily and weekly reminders to log expenses");
-
-            // Alerts channel
-            NotificationChannel alertsChannel = new NotificationChannel(
-                    CHANNEL_ALERTS,
-                    "Budget Alerts",
-                    NotificationManager.IMPORTANCE_HIGH);
-            alertsChannel.setDescription("Alerts when budget is exceeded");
-
-            // General channel
-            NotificationChannel generalChannel = new NotificationChannel(
-                    CHANNEL_GENERAL,
-                    "General Notifications",
-                    NotificationManager.IMPORTANCE_LOW);
-            generalChannel.setDescription("General app notifications");
-
-            // Register channels
-            manager.createNotificationChannel(remindersChannel);
-            manager.createNotificationChannel(alertsChannel);
-            manager.createNotificationChannel(generalChannel);
-        }
+    public static void restart(Context context) {
+        Intent intent = Intent.makeRestartActivityTask(new ComponentName(context, SplashActivity.class));
+        context.startActivity(intent);
+        Runtime.getRuntime().exit(0);
     }
 }
@@ -2,14 +2,21 @@ package com.example.expensetrackerapp;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Choreographer;
 import android.view.View;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
+import androidx.lifecycle.Lifecycle;
 
 import com.example.expensetrackerapp.auth.AuthManager;
 import com.example.expensetrackerapp.auth.LoginActivity;
+import com.example.expensetrackerapp.data.repository.UserRepository;
 import com.example.expensetrackerapp.databinding.ActivityMainBinding;
 import com.example.expensetrackerapp.ui.analytics.AnalyticsFragment;
 import com.example.expensetrackerapp.ui.dashboard.DashboardFragment;
@@ -17,10 +24,14 @@ import com.example.expensetrackerapp.ui.profile.ProfileFragment;
 import com.example.expensetrackerapp.ui.transactions.AddExpenseBottomSheet;
 import com.example.expensetrackerapp.ui.transactions.TransactionsFragment;
 import com.example.expensetrackerapp.utils.PreferenceManager;
+import com.example.expensetrackerapp.utils.SettingsStore;
 import com.google.firebase.auth.FirebaseAuth;
 
 public class MainActivity extends AppCompatActivity implements FirebaseAuth.AuthStateListener {
 
+    private static final String TAG = "MainActivity";
+    private static final String KEY_CURRENT_TAB = "current_tab";
+
     private ActivityMainBinding binding;
     private AuthManager authManager;
     private PreferenceManager preferenceManager;
@@ -50,35 +61,42 @@ public class MainActivity extends AppCompatActivity implements FirebaseAuth.Auth
         setupFab();
         setupGuestBanner();
 
-        // Load default fragment
+        // Keep the currency setting in step with the profile, which syncs between devices
+        SettingsStore settingsStore = SettingsStore.getInstance(this);
+        UserRepository.getInstance(this).getProfile().observe(this, settingsStore::reconcile);
+
+        // Load default fragment; after recreation the FragmentManager restores the tabs itself
         if (savedInstanceState == null) {
-            loadFragment(new DashboardFragment(), TAG_DASHBOARD);
+            showTab(TAG_DASHBOARD);
+        } else {
+            currentFragmentTag = savedInstanceState.getString(KEY_CURRENT_TAB, TAG_DASHBOARD);
         }
     }
 
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putString(KEY_CURRENT_TAB, currentFragmentTag);
+    }
+
     private void setupBottomNavigation() {
         binding.bottomNavigation.setOnItemSelectedListener(item -> {
-            Fragment fragment;
             String tag;
 
             int itemId = item.getItemId();
             if (itemId == R.id.nav_dashboard) {
-                fragment = new DashboardFragment();
                 tag = TAG_DASHBOARD;
             } else if (itemId == R.id.nav_transactions) {
-                fragment = new TransactionsFragment();
                 tag = TAG_TRANSACTIONS;
             } else if (itemId == R.id.nav_analytics) {
-                fragment = new AnalyticsFragment();
                 tag = TAG_ANALYTICS;
             } else if (itemId == R.id.nav_profile) {
-                fragment = new ProfileFragment();
                 tag = TAG_PROFILE;
             } else {
                 return false;
             }
 
-            loadFragment(fragment, tag);
+            showTab(tag);
             return true;
         });
     }
@@ -103,19 +121,72 @@ public class MainActivity extends AppCompatActivity implements FirebaseAuth.Auth
         }
     }
 
-    private void loadFragment(Fragment fragment, String tag) {
+    private Fragment createFragment(String tag) {
+        switch (tag) {
+            case TAG_TRANSACTIONS:
+                return new TransactionsFragment();
+            case TAG_ANALYTICS:
+                return new AnalyticsFragment();
+            case TAG_PROFILE:
+                return new ProfileFragment();
+            case TAG_DASHBOARD:
+            default:
+                return new DashboardFragment();
+        }
+    }
+
+    /**
+     * Show a top-level tab. Each tab is created once and then kept alive with its
+     * view, scroll position and chart state; switching only toggles visibility.
+     * Hidden tabs are capped at STARTED so only the visible one is resumed.
+     */
+    private void showTab(String tag) {
         if (tag.equals(currentFragmentTag)) {
             return;
         }
 
-        currentFragmentTag = tag;
+        long startTime = SystemClock.uptimeMillis();
+        FragmentManager fragmentManager = getSupportFragmentManager();
+        Fragment target = fragmentManager.findFragmentByTag(tag);
+        boolean created = target == null;
 
-        FragmentTransaction transaction = getSupportFragmentManager().beginTransaction();
+        FragmentTransaction transaction = fragmentManager.beginTransaction();
+        transaction.setReorderingAllowed(true);
         transaction.setCustomAnimations(
                 R.anim.slide_in_right,
                 R.anim.slide_out_left);
-        transaction.replace(R.id.fragmentContainer, fragment, tag);
+
+        if (currentFragmentTag != null) {
+            Fragment current = fragmentManager.findFragmentByTag(currentFragmentTag);
+            if (current != null) {
+                transaction.hide(current);
+                transaction.setMaxLifecycle(current, Lifecycle.State.STARTED);
+            }
+        }
+
+        if (created) {
+            target = createFragment(tag);
+            transaction.add(R.id.fragmentContainer, target, tag);
+        } else {
+            transaction.show(target);
+        }
+        transaction.setMaxLifecycle(target, Lifecycle.State.RESUMED);
         transaction.commit();
+
+        currentFragmentTag = tag;
+        logTabSwitch(tag, created, startTime);
+    }
+
+    /**
+     * Log the time from the tab tap until the next frame is drawn; debuggable builds only.
+     */
+    private void logTabSwitch(String tag, boolean created, long startTime) {
+        if (!ExpenseTrackerApp.isDebuggable()) {
+            return;
+        }
+        Choreographer.getInstance().postFrameCallback(frameTimeNanos ->
+                Log.d(TAG, "Tab switch to " + tag + (created ? " (created)" : " (reused)")
+                        + " took " + (SystemClock.uptimeMillis() - startTime) + "ms"));
     }
 
     @Override
@@ -4,13 +4,15 @@ import android.content.Context;
 
 import com.example.expensetrackerapp.data.local.AppDatabase;
 import com.example.expensetrackerapp.data.local.entity.UserProfile;
+import com.example.expensetrackerapp.data.remote.CloudTelemetry;
+import com.example.expensetrackerapp.data.remote.CloudWriteLimiter;
+import com.example.expensetrackerapp.data.remote.FirestoreProvider;
 import com.example.expensetrackerapp.utils.Constants;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.auth.AuthResult;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 /**
  * Manages Firebase Authentication and user state.
@@ -20,12 +22,10 @@ public class AuthManager {
 
     private static AuthManager instance;
     private final FirebaseAuth firebaseAuth;
-    private final FirebaseFirestore firestore;
     private FirebaseAuth.AuthStateListener authStateListener;
 
     private AuthManager() {
         firebaseAuth = FirebaseAuth.getInstance();
-        firestore = FirebaseFirestore.getInstance();
     }
 
     public static synchronized AuthManager getInstance() {
@@ -140,11 +140,12 @@ public class AuthManager {
         profile.setCurrency(Constants.CURRENCY_BDT);
         profile.setMonthlyBudget(0);
 
-        firestore.collection(Constants.COLLECTION_USERS)
-                .document(userId)
-                .collection(Constants.COLLECTION_PROFILE)
-                .document("info")
-                .set(profile)
+        CloudTelemetry.getInstance().trackWrite(CloudTelemetry.OP_PROFILE_CREATE, CloudWriteLimiter.getInstance(),
+                () -> FirestoreProvider.get().collection(Constants.COLLECTION_USERS)
+                        .document(userId)
+                        .collection(Constants.COLLECTION_PROFILE)
+                        .document("info")
+                        .set(profile))
                 .addOnSuccessListener(aVoid -> {
                     if (listener != null) {
                         listener.onSuccess();
@@ -1,5 +1,7 @@
 package com.example.expensetrackerapp.auth;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.animation.AnimatorSet;
 import android.animation.ObjectAnimator;
 import android.annotation.SuppressLint;
@@ -7,6 +9,8 @@ import android.content.Intent;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
 import android.view.View;
 import android.view.WindowManager;
 import android.view.animation.AccelerateDecelerateInterpolator;
@@ -18,6 +22,7 @@ import androidx.core.splashscreen.SplashScreen;
 import com.example.expensetrackerapp.MainActivity;
 import com.example.expensetrackerapp.auth.AuthManager;
 import com.example.expensetrackerapp.databinding.ActivitySplashBinding;
+import com.example.expensetrackerapp.startup.StartupWarmup;
 import com.example.expensetrackerapp.utils.PreferenceManager;
 
 /**
@@ -30,7 +35,18 @@ public class SplashActivity extends AppCompatActivity {
     private AuthManager authManager;
     private PreferenceManager preferenceManager;
 
-    private static final int SPLASH_DURATION = 3000; // 3 seconds
+    private static final String TAG = "SplashActivity";
+
+    // Never wait longer than this, even if warmup has not finished
+    private static final long MAX_SPLASH_DURATION = 3000;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private AnimatorSet animatorSet;
+    private long startTime;
+    private boolean animationDone;
+    private boolean ready;
+    private boolean loggedIn;
+    private boolean navigated;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -56,8 +72,27 @@ public class SplashActivity extends AppCompatActivity {
         // Start animations
         startAnimations();
 
-        // Navigate after delay
-        new Handler(Looper.getMainLooper()).postDelayed(this::navigateToNextScreen, SPLASH_DURATION);
+        // Leave once the animation has played out and the critical path is warm, within the timeout
+        startTime = SystemClock.elapsedRealtime();
+        handler.postDelayed(this::onTimeout, MAX_SPLASH_DURATION);
+        new StartupWarmup(this).start(isLoggedIn -> {
+            ready = true;
+            loggedIn = isLoggedIn;
+            maybeNavigate();
+        });
+    }
+
+    private void maybeNavigate() {
+        if (ready && animationDone) {
+            navigateToNextScreen(false);
+        }
+    }
+
+    private void onTimeout() {
+        if (!ready) {
+            loggedIn = authManager.isLoggedIn();
+        }
+        navigateToNextScreen(!ready);
     }
 
     private void startAnimations() {
@@ -97,18 +132,34 @@ public class SplashActivity extends AppCompatActivity {
         fadeTag.setDuration(1000);
 
         // Choreograph animations
-        AnimatorSet animatorSet = new AnimatorSet();
+        animatorSet = new AnimatorSet();
         animatorSet.play(scaleX).with(scaleY).with(alphaLogo);
         animatorSet.play(slideUpName).with(fadeName).after(400);
         animatorSet.play(slideUpTag).with(fadeTag).after(800);
 
+        // The tagline finishes last; ends at once when animations are turned off
+        animatorSet.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                animationDone = true;
+                maybeNavigate();
+            }
+        });
         animatorSet.start();
     }
 
-    private void navigateToNextScreen() {
+    private void navigateToNextScreen(boolean timedOut) {
+        if (navigated || isFinishing() || isDestroyed()) {
+            return;
+        }
+        navigated = true;
+        handler.removeCallbacksAndMessages(null);
+        Log.i(TAG, "Time to ready " + (SystemClock.elapsedRealtime() - startTime) + "ms"
+                + (timedOut ? " (timed out)" : ""));
+
         Intent intent;
 
-        if (authManager.isLoggedIn()) {
+        if (loggedIn) {
             intent = new Intent(this, MainActivity.class);
         } else {
             intent = new Intent(this, LoginActivity.class);
@@ -122,6 +173,11 @@ public class SplashActivity extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        handler.removeCallbacksAndMessages(null);
+        if (animatorSet != null) {
+            animatorSet.removeAllListeners();
+            animatorSet.cancel();
+        }
         binding = null;
     }
 }
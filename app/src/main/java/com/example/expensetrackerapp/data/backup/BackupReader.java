@@ -0,0 +1,279 @@
+package com.example.expensetrackerapp.data.backup;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.expensetrackerapp.ExpenseTrackerApp;
+import com.example.expensetrackerapp.data.local.AppDatabase;
+import com.example.expensetrackerapp.data.local.entity.Category;
+import com.example.expensetrackerapp.data.local.entity.Expense;
+import com.example.expensetrackerapp.data.local.entity.UserProfile;
+import com.example.expensetrackerapp.utils.DateBuckets;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Restores a backup written by {@link BackupWriter} into a user's account. The
+ * user's existing expenses, custom categories and profile are replaced in one
+ * transaction, so a damaged backup leaves the old data untouched. Expenses are
+ * decoded and inserted a chunk at a time; only one chunk is ever held in memory.
+ */
+public class BackupReader {
+
+    private static final String TAG = "BackupReader";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AppDatabase db;
+    private final ColumnReader column = new ColumnReader();
+    private final List<String> dictionary = new ArrayList<>();
+
+    public BackupReader(AppDatabase db) {
+        this.db = db;
+    }
+
+    /**
+     * Replace the user's data with the backup's and return the number of expenses restored.
+     * Must be called off the main thread.
+     */
+    public int restore(String userId, InputStream in) throws IOException {
+        long startTime = SystemClock.elapsedRealtime();
+        InputStream source = new BufferedInputStream(in, BUFFER_SIZE);
+        readHeader(source);
+
+        Inflater inflater = new Inflater();
+        try {
+            InputStream body = new InflaterInputStream(source, inflater, BUFFER_SIZE);
+            column.readColumn(body);
+            String sourceUserId = column.readString();
+            column.readVarint(); // Backup time
+            column.requireConsumed();
+
+            // Cloud document ids only mean something in the account that made the backup
+            boolean sameAccount = userId.equals(sourceUserId);
+            int restored = db.runInTransaction(() -> {
+                try {
+                    return restoreSections(body, userId, sameAccount);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            if (ExpenseTrackerApp.isDebuggable()) {
+                Log.d(TAG, "Restored " + restored + " rows in " + (SystemClock.elapsedRealtime() - startTime) + "ms");
+            }
+            return restored;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void readHeader(InputStream in) throws IOException {
+        int magic = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Not a backup file");
+            }
+            magic = (magic << 8) | b;
+        }
+        if (magic != BackupWriter.MAGIC) {
+            throw new IOException("Not a backup file");
+        }
+        long version = ColumnReader.readVarint(in);
+        if (version < 1 || version > BackupWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported backup version " + version);
+        }
+    }
+
+    // --- Sections ---
+
+    private int restoreSections(InputStream in, String userId, boolean sameAccount) throws IOException {
+        db.expenseDao().deleteAllByUser(userId);
+        db.categoryDao().deleteAllByUser(userId);
+
+        int restored = 0;
+        while (true) {
+            int section = (int) ColumnReader.readVarint(in);
+            switch (section) {
+                case BackupWriter.SECTION_END:
+                    return restored;
+                case BackupWriter.SECTION_PROFILE:
+                    restoreProfile(in, userId);
+                    break;
+                case BackupWriter.SECTION_CATEGORIES:
+                    restoreCategories(in, userId);
+                    break;
+                case BackupWriter.SECTION_EXPENSES:
+                    restored += restoreExpenses(in, userId, sameAccount);
+                    break;
+                default:
+                    throw new IOException("Corrupt backup: unknown section " + section);
+            }
+        }
+    }
+
+    private void restoreProfile(InputStream in, String userId) throws IOException {
+        column.readColumn(in);
+        UserProfile existing = db.userProfileDao().getProfileSync(userId);
+        UserProfile profile = existing != null ? existing : new UserProfile();
+        profile.setUserId(userId);
+        profile.setName(column.readString());
+        String email = column.readString();
+        profile.setPhotoUri(column.readString());
+        profile.setMonthlyBudget(column.readAmount());
+        profile.setCurrency(column.readString());
+        boolean guest = column.readVarint() != 0;
+        long createdAt = column.readVarint();
+        long updatedAt = createdAt + column.readSignedVarint();
+        column.requireConsumed();
+
+        // Sign-in details belong to the account being restored into, not the backup
+        if (existing == null) {
+            profile.setEmail(email);
+            profile.setGuest(guest);
+            profile.setCreatedAt(createdAt);
+        }
+        profile.setUpdatedAt(Math.max(updatedAt, System.currentTimeMillis()));
+        db.userProfileDao().insert(profile);
+    }
+
+    private void restoreCategories(InputStream in, String userId) throws IOException {
+        column.readColumn(in);
+        long count = column.readVarint();
+        List<Category> categories = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            Category category = new Category(column.readString(), column.readString(), column.readString(), false);
+            category.setUserId(userId);
+            categories.add(category);
+        }
+        column.requireConsumed();
+        db.categoryDao().insertAll(categories);
+    }
+
+    private int restoreExpenses(InputStream in, String userId, boolean sameAccount) throws IOException {
+        dictionary.clear();
+        List<Expense> chunk = new ArrayList<>(BackupWriter.CHUNK_ROWS);
+        long[] dates = new long[BackupWriter.CHUNK_ROWS];
+        int restored = 0;
+
+        while (true) {
+            long rows = ColumnReader.readVarint(in);
+            if (rows == 0) {
+                return restored;
+            }
+            if (rows > BackupWriter.CHUNK_ROWS) {
+                throw new IOException("Corrupt backup: chunk of " + rows + " rows");
+            }
+            int count = (int) rows;
+
+            column.readColumn(in);
+            while (column.hasRemaining()) {
+                dictionary.add(column.readString());
+            }
+
+            chunk.clear();
+            for (int i = 0; i < count; i++) {
+                Expense expense = new Expense();
+                expense.setUserId(userId);
+                chunk.add(expense);
+            }
+
+            column.readColumn(in);
+            long day = 0;
+            for (int i = 0; i < count; i++) {
+                day += column.readSignedVarint();
+                dates[i] = day * DateBuckets.MILLIS_PER_DAY;
+            }
+            column.requireConsumed();
+
+            column.readColumn(in);
+            for (int i = 0; i < count; i++) {
+                dates[i] += column.readVarint();
+                chunk.get(i).setDate(dates[i]);
+            }
+            column.requireConsumed();
+
+            column.readColumn(in);
+            for (int i = 0; i < count; i++) {
+                chunk.get(i).setAmount(column.readAmount());
+            }
+            column.requireConsumed();
+
+            column.readColumn(in);
+            for (int i = 0; i < count; i++) {
+                chunk.get(i).setType(lookup(column.readVarint()));
+            }
+            column.requireConsumed();
+
+            column.readColumn(in);
+            for (int i = 0; i < count; i++) {
+                chunk.get(i).setCategory(lookup(column.readVarint()));
+            }
+            column.requireConsumed();
+
+            column.readColumn(in);
+            for (int i = 0; i < count; i++) {
+                chunk.get(i).setNotes(column.readString());
+            }
+            column.requireConsumed();
+
+            column.readColumn(in);
+            for (int i = 0; i < count; i++) {
+                chunk.get(i).setCreatedAt(dates[i] + column.readSignedVarint());
+            }
+            column.requireConsumed();
+
+            column.readColumn(in);
+            for (int i = 0; i < count; i++) {
+                Expense expense = chunk.get(i);
+                expense.setUpdatedAt(expense.getCreatedAt() + column.readSignedVarint());
+            }
+            column.requireConsumed();
+
+            column.readColumn(in);
+            for (int i = 0; i < count; i++) {
+                boolean synced = (column.readVarint() & BackupWriter.FLAG_SYNCED) != 0;
+                chunk.get(i).setSynced(sameAccount && synced);
+            }
+            column.requireConsumed();
+
+            column.readColumn(in);
+            for (int i = 0; i < count; i++) {
+                String firestoreId = column.readString();
+                chunk.get(i).setFirestoreId(sameAccount ? firestoreId : null);
+            }
+            column.requireConsumed();
+
+            db.expenseDao().insertAll(chunk);
+            restored += count;
+            if (count < BackupWriter.CHUNK_ROWS) {
+                // The writer ends a short chunk's section with a zero row count
+                if (ColumnReader.readVarint(in) != 0) {
+                    throw new IOException("Corrupt backup: data after the last chunk");
+                }
+                return restored;
+            }
+        }
+    }
+
+    private String lookup(long index) throws IOException {
+        if (index == 0) {
+            return null;
+        }
+        if (index > dictionary.size()) {
+            throw new IOException("Corrupt backup: unknown dictionary entry " + index);
+        }
+        return dictionary.get((int) index - 1);
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.expensetrackerapp.data.backup;
+
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.expensetrackerapp.ExpenseTrackerApp;
+import com.example.expensetrackerapp.data.export.ExportListener;
+import com.example.expensetrackerapp.data.local.AppDatabase;
+import com.example.expensetrackerapp.data.local.entity.Category;
+import com.example.expensetrackerapp.data.local.entity.UserProfile;
+import com.example.expensetrackerapp.utils.DateBuckets;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a user's expenses, custom categories and profile to a compact binary backup.
+ *
+ * <p>Layout: a 4-byte magic and a varint format version, then a deflate stream
+ * holding the source user, the profile, the categories and the expenses. Expenses
+ * are written in chunks of up to {@link #CHUNK_ROWS} rows, column by column:
+ * dates as day deltas from the previous row (rows are in date order, so these
+ * are mostly 0 or 1) plus a separate time-of-day column, which is all zeros for
+ * dates picked from the calendar, amounts as varint minor units, category and type as indexes into a
+ * dictionary that grows chunk by chunk, and the remaining fields as their own
+ * columns. Grouping like values together is what lets deflate shrink them well.
+ * A zero row count ends the stream.
+ */
+public class BackupWriter {
+
+    private static final String TAG = "BackupWriter";
+
+    static final int MAGIC = 0x4554424B; // "ETBK"
+    static final int FORMAT_VERSION = 1;
+
+    static final int SECTION_END = 0;
+    static final int SECTION_PROFILE = 1;
+    static final int SECTION_CATEGORIES = 2;
+    static final int SECTION_EXPENSES = 3;
+
+    static final int CHUNK_ROWS = 4096;
+    static final int MAX_COLUMN_BYTES = 64 * 1024 * 1024;
+    // Above this, amount * 100 may not be exact in a double; such amounts are stored raw
+    static final double MAX_EXACT_AMOUNT = 1e13;
+
+    static final int FLAG_SYNCED = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AppDatabase db;
+
+    // Columns, reused from chunk to chunk
+    private final ColumnBuffer dictionaryColumn = new ColumnBuffer(256);
+    private final ColumnBuffer dayColumn = new ColumnBuffer(CHUNK_ROWS);
+    private final ColumnBuffer timeColumn = new ColumnBuffer(CHUNK_ROWS * 4);
+    private final ColumnBuffer amountColumn = new ColumnBuffer(CHUNK_ROWS * 3);
+    private final ColumnBuffer typeColumn = new ColumnBuffer(CHUNK_ROWS);
+    private final ColumnBuffer categoryColumn = new ColumnBuffer(CHUNK_ROWS);
+    private final ColumnBuffer notesColumn = new ColumnBuffer(CHUNK_ROWS * 8);
+    private final ColumnBuffer createdColumn = new ColumnBuffer(CHUNK_ROWS * 3);
+    private final ColumnBuffer updatedColumn = new ColumnBuffer(CHUNK_ROWS * 2);
+    private final ColumnBuffer flagsColumn = new ColumnBuffer(CHUNK_ROWS);
+    private final ColumnBuffer firestoreIdColumn = new ColumnBuffer(CHUNK_ROWS * 2);
+
+    // Dictionary of category and type strings; index 0 stands for null
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    public BackupWriter(AppDatabase db) {
+        this.db = db;
+    }
+
+    /**
+     * Back up everything the user owns to the target file and return the number of
+     * expenses written. The file only appears once complete.
+     *
+     * @throws CancellationException if the listener cancelled; nothing is left behind
+     */
+    public int write(String userId, File target, ExportListener listener) throws IOException {
+        long startTime = SystemClock.elapsedRealtime();
+        File temp = new File(target.getPath() + ".part");
+
+        int written;
+        boolean complete = false;
+        try (OutputStream file = new BufferedOutputStream(new FileOutputStream(temp), BUFFER_SIZE)) {
+            written = write(userId, file, listener);
+            complete = true;
+        } finally {
+            if (!complete) {
+                temp.delete();
+            }
+        }
+
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Could not move backup into place");
+        }
+
+        if (ExpenseTrackerApp.isDebuggable()) {
+            Log.d(TAG, "Backed up " + written + " rows to " + target.length() + " bytes in "
+                    + (SystemClock.elapsedRealtime() - startTime) + "ms");
+        }
+        return written;
+    }
+
+    /**
+     * Stream the backup to an open stream, which is left open.
+     */
+    public int write(String userId, OutputStream out, ExportListener listener) throws IOException {
+        out.write(new byte[] {
+                (byte) (MAGIC >>> 24), (byte) (MAGIC >>> 16), (byte) (MAGIC >>> 8), (byte) MAGIC
+        });
+        ColumnBuffer.writeVarint(out, FORMAT_VERSION);
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            DeflaterOutputStream body = new DeflaterOutputStream(out, deflater, BUFFER_SIZE);
+            ColumnBuffer meta = new ColumnBuffer(256);
+            meta.writeString(userId);
+            meta.writeVarint(System.currentTimeMillis());
+            meta.writeColumnTo(body);
+
+            writeProfile(body, db.userProfileDao().getProfileSync(userId));
+            writeCategories(body, db.categoryDao().getUserCategoriesSync(userId));
+            int written = writeExpenses(body, userId, listener);
+
+            ColumnBuffer.writeVarint(body, SECTION_END);
+            body.finish();
+            return written;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // --- Sections ---
+
+    private void writeProfile(OutputStream out, UserProfile profile) throws IOException {
+        if (profile == null) {
+            return;
+        }
+        ColumnBuffer column = new ColumnBuffer(256);
+        column.writeString(profile.getName());
+        column.writeString(profile.getEmail());
+        column.writeString(profile.getPhotoUri());
+        column.writeAmount(profile.getMonthlyBudget());
+        column.writeString(profile.getCurrency());
+        column.writeVarint(profile.isGuest() ? 1 : 0);
+        column.writeVarint(profile.getCreatedAt());
+        column.writeSignedVarint(profile.getUpdatedAt() - profile.getCreatedAt());
+
+        ColumnBuffer.writeVarint(out, SECTION_PROFILE);
+        column.writeColumnTo(out);
+    }
+
+    private void writeCategories(OutputStream out, List<Category> categories) throws IOException {
+        ColumnBuffer column = new ColumnBuffer(64 + categories.size() * 24);
+        column.writeVarint(categories.size());
+        for (Category category : categories) {
+            column.writeString(category.getName());
+            column.writeString(category.getIcon());
+            column.writeString(category.getColor());
+        }
+
+        ColumnBuffer.writeVarint(out, SECTION_CATEGORIES);
+        column.writeColumnTo(out);
+    }
+
+    private int writeExpenses(OutputStream out, String userId, ExportListener listener) throws IOException {
+        int total = db.expenseDao().getCountByDateRangeSync(userId, Long.MIN_VALUE, Long.MAX_VALUE);
+        ColumnBuffer.writeVarint(out, SECTION_EXPENSES);
+        dictionary.clear();
+
+        int written = 0;
+        long fromDate = Long.MIN_VALUE;
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            if (listener.isCancelled()) {
+                throw new CancellationException("Backup cancelled");
+            }
+
+            resetColumns();
+            int rows = 0;
+            try (Cursor cursor = db.expenseDao().getBackupPage(userId, fromDate, afterId, CHUNK_ROWS)) {
+                int idIndex = cursor.getColumnIndexOrThrow("id");
+                int dateIndex = cursor.getColumnIndexOrThrow("date");
+                int amountIndex = cursor.getColumnIndexOrThrow("amount");
+                int typeIndex = cursor.getColumnIndexOrThrow("type");
+                int categoryIndex = cursor.getColumnIndexOrThrow("category");
+                int notesIndex = cursor.getColumnIndexOrThrow("notes");
+                int createdIndex = cursor.getColumnIndexOrThrow("createdAt");
+                int updatedIndex = cursor.getColumnIndexOrThrow("updatedAt");
+                int syncedIndex = cursor.getColumnIndexOrThrow("synced");
+                int firestoreIdIndex = cursor.getColumnIndexOrThrow("firestoreId");
+
+                // Deltas restart at each chunk so chunks decode on their own
+                long previousDay = 0;
+                while (cursor.moveToNext()) {
+                    long date = cursor.getLong(dateIndex);
+                    long createdAt = cursor.getLong(createdIndex);
+                    long day = Math.floorDiv(date, DateBuckets.MILLIS_PER_DAY);
+                    dayColumn.writeSignedVarint(day - previousDay);
+                    timeColumn.writeVarint(Math.floorMod(date, DateBuckets.MILLIS_PER_DAY));
+                    amountColumn.writeAmount(cursor.getDouble(amountIndex));
+                    typeColumn.writeVarint(dictionaryIndex(cursor.getString(typeIndex)));
+                    categoryColumn.writeVarint(dictionaryIndex(cursor.getString(categoryIndex)));
+                    notesColumn.writeString(cursor.getString(notesIndex));
+                    createdColumn.writeSignedVarint(createdAt - date);
+                    updatedColumn.writeSignedVarint(cursor.getLong(updatedIndex) - createdAt);
+                    flagsColumn.writeVarint(cursor.getInt(syncedIndex) != 0 ? FLAG_SYNCED : 0);
+                    firestoreIdColumn.writeString(cursor.getString(firestoreIdIndex));
+
+                    previousDay = day;
+                    fromDate = date;
+                    afterId = cursor.getLong(idIndex);
+                    rows++;
+                }
+            }
+
+            ColumnBuffer.writeVarint(out, rows);
+            if (rows == 0) {
+                break;
+            }
+            // New dictionary entries first, then the columns in BackupReader's order
+            dictionaryColumn.writeColumnTo(out);
+            dayColumn.writeColumnTo(out);
+            timeColumn.writeColumnTo(out);
+            amountColumn.writeColumnTo(out);
+            typeColumn.writeColumnTo(out);
+            categoryColumn.writeColumnTo(out);
+            notesColumn.writeColumnTo(out);
+            createdColumn.writeColumnTo(out);
+            updatedColumn.writeColumnTo(out);
+            flagsColumn.writeColumnTo(out);
+            firestoreIdColumn.writeColumnTo(out);
+
+            written += rows;
+            listener.onProgress(written, Math.max(total, written));
+            if (rows < CHUNK_ROWS) {
+                ColumnBuffer.writeVarint(out, 0);
+                break;
+            }
+        }
+        return written;
+    }
+
+    // --- Columns ---
+
+    private int dictionaryIndex(String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer index = dictionary.get(value);
+        if (index == null) {
+            // Entries added during a chunk are written ahead of its columns
+            index = dictionary.size() + 1;
+            dictionary.put(value, index);
+            dictionaryColumn.writeString(value);
+        }
+        return index;
+    }
+
+    private void resetColumns() {
+        dictionaryColumn.reset();
+        dayColumn.reset();
+        timeColumn.reset();
+        amountColumn.reset();
+        typeColumn.reset();
+        categoryColumn.reset();
+        notesColumn.reset();
+        createdColumn.reset();
+        updatedColumn.reset();
+        flagsColumn.reset();
+        firestoreIdColumn.reset();
+    }
+}
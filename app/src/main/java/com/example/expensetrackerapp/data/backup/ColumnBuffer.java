@@ -0,0 +1,105 @@
+package com.example.expensetrackerapp.data.backup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer for one backup column. Integers are LEB128 varints,
+ * signed values are zigzag encoded first, strings are UTF-8 with a length prefix.
+ */
+final class ColumnBuffer {
+
+    private byte[] bytes;
+    private int size;
+
+    ColumnBuffer(int initialCapacity) {
+        bytes = new byte[initialCapacity];
+    }
+
+    void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    void writeSignedVarint(long value) {
+        writeVarint(zigzag(value));
+    }
+
+    void writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 0; shift < 64; shift += 8) {
+            bytes[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Length plus one, then the UTF-8 bytes; a zero length marks null.
+     */
+    void writeString(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(encoded.length + 1L);
+        ensureCapacity(encoded.length);
+        System.arraycopy(encoded, 0, bytes, size, encoded.length);
+        size += encoded.length;
+    }
+
+    /**
+     * Amount in minor units when it has at most two decimals, else the raw double.
+     * The low bit of the leading varint says which follows.
+     */
+    void writeAmount(double amount) {
+        if (Math.abs(amount) < BackupWriter.MAX_EXACT_AMOUNT) {
+            long minor = Math.round(amount * 100);
+            if (minor / 100.0 == amount) {
+                writeVarint(zigzag(minor) << 1);
+                return;
+            }
+        }
+        writeVarint(1);
+        writeLong(Double.doubleToRawLongBits(amount));
+    }
+
+    int size() {
+        return size;
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    /**
+     * Length-prefixed, so readers can take a column in one read.
+     */
+    void writeColumnTo(OutputStream out) throws IOException {
+        writeVarint(out, size);
+        out.write(bytes, 0, size);
+    }
+
+    static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
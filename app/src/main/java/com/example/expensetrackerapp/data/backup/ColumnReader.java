@@ -0,0 +1,124 @@
+package com.example.expensetrackerapp.data.backup;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes one backup column written by {@link ColumnBuffer}. The buffer is
+ * reused from column to column, so a restore allocates per chunk only for the
+ * strings and rows it produces.
+ */
+final class ColumnReader {
+
+    private byte[] bytes = new byte[0];
+    private int limit;
+    private int position;
+
+    /**
+     * Load the next length-prefixed column from the stream.
+     */
+    void readColumn(InputStream in) throws IOException {
+        long length = readVarint(in);
+        if (length < 0 || length > BackupWriter.MAX_COLUMN_BYTES) {
+            throw new IOException("Corrupt backup: column of " + length + " bytes");
+        }
+        if (bytes.length < length) {
+            bytes = new byte[(int) Math.max(length, bytes.length * 2L)];
+        }
+        limit = (int) length;
+        position = 0;
+        int read = 0;
+        while (read < limit) {
+            int n = in.read(bytes, read, limit - read);
+            if (n < 0) {
+                throw new EOFException("Backup ends inside a column");
+            }
+            read += n;
+        }
+    }
+
+    long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= limit) {
+                throw new EOFException("Backup column ends inside a value");
+            }
+            byte b = bytes[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt backup: varint too long");
+    }
+
+    long readSignedVarint() throws IOException {
+        return unzigzag(readVarint());
+    }
+
+    long readLong() throws IOException {
+        if (limit - position < 8) {
+            throw new EOFException("Backup column ends inside a value");
+        }
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 8) {
+            value |= (long) (bytes[position++] & 0xFF) << shift;
+        }
+        return value;
+    }
+
+    String readString() throws IOException {
+        long length = readVarint();
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > limit - position) {
+            throw new EOFException("Backup column ends inside a string");
+        }
+        String value = new String(bytes, position, (int) (length - 1), StandardCharsets.UTF_8);
+        position += (int) (length - 1);
+        return value;
+    }
+
+    double readAmount() throws IOException {
+        long header = readVarint();
+        if ((header & 1) != 0) {
+            return Double.longBitsToDouble(readLong());
+        }
+        return unzigzag(header >>> 1) / 100.0;
+    }
+
+    boolean hasRemaining() {
+        return position < limit;
+    }
+
+    /**
+     * Fail if a column holds more than its rows used, which means it was misread.
+     */
+    void requireConsumed() throws IOException {
+        if (position != limit) {
+            throw new IOException("Corrupt backup: " + (limit - position) + " unread column bytes");
+        }
+    }
+
+    static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Backup ends inside a value");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt backup: varint too long");
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
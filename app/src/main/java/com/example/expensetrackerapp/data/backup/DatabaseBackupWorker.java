@@ -0,0 +1,65 @@
+package com.example.expensetrackerapp.data.backup;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.expensetrackerapp.data.repository.BackupRepository;
+import com.example.expensetrackerapp.utils.Constants;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes a daily on-device database backup while the device is idle enough not to notice.
+ */
+public class DatabaseBackupWorker extends Worker {
+
+    private static final String TAG = "DatabaseBackupWorker";
+
+    public DatabaseBackupWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    /**
+     * Schedule the daily backup. Keeps the existing schedule if there is one.
+     */
+    public static void schedule(Context context) {
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                DatabaseBackupWorker.class,
+                1,
+                TimeUnit.DAYS)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiresBatteryNotLow(true)
+                        .setRequiresStorageNotLow(true)
+                        .build())
+                .build();
+
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+                Constants.WORK_NAME_DATABASE_BACKUP,
+                ExistingPeriodicWorkPolicy.KEEP,
+                request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            BackupRepository.getInstance(getApplicationContext()).backupDatabaseSync();
+            return Result.success();
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Scheduled database backup failed", e);
+            return Result.retry();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.expensetrackerapp.data.backup;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.expensetrackerapp.ExpenseTrackerApp;
+import com.example.expensetrackerapp.data.local.AppDatabase;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Takes whole-file copies of the Room database and keeps the last few as gzip
+ * generations in app storage.
+ *
+ * <p>Copies are made on a separate connection so the app's writers keep going: in
+ * WAL mode the copy reads one snapshot while commits land in the log. SQLite 3.27
+ * and later (Android 11+) copy with {@code VACUUM INTO}; older versions attach a
+ * new file and copy table by table inside one transaction, during which app
+ * writes wait instead.
+ */
+public class DatabaseSnapshotter {
+
+    private static final String TAG = "DatabaseSnapshotter";
+
+    private static final String BACKUP_DIR = "db_backups";
+    private static final String PREFIX = AppDatabase.DATABASE_NAME + "-";
+    private static final String SUFFIX = ".db.gz";
+    private static final int MAX_GENERATIONS = 5;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Context context;
+    private final File databaseFile;
+    private final File backupDir;
+
+    public DatabaseSnapshotter(Context context) {
+        this.context = context.getApplicationContext();
+        this.databaseFile = this.context.getDatabasePath(AppDatabase.DATABASE_NAME);
+        this.backupDir = new File(this.context.getFilesDir(), BACKUP_DIR);
+    }
+
+    /**
+     * Copy, compress and store a new generation, dropping the oldest beyond the limit.
+     * Must be called off the main thread.
+     */
+    public File backup() throws IOException {
+        long startTime = SystemClock.elapsedRealtime();
+        if (!backupDir.exists() && !backupDir.mkdirs()) {
+            throw new IOException("Could not create backup folder");
+        }
+
+        // Uncompressed scratch copy, deleted once the generation is written
+        File copy = new File(databaseFile.getPath() + ".snapshot");
+        deleteDatabaseFiles(copy);
+        try {
+            // Matching the journal mode keeps this connection from trying to switch it
+            boolean wal = AppDatabase.getInstance(context).getOpenHelper()
+                    .getWritableDatabase().isWriteAheadLoggingEnabled();
+            int flags = SQLiteDatabase.OPEN_READWRITE | (wal ? SQLiteDatabase.ENABLE_WRITE_AHEAD_LOGGING : 0);
+            SQLiteDatabase source = SQLiteDatabase.openDatabase(databaseFile.getPath(), null, flags);
+            try {
+                if (supportsVacuumInto(source)) {
+                    source.execSQL("VACUUM INTO ?", new Object[] { copy.getPath() });
+                } else {
+                    copyTables(source, copy);
+                }
+            } finally {
+                source.close();
+            }
+
+            long timestamp = System.currentTimeMillis();
+            File generation = new File(backupDir, PREFIX + timestamp + SUFFIX);
+            File temp = new File(generation.getPath() + ".part");
+            try (InputStream in = new FileInputStream(copy);
+                    OutputStream out = new GZIPOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(temp), BUFFER_SIZE), BUFFER_SIZE)) {
+                copyStream(in, out);
+            } catch (IOException e) {
+                temp.delete();
+                throw e;
+            }
+            if (!temp.renameTo(generation)) {
+                temp.delete();
+                throw new IOException("Could not move backup into place");
+            }
+
+            rotate();
+            if (ExpenseTrackerApp.isDebuggable()) {
+                Log.d(TAG, "Backed up " + copy.length() + " bytes to " + generation.length() + " in "
+                        + (SystemClock.elapsedRealtime() - startTime) + "ms");
+            }
+            return generation;
+        } finally {
+            deleteDatabaseFiles(copy);
+        }
+    }
+
+    /**
+     * Stored generations, newest first.
+     */
+    public List<File> getGenerations() {
+        File[] files = backupDir.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        List<File> generations = new ArrayList<>(Arrays.asList(files));
+        generations.sort((a, b) -> Long.compare(getTimestamp(b), getTimestamp(a)));
+        return generations;
+    }
+
+    /**
+     * When the generation was taken, from its file name.
+     */
+    public static long getTimestamp(File generation) {
+        String name = generation.getName();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Stage a generation to replace the live database. The generation is unpacked
+     * and checked first, and the swap itself is a rename on the next process start
+     * (see {@link AppDatabase#stageReplacement}), so a bad or interrupted restore
+     * leaves the current database as it was. Callers restart the process afterwards.
+     */
+    public void restore(File generation) throws IOException {
+        File unpacked = new File(databaseFile.getPath() + ".restore");
+        deleteDatabaseFiles(unpacked);
+        try {
+            try (InputStream in = new GZIPInputStream(
+                    new BufferedInputStream(new FileInputStream(generation), BUFFER_SIZE), BUFFER_SIZE);
+                    OutputStream out = new FileOutputStream(unpacked)) {
+                copyStream(in, out);
+            }
+            verify(unpacked);
+            AppDatabase.stageReplacement(context, unpacked);
+        } finally {
+            deleteDatabaseFiles(unpacked);
+        }
+    }
+
+    // --- Copying ---
+
+    private static boolean supportsVacuumInto(SQLiteDatabase db) {
+        String[] version = DatabaseUtils.stringForQuery(db, "SELECT sqlite_version()", null).split("\\.");
+        int major = Integer.parseInt(version[0]);
+        int minor = version.length > 1 ? Integer.parseInt(version[1]) : 0;
+        return major > 3 || (major == 3 && minor >= 27);
+    }
+
+    /**
+     * Fallback for SQLite without VACUUM INTO: build the schema in a new file, then
+     * fill it from one read of every table through an attached connection.
+     */
+    private static void copyTables(SQLiteDatabase source, File copy) {
+        List<String> tables = new ArrayList<>();
+        List<String> tableSql = new ArrayList<>();
+        List<String> otherSql = new ArrayList<>();
+        try (Cursor cursor = source.rawQuery(
+                "SELECT type, name, sql FROM sqlite_master WHERE sql IS NOT NULL ORDER BY rowid", null)) {
+            while (cursor.moveToNext()) {
+                String type = cursor.getString(0);
+                String name = cursor.getString(1);
+                if (name.startsWith("sqlite_") || name.equals("android_metadata")) {
+                    continue;
+                }
+                if (type.equals("table")) {
+                    tables.add(name);
+                    tableSql.add(cursor.getString(2));
+                } else {
+                    otherSql.add(cursor.getString(2));
+                }
+            }
+        }
+        boolean hasSequence = DatabaseUtils.longForQuery(source,
+                "SELECT COUNT(*) FROM sqlite_master WHERE name = 'sqlite_sequence'", null) > 0;
+
+        SQLiteDatabase target = SQLiteDatabase.openOrCreateDatabase(copy, null);
+        try {
+            for (String sql : tableSql) {
+                target.execSQL(sql);
+            }
+            // Room reads the schema version from here to decide on migrations
+            target.setVersion(source.getVersion());
+        } finally {
+            target.close();
+        }
+
+        source.execSQL("ATTACH DATABASE ? AS snapshot", new Object[] { copy.getPath() });
+        try {
+            source.beginTransactionNonExclusive();
+            try {
+                for (String table : tables) {
+                    source.execSQL("INSERT INTO snapshot." + quote(table) + " SELECT * FROM main." + quote(table));
+                }
+                if (hasSequence) {
+                    source.execSQL("INSERT INTO snapshot.sqlite_sequence SELECT * FROM main.sqlite_sequence");
+                }
+                source.setTransactionSuccessful();
+            } finally {
+                source.endTransaction();
+            }
+        } finally {
+            source.execSQL("DETACH DATABASE snapshot");
+        }
+
+        // Indexes are quicker to build once the rows are in
+        target = SQLiteDatabase.openDatabase(copy.getPath(), null, SQLiteDatabase.OPEN_READWRITE);
+        try {
+            for (String sql : otherSql) {
+                target.execSQL(sql);
+            }
+        } finally {
+            target.close();
+        }
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    private static void verify(File file) throws IOException {
+        SQLiteDatabase db;
+        try {
+            db = SQLiteDatabase.openDatabase(file.getPath(), null, SQLiteDatabase.OPEN_READONLY);
+        } catch (RuntimeException e) {
+            throw new IOException("Backup is not a database", e);
+        }
+        try {
+            String check = DatabaseUtils.stringForQuery(db, "PRAGMA quick_check", null);
+            if (!"ok".equals(check)) {
+                throw new IOException("Backup failed its integrity check: " + check);
+            }
+            int version = db.getVersion();
+            // Room migrates older files forward but cannot open newer ones
+            if (version < 1 || version > AppDatabase.VERSION) {
+                throw new IOException("Backup has unsupported schema version " + version);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Backup could not be read", e);
+        } finally {
+            db.close();
+        }
+    }
+
+    // --- Files ---
+
+    private void rotate() {
+        List<File> generations = getGenerations();
+        for (int i = MAX_GENERATIONS; i < generations.size(); i++) {
+            generations.get(i).delete();
+        }
+    }
+
+    private static void copyStream(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+    }
+
+    private static void deleteDatabaseFiles(File file) {
+        file.delete();
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+        new File(file.getPath() + "-journal").delete();
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.expensetrackerapp.data.export;
+
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.expensetrackerapp.ExpenseTrackerApp;
+import com.example.expensetrackerapp.data.local.dao.ExpenseDao;
+import com.example.expensetrackerapp.utils.DateBuckets;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Streams a user's transactions to CSV. Rows are read in keyset pages straight
+ * from cursors and encoded by hand into a large buffered UTF-8 writer, so memory
+ * stays flat and no per-row format strings or entities are built.
+ */
+public class CsvExporter {
+
+    private static final String TAG = "CsvExporter";
+
+    private static final String HEADER = "Date,Category,Type,Amount,Notes\n";
+    static final int PAGE_SIZE = 2000;
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final ExpenseDao expenseDao;
+    private final char[] digits = new char[20];
+
+    public CsvExporter(ExpenseDao expenseDao) {
+        this.expenseDao = expenseDao;
+    }
+
+    /**
+     * Write the user's rows dated within [startDate, endDate] to the target file and
+     * return how many were written. The file only appears once complete.
+     *
+     * @throws CancellationException if the listener cancelled; nothing is left behind
+     */
+    public int export(String userId, long startDate, long endDate, File target, ExportListener listener)
+            throws IOException {
+        long startTime = SystemClock.elapsedRealtime();
+        int total = expenseDao.getCountByDateRangeSync(userId, startDate, endDate);
+        File temp = new File(target.getPath() + ".part");
+
+        int written = 0;
+        boolean complete = false;
+        try (Writer out = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            out.write(HEADER);
+            DateBuckets buckets = DateBuckets.getDefault();
+            long fromDate = startDate;
+            long afterId = Long.MIN_VALUE;
+
+            while (true) {
+                if (listener.isCancelled()) {
+                    throw new CancellationException("Export cancelled");
+                }
+
+                int pageRows = 0;
+                try (Cursor cursor = expenseDao.getExportPage(userId, fromDate, endDate, afterId, PAGE_SIZE)) {
+                    int idColumn = cursor.getColumnIndexOrThrow("id");
+                    int dateColumn = cursor.getColumnIndexOrThrow("date");
+                    int categoryColumn = cursor.getColumnIndexOrThrow("category");
+                    int typeColumn = cursor.getColumnIndexOrThrow("type");
+                    int amountColumn = cursor.getColumnIndexOrThrow("amount");
+                    int notesColumn = cursor.getColumnIndexOrThrow("notes");
+
+                    while (cursor.moveToNext()) {
+                        long date = cursor.getLong(dateColumn);
+                        writeDate(out, buckets.epochDay(date));
+                        out.write(',');
+                        writeField(out, cursor.getString(categoryColumn));
+                        out.write(',');
+                        writeField(out, cursor.getString(typeColumn));
+                        out.write(',');
+                        writeAmount(out, cursor.getDouble(amountColumn));
+                        out.write(',');
+                        writeField(out, cursor.getString(notesColumn));
+                        out.write('\n');
+
+                        fromDate = date;
+                        afterId = cursor.getLong(idColumn);
+                        pageRows++;
+                    }
+                }
+
+                written += pageRows;
+                listener.onProgress(written, Math.max(total, written));
+                if (pageRows < PAGE_SIZE) {
+                    break;
+                }
+            }
+            complete = true;
+        } finally {
+            if (!complete) {
+                temp.delete();
+            }
+        }
+
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Could not move export into place");
+        }
+
+        if (ExpenseTrackerApp.isDebuggable()) {
+            long elapsed = Math.max(1, SystemClock.elapsedRealtime() - startTime);
+            Log.d(TAG, "Exported " + written + " rows in " + elapsed + "ms (" + (written * 1000L / elapsed)
+                    + " rows/s)");
+        }
+        return written;
+    }
+
+    // ISO yyyy-MM-dd in local time
+    private void writeDate(Writer out, long epochDay) throws IOException {
+        writePadded(out, DateBuckets.year(epochDay), 4);
+        out.write('-');
+        writePadded(out, DateBuckets.month(epochDay), 2);
+        out.write('-');
+        writePadded(out, DateBuckets.dayOfMonth(epochDay), 2);
+    }
+
+    // Two decimals, rounded half up like the old %.2f
+    private void writeAmount(Writer out, double amount) throws IOException {
+        if (amount < 0) {
+            out.write('-');
+        }
+        long minor = Math.round(Math.abs(amount) * 100);
+        writePadded(out, minor / 100, 1);
+        out.write('.');
+        writePadded(out, minor % 100, 2);
+    }
+
+    private void writePadded(Writer out, long value, int width) throws IOException {
+        int position = digits.length;
+        do {
+            digits[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0 || digits.length - position < width);
+        out.write(digits, position, digits.length - position);
+    }
+
+    /**
+     * RFC 4180 field: quoted only when it contains a separator, quote or line break.
+     */
+    private static void writeField(Writer out, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        if (!needsQuotes) {
+            out.write(value);
+            return;
+        }
+
+        out.write('"');
+        int runStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                // Write up to and including the quote, then double it
+                out.write(value, runStart, i - runStart + 1);
+                out.write('"');
+                runStart = i + 1;
+            }
+        }
+        out.write(value, runStart, value.length() - runStart);
+        out.write('"');
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.expensetrackerapp.data.export;
+
+/**
+ * Progress and cancellation hooks for a streaming export.
+ */
+public interface ExportListener {
+
+    /**
+     * Called after each page of rows with the rows written so far.
+     */
+    void onProgress(int written, int total);
+
+    /**
+     * Polled between pages; returning true abandons the export.
+     */
+    boolean isCancelled();
+}
@@ -0,0 +1,238 @@
+package com.example.expensetrackerapp.data.export;
+
+import android.app.Notification;
+import android.content.Context;
+import android.content.pm.ServiceInfo;
+import android.os.Build;
+import android.os.Environment;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.core.app.NotificationCompat;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.ForegroundInfo;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.expensetrackerapp.ExpenseTrackerApp;
+import com.example.expensetrackerapp.R;
+import com.example.expensetrackerapp.data.backup.BackupWriter;
+import com.example.expensetrackerapp.data.local.AppDatabase;
+import com.example.expensetrackerapp.data.local.dao.ExpenseDao;
+import com.example.expensetrackerapp.data.local.model.DataFingerprint;
+import com.example.expensetrackerapp.utils.Constants;
+import com.example.expensetrackerapp.utils.SettingsStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Exports a user's transactions to a CSV file, a PDF statement or a binary backup
+ * in the app's documents folder. Runs as a foreground data-sync job with a progress
+ * notification that can cancel it. CSV and PDF reports are served from
+ * {@link ReportCache} when nothing in their range has changed.
+ */
+public class ExportWorker extends Worker {
+
+    private static final String TAG = "ExportWorker";
+
+    public static final String KEY_USER_ID = "user_id";
+    public static final String KEY_START_DATE = "start_date";
+    public static final String KEY_END_DATE = "end_date";
+    public static final String KEY_FORMAT = "format";
+    public static final String KEY_PROGRESS = "progress";
+    public static final String KEY_TOTAL = "total";
+    public static final String KEY_FILE_PATH = "file_path";
+    public static final String KEY_ROW_COUNT = "row_count";
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_PDF = "pdf";
+    public static final String FORMAT_BACKUP = "backup";
+
+    private static final int NOTIFICATION_ID = 3001;
+    private static final long NOTIFICATION_INTERVAL_MS = 500;
+
+    private long lastNotificationTime;
+
+    public ExportWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    /**
+     * Enqueue an export of the user's rows dated within [startDate, endDate] in the
+     * given format. Re-enqueuing while an export is running keeps the existing job.
+     */
+    public static OneTimeWorkRequest enqueue(Context context, String userId, long startDate, long endDate,
+            String format) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ExportWorker.class)
+                .setInputData(new Data.Builder()
+                        .putString(KEY_USER_ID, userId)
+                        .putLong(KEY_START_DATE, startDate)
+                        .putLong(KEY_END_DATE, endDate)
+                        .putString(KEY_FORMAT, format)
+                        .build())
+                .build();
+
+        WorkManager.getInstance(context).enqueueUniqueWork(
+                Constants.WORK_NAME_EXPORT,
+                ExistingWorkPolicy.KEEP,
+                request);
+        return request;
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String userId = getInputData().getString(KEY_USER_ID);
+        if (userId == null) {
+            return Result.failure();
+        }
+        long startDate = getInputData().getLong(KEY_START_DATE, 0);
+        long endDate = getInputData().getLong(KEY_END_DATE, Long.MAX_VALUE);
+        String format = getInputData().getString(KEY_FORMAT);
+
+        File exportDir = getApplicationContext().getExternalFilesDir(Environment.DIRECTORY_DOCUMENTS);
+        if (exportDir == null) {
+            return Result.failure();
+        }
+        if (!exportDir.exists()) {
+            exportDir.mkdirs();
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.US).format(new Date());
+        String fileName;
+        if (FORMAT_PDF.equals(format)) {
+            fileName = "statement_" + timestamp + ".pdf";
+        } else if (FORMAT_BACKUP.equals(format)) {
+            fileName = "backup_" + timestamp + ".etb";
+        } else {
+            fileName = "expenses_" + timestamp + ".csv";
+        }
+        File file = new File(exportDir, fileName);
+
+        showProgress(0, 0);
+        Context context = getApplicationContext();
+        AppDatabase db = AppDatabase.getInstance(context);
+        ExportListener listener = new ExportListener() {
+            @Override
+            public void onProgress(int written, int total) {
+                setProgressAsync(new Data.Builder()
+                        .putInt(KEY_PROGRESS, written)
+                        .putInt(KEY_TOTAL, total)
+                        .build());
+                long now = SystemClock.elapsedRealtime();
+                if (now - lastNotificationTime >= NOTIFICATION_INTERVAL_MS) {
+                    showProgress(written, total);
+                }
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return isStopped();
+            }
+        };
+
+        try {
+            int rows;
+            if (FORMAT_BACKUP.equals(format)) {
+                // Backups always cover everything the user owns, so they are never cached
+                rows = new BackupWriter(db).write(userId, file, listener);
+            } else {
+                rows = writeReport(userId, startDate, endDate, format, file, listener);
+            }
+
+            return Result.success(new Data.Builder()
+                    .putString(KEY_FILE_PATH, file.getAbsolutePath())
+                    .putInt(KEY_ROW_COUNT, rows)
+                    .build());
+        } catch (CancellationException e) {
+            return Result.failure();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.failure();
+        } catch (IOException e) {
+            Log.e(TAG, "Export failed", e);
+            return Result.failure();
+        }
+    }
+
+    /**
+     * Write a CSV or PDF report, reusing the cached copy when the rows it covers have
+     * not changed since it was generated.
+     */
+    private int writeReport(String userId, long startDate, long endDate, String format, File file,
+            ExportListener listener) throws IOException, InterruptedException {
+        Context context = getApplicationContext();
+        ExpenseDao expenseDao = AppDatabase.getInstance(context).expenseDao();
+        boolean pdf = FORMAT_PDF.equals(format);
+        String currency = SettingsStore.getInstance(context).getCurrencySync();
+        String variant = (pdf ? currency : "") + "|" + TimeZone.getDefault().getID() + "|" + Locale.getDefault();
+
+        ReportCache cache = ReportCache.getInstance(context);
+        DataFingerprint fingerprint = expenseDao.getFingerprintSync(userId, startDate, endDate);
+        String key = ReportCache.key(userId, startDate, endDate, "", pdf ? FORMAT_PDF : FORMAT_CSV, variant,
+                fingerprint);
+
+        File cached = cache.get(key);
+        if (cached != null) {
+            ReportCache.copy(cached, file);
+            listener.onProgress(fingerprint.rowCount, fingerprint.rowCount);
+            return fingerprint.rowCount;
+        }
+
+        int rows;
+        if (pdf) {
+            rows = new PdfStatementWriter(context, expenseDao)
+                    .write(userId, startDate, endDate, currency, file, listener);
+        } else {
+            rows = new CsvExporter(expenseDao).export(userId, startDate, endDate, file, listener);
+        }
+
+        // Rows edited while the report was written may or may not be in it, so only
+        // cache a report whose data is still exactly what was fingerprinted
+        DataFingerprint after = expenseDao.getFingerprintSync(userId, startDate, endDate);
+        if (after.maxUpdatedAt == fingerprint.maxUpdatedAt && after.rowCount == fingerprint.rowCount) {
+            cache.put(key, file);
+        }
+        return rows;
+    }
+
+    private void showProgress(int written, int total) {
+        lastNotificationTime = SystemClock.elapsedRealtime();
+        try {
+            setForegroundAsync(createForegroundInfo(written, total));
+        } catch (IllegalStateException e) {
+            // Foreground start not allowed right now; the export still runs as normal work
+            Log.w(TAG, "Could not run export in the foreground", e);
+        }
+    }
+
+    private ForegroundInfo createForegroundInfo(int written, int total) {
+        Context context = getApplicationContext();
+        Notification notification = new NotificationCompat.Builder(context, ExpenseTrackerApp.CHANNEL_GENERAL)
+                .setSmallIcon(R.drawable.ic_notification)
+                .setContentTitle(context.getString(R.string.exporting_transactions))
+                .setContentText(total > 0
+                        ? context.getString(R.string.export_progress, written, total)
+                        : null)
+                .setProgress(total, written, total == 0)
+                .setOngoing(true)
+                .setOnlyAlertOnce(true)
+                .addAction(R.drawable.ic_notification, context.getString(R.string.cancel),
+                        WorkManager.getInstance(context).createCancelPendingIntent(getId()))
+                .build();
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            return new ForegroundInfo(NOTIFICATION_ID, notification, ServiceInfo.FOREGROUND_SERVICE_TYPE_DATA_SYNC);
+        }
+        return new ForegroundInfo(NOTIFICATION_ID, notification);
+    }
+}
@@ -0,0 +1,481 @@
+package com.example.expensetrackerapp.data.export;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.core.content.ContextCompat;
+
+import com.example.expensetrackerapp.ExpenseTrackerApp;
+import com.example.expensetrackerapp.R;
+import com.example.expensetrackerapp.data.local.dao.ExpenseDao;
+import com.example.expensetrackerapp.data.local.model.AmountStats;
+import com.example.expensetrackerapp.data.local.model.CategoryTotal;
+import com.example.expensetrackerapp.data.local.model.DailyTotal;
+import com.example.expensetrackerapp.utils.Constants;
+import com.example.expensetrackerapp.utils.CurrencyUtils;
+import com.example.expensetrackerapp.utils.DateBuckets;
+import com.example.expensetrackerapp.utils.DateUtils;
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Image;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.FontSelector;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfPageEventHelper;
+import com.itextpdf.text.pdf.PdfTemplate;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Writes a PDF statement: totals and category tables from SQL aggregates, charts
+ * from daily rollups, then every transaction in the range. The transaction table
+ * is marked incomplete and re-added after each page of rows, so iText lays out
+ * and writes finished PDF pages as it goes; memory stays bounded by one page of
+ * rows regardless of how many transactions the statement covers.
+ */
+public class PdfStatementWriter {
+
+    private static final String TAG = "PdfStatementWriter";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final float CHART_HEIGHT = 170;
+    private static final int MAX_CHART_BUCKETS = 24;
+    private static final int MAX_CHART_CATEGORIES = 7;
+
+    private final ExpenseDao expenseDao;
+    private final BaseColor incomeColor;
+    private final BaseColor expenseColor;
+    private final BaseColor[] categoryColors;
+    private final BaseColor rowShade;
+
+    // Selectors rather than fonts, so category names and notes outside Latin-1 keep their glyphs
+    private final FontSelector titleFont;
+    private final FontSelector headingFont;
+    private final FontSelector bodyFont;
+    private final FontSelector tableHeaderFont;
+    private final FontSelector mutedFont;
+    private final FontSelector labelFont;
+    private final FontSelector incomeFont;
+    private final FontSelector expenseFont;
+
+    public PdfStatementWriter(Context context, ExpenseDao expenseDao) {
+        this.expenseDao = expenseDao;
+        incomeColor = color(context, R.color.income);
+        expenseColor = color(context, R.color.expense);
+        categoryColors = new BaseColor[] {
+                color(context, R.color.chart_1), color(context, R.color.chart_2), color(context, R.color.chart_3),
+                color(context, R.color.chart_4), color(context, R.color.chart_5), color(context, R.color.chart_6)
+        };
+        rowShade = color(context, R.color.divider);
+        titleFont = StatementFonts.selector(18, Font.BOLD, null);
+        headingFont = StatementFonts.selector(12, Font.BOLD, null);
+        bodyFont = StatementFonts.selector(9, Font.NORMAL, null);
+        tableHeaderFont = StatementFonts.selector(9, Font.BOLD, null);
+        mutedFont = StatementFonts.selector(8, Font.NORMAL, BaseColor.GRAY);
+        labelFont = StatementFonts.selector(7, Font.NORMAL, BaseColor.DARK_GRAY);
+        incomeFont = StatementFonts.selector(9, Font.NORMAL, incomeColor);
+        expenseFont = StatementFonts.selector(9, Font.NORMAL, expenseColor);
+    }
+
+    private static BaseColor color(Context context, int resId) {
+        return new BaseColor(ContextCompat.getColor(context, resId));
+    }
+
+    /**
+     * Write the statement for the user's rows dated within [startDate, endDate] and
+     * return how many transactions it lists. The file only appears once complete.
+     *
+     * @throws CancellationException if the listener cancelled; nothing is left behind
+     */
+    public int write(String userId, long startDate, long endDate, String currency, File target,
+            ExportListener listener) throws IOException {
+        long startTime = SystemClock.elapsedRealtime();
+        File temp = new File(target.getPath() + ".part");
+
+        int written;
+        boolean complete = false;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp), BUFFER_SIZE)) {
+            Document document = new Document(PageSize.A4, 36, 36, 48, 48);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            writer.setPageEvent(new Footer(mutedFont));
+            document.open();
+
+            writeTitle(document, startDate, endDate, currency);
+            writeSummary(document, userId, startDate, endDate, currency);
+            writeCharts(document, writer, userId, startDate, endDate);
+            written = writeTransactions(document, userId, startDate, endDate, listener);
+
+            document.close();
+            complete = true;
+        } catch (DocumentException e) {
+            throw new IOException("Could not lay out statement", e);
+        } finally {
+            if (!complete) {
+                temp.delete();
+            }
+        }
+
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Could not move statement into place");
+        }
+
+        if (ExpenseTrackerApp.isDebuggable()) {
+            Log.d(TAG, "Wrote statement with " + written + " rows in "
+                    + (SystemClock.elapsedRealtime() - startTime) + "ms");
+        }
+        return written;
+    }
+
+    // --- Sections ---
+
+    private void writeTitle(Document document, long startDate, long endDate, String currency)
+            throws DocumentException {
+        document.add(new Paragraph(titleFont.process("Expense Tracker Statement")));
+        String range = startDate <= 0 && endDate == Long.MAX_VALUE
+                ? "All transactions"
+                : DateUtils.formatDate(startDate) + " – " + DateUtils.formatDate(endDate);
+        // No generation time: statements are cached, and the cache key only covers the data
+        document.add(new Paragraph(mutedFont.process(range + "  ·  Amounts in " + currency)));
+    }
+
+    private void writeSummary(Document document, String userId, long startDate, long endDate, String currency)
+            throws DocumentException {
+        AmountStats income = expenseDao.getAmountStatsSync(userId, Constants.TYPE_INCOME, startDate, endDate);
+        AmountStats expense = expenseDao.getAmountStatsSync(userId, Constants.TYPE_EXPENSE, startDate, endDate);
+
+        heading(document, "Summary");
+        PdfPTable summary = new PdfPTable(new float[] { 3, 2, 3, 3 });
+        summary.setWidthPercentage(100);
+        addHeaderCells(summary, "", "Transactions", "Total", "Largest");
+        addSummaryRow(summary, "Income", income);
+        addSummaryRow(summary, "Expenses", expense);
+        summary.addCell(cell("Net", tableHeaderFont, Element.ALIGN_LEFT));
+        summary.addCell(cell(String.valueOf(income.count + expense.count), tableHeaderFont, Element.ALIGN_RIGHT));
+        summary.addCell(cell(formatSigned(income.total - expense.total), tableHeaderFont, Element.ALIGN_RIGHT));
+        summary.addCell(cell("", tableHeaderFont, Element.ALIGN_RIGHT));
+        document.add(summary);
+
+        List<CategoryTotal> categories = expenseDao.getCategoryTotalsSync(userId, Constants.TYPE_EXPENSE,
+                startDate, endDate);
+        if (categories.isEmpty()) {
+            return;
+        }
+        heading(document, "Spending by category (" + currency + ")");
+        PdfPTable table = new PdfPTable(new float[] { 4, 3, 2 });
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        addHeaderCells(table, "Category", "Total", "Share");
+        for (CategoryTotal category : categories) {
+            double share = expense.total > 0 ? category.total * 100 / expense.total : 0;
+            table.addCell(cell(category.category, bodyFont, Element.ALIGN_LEFT));
+            table.addCell(cell(CurrencyUtils.formatAmountWithoutSymbol(category.total), bodyFont, Element.ALIGN_RIGHT));
+            table.addCell(cell(String.format(Locale.getDefault(), "%.1f%%", share), bodyFont, Element.ALIGN_RIGHT));
+        }
+        document.add(table);
+    }
+
+    private void addSummaryRow(PdfPTable table, String label, AmountStats stats) {
+        table.addCell(cell(label, bodyFont, Element.ALIGN_LEFT));
+        table.addCell(cell(String.valueOf(stats.count), bodyFont, Element.ALIGN_RIGHT));
+        table.addCell(cell(CurrencyUtils.formatAmountWithoutSymbol(stats.total), bodyFont, Element.ALIGN_RIGHT));
+        table.addCell(cell(CurrencyUtils.formatAmountWithoutSymbol(stats.max), bodyFont, Element.ALIGN_RIGHT));
+    }
+
+    private void writeCharts(Document document, PdfWriter writer, String userId, long startDate, long endDate)
+            throws DocumentException {
+        DateBuckets buckets = DateBuckets.getDefault();
+        List<DailyTotal> incomeDays = DailyTotal.sumByDay(expenseDao.getDatedAmountsSync(userId,
+                Constants.TYPE_INCOME, startDate, endDate), buckets);
+        List<DailyTotal> expenseDays = DailyTotal.sumByDay(expenseDao.getDatedAmountsSync(userId,
+                Constants.TYPE_EXPENSE, startDate, endDate), buckets);
+        if (incomeDays.isEmpty() && expenseDays.isEmpty()) {
+            return;
+        }
+
+        // Roll days up into months, or years when the range is too long for monthly bars
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        for (List<DailyTotal> days : List.of(incomeDays, expenseDays)) {
+            if (!days.isEmpty()) {
+                firstDay = Math.min(firstDay, days.get(0).day);
+                lastDay = Math.max(lastDay, days.get(days.size() - 1).day);
+            }
+        }
+        long months = (DateBuckets.year(lastDay) - DateBuckets.year(firstDay)) * 12L
+                + DateBuckets.month(lastDay) - DateBuckets.month(firstDay) + 1;
+        DateBuckets.Unit unit = months > MAX_CHART_BUCKETS ? DateBuckets.Unit.YEAR : DateBuckets.Unit.MONTH;
+
+        TreeMap<Long, double[]> rollup = new TreeMap<>();
+        for (long day = buckets.bucketDay(firstDay, unit); day <= lastDay; day = buckets.nextBucketDay(day, unit)) {
+            rollup.put(day, new double[2]);
+        }
+        for (DailyTotal total : incomeDays) {
+            rollup.get(buckets.bucketDay(total.day, unit))[0] += total.total;
+        }
+        for (DailyTotal total : expenseDays) {
+            rollup.get(buckets.bucketDay(total.day, unit))[1] += total.total;
+        }
+
+        heading(document, unit == DateBuckets.Unit.MONTH ? "Income and expenses by month" : "Income and expenses by year");
+        document.add(drawTrendChart(writer, document.right() - document.left(), rollup, unit, buckets));
+
+        List<CategoryTotal> categories = expenseDao.getCategoryTotalsSync(userId, Constants.TYPE_EXPENSE,
+                startDate, endDate);
+        if (!categories.isEmpty()) {
+            heading(document, "Top spending categories");
+            document.add(drawCategoryChart(writer, document.right() - document.left(), categories));
+        }
+    }
+
+    private int writeTransactions(Document document, String userId, long startDate, long endDate,
+            ExportListener listener) throws DocumentException {
+        int total = expenseDao.getCountByDateRangeSync(userId, startDate, endDate);
+        heading(document, "Transactions");
+
+        PdfPTable table = new PdfPTable(new float[] { 2.2f, 3, 1.8f, 2.5f, 5 });
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+        addHeaderCells(table, "Date", "Category", "Type", "Amount", "Notes");
+
+        int written = 0;
+        long fromDate = startDate;
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            if (listener.isCancelled()) {
+                throw new CancellationException("Statement cancelled");
+            }
+
+            int pageRows = 0;
+            try (Cursor cursor = expenseDao.getExportPage(userId, fromDate, endDate, afterId,
+                    CsvExporter.PAGE_SIZE)) {
+                int idColumn = cursor.getColumnIndexOrThrow("id");
+                int dateColumn = cursor.getColumnIndexOrThrow("date");
+                int categoryColumn = cursor.getColumnIndexOrThrow("category");
+                int typeColumn = cursor.getColumnIndexOrThrow("type");
+                int amountColumn = cursor.getColumnIndexOrThrow("amount");
+                int notesColumn = cursor.getColumnIndexOrThrow("notes");
+
+                while (cursor.moveToNext()) {
+                    long date = cursor.getLong(dateColumn);
+                    boolean isExpense = Constants.TYPE_EXPENSE.equals(cursor.getString(typeColumn));
+                    BaseColor shade = (written + pageRows) % 2 == 1 ? rowShade : null;
+
+                    table.addCell(shaded(cell(DateUtils.formatDate(date), bodyFont, Element.ALIGN_LEFT), shade));
+                    table.addCell(shaded(cell(cursor.getString(categoryColumn), bodyFont, Element.ALIGN_LEFT), shade));
+                    table.addCell(shaded(cell(isExpense ? "Expense" : "Income", bodyFont, Element.ALIGN_LEFT), shade));
+                    double amount = cursor.getDouble(amountColumn);
+                    table.addCell(shaded(cell(formatSigned(isExpense ? -amount : amount),
+                            isExpense ? expenseFont : incomeFont, Element.ALIGN_RIGHT), shade));
+                    table.addCell(shaded(cell(cursor.getString(notesColumn), bodyFont, Element.ALIGN_LEFT), shade));
+
+                    fromDate = date;
+                    afterId = cursor.getLong(idColumn);
+                    pageRows++;
+                }
+            }
+
+            // Lays out the rows so far; finished pages are written out and their rows released
+            document.add(table);
+            written += pageRows;
+            listener.onProgress(written, Math.max(total, written));
+            if (pageRows < CsvExporter.PAGE_SIZE) {
+                break;
+            }
+        }
+
+        table.setComplete(true);
+        document.add(table);
+        if (written == 0) {
+            document.add(new Paragraph(mutedFont.process("No transactions in this period.")));
+        }
+        return written;
+    }
+
+    // --- Charts ---
+
+    private Image drawTrendChart(PdfWriter writer, float width, TreeMap<Long, double[]> rollup,
+            DateBuckets.Unit unit, DateBuckets buckets) throws DocumentException {
+        PdfTemplate template = writer.getDirectContent().createTemplate(width, CHART_HEIGHT);
+        float left = 8;
+        float bottom = 18;
+        float top = CHART_HEIGHT - 16;
+        float plotWidth = width - left;
+        float plotHeight = top - bottom;
+
+        double max = 0;
+        for (double[] totals : rollup.values()) {
+            max = Math.max(max, Math.max(totals[0], totals[1]));
+        }
+        if (max <= 0) {
+            max = 1;
+        }
+
+        // Legend
+        legend(template, 0, CHART_HEIGHT - 8, incomeColor, "Income");
+        legend(template, 60, CHART_HEIGHT - 8, expenseColor, "Expenses");
+
+        // Baseline
+        template.setColorStroke(BaseColor.LIGHT_GRAY);
+        template.setLineWidth(0.5f);
+        template.moveTo(left, bottom);
+        template.lineTo(width, bottom);
+        template.stroke();
+
+        SimpleDateFormat labelFormat = new SimpleDateFormat(
+                unit == DateBuckets.Unit.MONTH ? "MMM yy" : "yyyy", Locale.getDefault());
+        int count = rollup.size();
+        float slot = plotWidth / count;
+        float barWidth = Math.max(1, slot * 0.35f);
+        int labelEvery = Math.max(1, (int) Math.ceil(count / (plotWidth / 36)));
+        int index = 0;
+        for (Map.Entry<Long, double[]> entry : rollup.entrySet()) {
+            float x = left + index * slot + slot / 2;
+            bar(template, x - barWidth, bottom, barWidth, (float) (entry.getValue()[0] / max * plotHeight), incomeColor);
+            bar(template, x, bottom, barWidth, (float) (entry.getValue()[1] / max * plotHeight), expenseColor);
+            if (index % labelEvery == 0) {
+                text(template, labelFormat.format(buckets.startOfDay(entry.getKey())), x, 6,
+                        Element.ALIGN_CENTER);
+            }
+            index++;
+        }
+        return Image.getInstance(template);
+    }
+
+    private Image drawCategoryChart(PdfWriter writer, float width, List<CategoryTotal> categories)
+            throws DocumentException {
+        // Largest categories, with the rest folded into one bar
+        List<CategoryTotal> shown = new ArrayList<>(categories.subList(0, Math.min(MAX_CHART_CATEGORIES,
+                categories.size())));
+        if (categories.size() > MAX_CHART_CATEGORIES) {
+            CategoryTotal others = new CategoryTotal();
+            others.category = "Other";
+            for (CategoryTotal category : categories.subList(MAX_CHART_CATEGORIES, categories.size())) {
+                others.total += category.total;
+            }
+            shown.add(others);
+        }
+
+        float rowHeight = 16;
+        float height = shown.size() * rowHeight + 4;
+        PdfTemplate template = writer.getDirectContent().createTemplate(width, height);
+        float labelWidth = 110;
+        float valueWidth = 70;
+        float barArea = width - labelWidth - valueWidth;
+
+        double max = 0;
+        for (CategoryTotal category : shown) {
+            max = Math.max(max, category.total);
+        }
+        if (max <= 0) {
+            max = 1;
+        }
+
+        for (int i = 0; i < shown.size(); i++) {
+            CategoryTotal category = shown.get(i);
+            float y = height - (i + 1) * rowHeight;
+            text(template, category.category, 0, y + 4, Element.ALIGN_LEFT);
+            bar(template, labelWidth, y + 2, (float) (category.total / max * barArea), rowHeight - 6,
+                    categoryColors[i % categoryColors.length]);
+            text(template, CurrencyUtils.formatAmountWithoutSymbol(category.total), width, y + 4,
+                    Element.ALIGN_RIGHT);
+        }
+        return Image.getInstance(template);
+    }
+
+    private static void bar(PdfContentByte canvas, float x, float y, float width, float height, BaseColor color) {
+        if (height <= 0 || width <= 0) {
+            return;
+        }
+        canvas.setColorFill(color);
+        canvas.rectangle(x, y, width, height);
+        canvas.fill();
+    }
+
+    private void legend(PdfContentByte canvas, float x, float y, BaseColor color, String label) {
+        bar(canvas, x, y - 1, 7, 7, color);
+        text(canvas, label, x + 10, y, Element.ALIGN_LEFT);
+    }
+
+    private void text(PdfContentByte canvas, String text, float x, float y, int alignment) {
+        ColumnText.showTextAligned(canvas, alignment, labelFont.process(text != null ? text : ""), x, y, 0);
+    }
+
+    // --- Table helpers ---
+
+    private void heading(Document document, String text) throws DocumentException {
+        Paragraph paragraph = new Paragraph(headingFont.process(text));
+        paragraph.setSpacingBefore(14);
+        paragraph.setSpacingAfter(6);
+        document.add(paragraph);
+    }
+
+    private void addHeaderCells(PdfPTable table, String... labels) {
+        for (int i = 0; i < labels.length; i++) {
+            PdfPCell cell = cell(labels[i], tableHeaderFont, i == 0 ? Element.ALIGN_LEFT : Element.ALIGN_RIGHT);
+            cell.setBorder(PdfPCell.BOTTOM);
+            table.addCell(cell);
+        }
+    }
+
+    private static PdfPCell cell(String text, FontSelector font, int alignment) {
+        PdfPCell cell = new PdfPCell(font.process(text != null ? text : ""));
+        cell.setHorizontalAlignment(alignment);
+        cell.setBorder(PdfPCell.NO_BORDER);
+        cell.setPadding(3);
+        return cell;
+    }
+
+    private static PdfPCell shaded(PdfPCell cell, BaseColor shade) {
+        if (shade != null) {
+            cell.setBackgroundColor(shade);
+        }
+        return cell;
+    }
+
+    private static String formatSigned(double amount) {
+        String formatted = CurrencyUtils.formatAmountWithoutSymbol(Math.abs(amount));
+        return amount < 0 ? "-" + formatted : formatted;
+    }
+
+    /**
+     * Page number in the bottom margin of every page.
+     */
+    private static class Footer extends PdfPageEventHelper {
+        private final FontSelector font;
+
+        Footer(FontSelector font) {
+            this.font = font;
+        }
+
+        @Override
+        public void onEndPage(PdfWriter writer, Document document) {
+            ColumnText.showTextAligned(writer.getDirectContent(), Element.ALIGN_CENTER,
+                    font.process("Page " + writer.getPageNumber()),
+                    (document.left() + document.right()) / 2, document.bottom() - 24, 0);
+        }
+    }
+}
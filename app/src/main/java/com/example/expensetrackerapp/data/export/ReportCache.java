@@ -0,0 +1,180 @@
+package com.example.expensetrackerapp.data.export;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.expensetrackerapp.data.local.model.DataFingerprint;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Disk cache of generated reports. A report is keyed by what it covers (user,
+ * range, filters, format and output settings) plus a fingerprint of the rows
+ * behind it, so any change to those rows misses the cache rather than serving a
+ * stale file. Entries are evicted least recently used first once the cache
+ * grows past its byte budget; file modification times record use, so the order
+ * survives process restarts.
+ */
+public class ReportCache {
+
+    private static final String TAG = "ReportCache";
+
+    private static final String CACHE_DIR = "reports";
+    private static final long MAX_BYTES = 32L * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Bump when a generator's output changes, so older cached files stop matching
+    private static final int REPORT_VERSION = 3;
+
+    private final File cacheDir;
+    private final long maxBytes;
+    private static ReportCache instance;
+
+    private ReportCache(Context context) {
+        this(new File(context.getApplicationContext().getCacheDir(), CACHE_DIR), MAX_BYTES);
+    }
+
+    /**
+     * For tests: a cache in any folder, with its own byte budget.
+     */
+    ReportCache(File cacheDir, long maxBytes) {
+        this.cacheDir = cacheDir;
+        this.maxBytes = maxBytes;
+    }
+
+    public static synchronized ReportCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new ReportCache(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Cache key for a report. {@code variant} carries anything else that changes
+     * the output, such as currency, time zone or locale.
+     */
+    public static String key(String userId, long startDate, long endDate, String filters, String format,
+            String variant, DataFingerprint fingerprint) {
+        String raw = REPORT_VERSION + "\n" + userId + "\n" + startDate + "\n" + endDate + "\n" + filters
+                + "\n" + format + "\n" + variant + "\n" + fingerprint.maxUpdatedAt + "\n" + fingerprint.rowCount;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2 + format.length() + 1);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.append('.').append(format).toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Android release ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The cached report for the key, marked as just used, or null on a miss.
+     */
+    @Nullable
+    public synchronized File get(String key) {
+        File file = new File(cacheDir, key);
+        if (!file.isFile()) {
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    /**
+     * Copy a finished report into the cache under the key, then evict down to the
+     * budget. Failures only cost the cache entry, never the report itself.
+     */
+    public synchronized void put(String key, File report) {
+        if (report.length() > maxBytes) {
+            return;
+        }
+        if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+            return;
+        }
+
+        File file = new File(cacheDir, key);
+        File temp = new File(cacheDir, key + ".part");
+        try {
+            copy(report, temp);
+            if (!temp.renameTo(file)) {
+                temp.delete();
+                return;
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Could not cache report", e);
+            temp.delete();
+            return;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        evict();
+    }
+
+    /**
+     * Drop every cached report, e.g. when the user signs out.
+     */
+    public synchronized void clear() {
+        File[] files = cacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    private void evict() {
+        File[] files = cacheDir.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+
+        List<File> byLastUse = new ArrayList<>(Arrays.asList(files));
+        byLastUse.sort((a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : byLastUse) {
+            if (total <= maxBytes) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    /**
+     * Copy a file's bytes to another file, replacing it.
+     */
+    public static void copy(File source, File target) throws IOException {
+        try (InputStream in = new FileInputStream(source);
+                OutputStream out = new FileOutputStream(target)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+}
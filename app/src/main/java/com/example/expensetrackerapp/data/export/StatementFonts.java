@@ -0,0 +1,73 @@
+package com.example.expensetrackerapp.data.export;
+
+import android.util.Log;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.FontSelector;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fonts for PDF statements. Helvetica only covers Latin-1, so text is set through a
+ * FontSelector that hands each run of characters Helvetica lacks to the first system
+ * font that has them, embedded as a Unicode (Identity-H) subset. iText 5 does not
+ * shape complex scripts, so Bengali conjuncts are drawn as their separate glyphs.
+ */
+final class StatementFonts {
+
+    private static final String TAG = "StatementFonts";
+
+    // Tried in order after Helvetica; files missing on this device are skipped
+    private static final String[] SYSTEM_FONTS = {
+            "/system/fonts/Roboto-Regular.ttf",
+            "/system/fonts/NotoSansBengali-Regular.ttf",
+            "/system/fonts/NotoSansBengaliUI-Regular.ttf",
+            "/system/fonts/NotoSansBengali-VF.ttf",
+            "/system/fonts/NotoSansBengaliUI-VF.ttf",
+            "/system/fonts/NotoSansDevanagari-Regular.ttf",
+            "/system/fonts/NotoSansDevanagariUI-Regular.ttf",
+            "/system/fonts/DroidSansFallback.ttf"
+    };
+
+    private static List<BaseFont> fallbacks;
+
+    private StatementFonts() {
+    }
+
+    /**
+     * Selector for text of the given size, style and color (null for black).
+     */
+    static FontSelector selector(float size, int style, BaseColor color) {
+        FontSelector selector = new FontSelector();
+        selector.addFont(new Font(Font.FontFamily.HELVETICA, size, style, color));
+        for (BaseFont base : fallbacks()) {
+            selector.addFont(new Font(base, size, style, color));
+        }
+        return selector;
+    }
+
+    // Loaded once per process; iText tracks the glyphs used per document, not per BaseFont
+    private static synchronized List<BaseFont> fallbacks() {
+        if (fallbacks == null) {
+            List<BaseFont> loaded = new ArrayList<>();
+            for (String path : SYSTEM_FONTS) {
+                if (!new File(path).isFile()) {
+                    continue;
+                }
+                try {
+                    loaded.add(BaseFont.createFont(path, BaseFont.IDENTITY_H, BaseFont.EMBEDDED));
+                } catch (DocumentException | IOException e) {
+                    Log.w(TAG, "Could not load " + path, e);
+                }
+            }
+            fallbacks = loaded;
+        }
+        return fallbacks;
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.expensetrackerapp.data.local;
 
 import android.content.Context;
+import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
 import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.example.expensetrackerapp.data.local.dao.CategoryDao;
@@ -15,6 +17,8 @@ import com.example.expensetrackerapp.data.local.entity.Category;
 import com.example.expensetrackerapp.data.local.entity.Expense;
 import com.example.expensetrackerapp.data.local.entity.UserProfile;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -22,9 +26,18 @@ import java.util.concurrent.Executors;
  * Main Room Database for the Expense Tracker App.
  * Includes Expense, UserProfile, and Category entities.
  */
-@Database(entities = { Expense.class, UserProfile.class, Category.class }, version = 1, exportSchema = false)
+@Database(entities = { Expense.class, UserProfile.class, Category.class }, version = AppDatabase.VERSION,
+        exportSchema = false)
 public abstract class AppDatabase extends RoomDatabase {
 
+    public static final String DATABASE_NAME = "expense_tracker_database";
+    public static final int VERSION = 2;
+
+    private static final String TAG = "AppDatabase";
+
+    // A restored database waits under this name until the next process opens the database
+    private static final String PENDING_SUFFIX = ".pending";
+
     // DAOs
     public abstract ExpenseDao expenseDao();
 
@@ -39,6 +52,17 @@ public abstract class AppDatabase extends RoomDatabase {
     private static final int NUMBER_OF_THREADS = 4;
     public static final ExecutorService databaseWriteExecutor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
 
+    /**
+     * Adds the expense indexes used by date-ordered and amount lookups.
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_expenses_userId_date` ON `expenses` (`userId`, `date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_expenses_userId_amount` ON `expenses` (`userId`, `amount`)");
+        }
+    };
+
     /**
      * Get database instance with lazy initialization.
      */
@@ -46,11 +70,13 @@ public abstract class AppDatabase extends RoomDatabase {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
+                    installPendingDatabase(context);
                     INSTANCE = Room.databaseBuilder(
                             context.getApplicationContext(),
                             AppDatabase.class,
-                            "expense_tracker_database")
+                            DATABASE_NAME)
                             .addCallback(prepopulateCallback)
+                            .addMigrations(MIGRATION_1_2)
                             .fallbackToDestructiveMigration()
                             .build();
                 }
@@ -59,6 +85,45 @@ public abstract class AppDatabase extends RoomDatabase {
         return INSTANCE;
     }
 
+    /**
+     * Stage a complete database file to replace the current one. The swap happens
+     * when the next process first opens the database, before any DAO, LiveData or
+     * queued write can hold the old instance, so callers restart the process once
+     * this returns. The new file is migrated on open if it is older.
+     */
+    public static void stageReplacement(Context context, File source) throws IOException {
+        File pending = getPendingFile(context);
+        pending.delete();
+        if (!source.renameTo(pending)) {
+            throw new IOException("Could not stage restored database");
+        }
+    }
+
+    /**
+     * Move a staged replacement into place. Called before the first open in this
+     * process, with the class lock held.
+     */
+    private static void installPendingDatabase(Context context) {
+        File pending = getPendingFile(context);
+        if (!pending.exists()) {
+            return;
+        }
+
+        File target = context.getApplicationContext().getDatabasePath(DATABASE_NAME);
+        // A journal left next to the old file would be replayed into the new one
+        new File(target.getPath() + "-wal").delete();
+        new File(target.getPath() + "-shm").delete();
+        new File(target.getPath() + "-journal").delete();
+        if (!pending.renameTo(target)) {
+            Log.e(TAG, "Could not move restored database into place");
+            pending.delete();
+        }
+    }
+
+    private static File getPendingFile(Context context) {
+        return context.getApplicationContext().getDatabasePath(DATABASE_NAME + PENDING_SUFFIX);
+    }
+
     /**
      * Callback to prepopulate database with default categories.
      */
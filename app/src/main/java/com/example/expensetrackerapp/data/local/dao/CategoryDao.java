@@ -37,6 +37,9 @@ public interface CategoryDao {
     @Query("DELETE FROM categories WHERE id = :id")
     void deleteById(long id);
 
+    @Query("DELETE FROM categories WHERE userId = :userId")
+    void deleteAllByUser(String userId);
+
     // Query operations
     @Query("SELECT * FROM categories WHERE isDefault = 1 OR userId = :userId ORDER BY name ASC")
     LiveData<List<Category>> getAllCategories(String userId);
@@ -44,6 +47,9 @@ public interface CategoryDao {
     @Query("SELECT * FROM categories WHERE isDefault = 1 OR userId = :userId ORDER BY name ASC")
     List<Category> getAllCategoriesSync(String userId);
 
+    @Query("SELECT * FROM categories WHERE isDefault = 0 AND userId = :userId ORDER BY id")
+    List<Category> getUserCategoriesSync(String userId);
+
     @Query("SELECT * FROM categories WHERE isDefault = 1 ORDER BY name ASC")
     List<Category> getDefaultCategoriesSync();
 
@@ -1,5 +1,8 @@
 package com.example.expensetrackerapp.data.local.dao;
 
+import android.database.Cursor;
+import android.os.CancellationSignal;
+
 import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
@@ -9,6 +12,10 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.example.expensetrackerapp.data.local.entity.Expense;
+import com.example.expensetrackerapp.data.local.model.AmountStats;
+import com.example.expensetrackerapp.data.local.model.CategoryTotal;
+import com.example.expensetrackerapp.data.local.model.DataFingerprint;
+import com.example.expensetrackerapp.data.local.model.DatedAmount;
 
 import java.util.List;
 
@@ -64,6 +71,22 @@ public interface ExpenseDao {
     @Query("SELECT * FROM expenses WHERE userId = :userId AND date BETWEEN :startDate AND :endDate ORDER BY date DESC")
     List<Expense> getByDateRangeSync(String userId, long startDate, long endDate);
 
+    // Analytics aggregates
+    // Dated amounts for charts; summed into local days by the caller, since a fixed
+    // offset in SQL would misplace rows from the other side of a DST change
+    @Query("SELECT date, amount FROM expenses WHERE userId = :userId AND type = :type AND date BETWEEN :startDate AND :endDate ORDER BY date")
+    List<DatedAmount> getDatedAmountsSync(String userId, String type, long startDate, long endDate);
+
+    @Query("SELECT category, SUM(amount) AS total FROM expenses WHERE userId = :userId AND type = :type AND date BETWEEN :startDate AND :endDate GROUP BY category ORDER BY total DESC")
+    List<CategoryTotal> getCategoryTotalsSync(String userId, String type, long startDate, long endDate);
+
+    @Query("SELECT COALESCE(SUM(amount), 0) AS total, COALESCE(MAX(amount), 0) AS max, COUNT(*) AS count FROM expenses WHERE userId = :userId AND type = :type AND date BETWEEN :startDate AND :endDate")
+    AmountStats getAmountStatsSync(String userId, String type, long startDate, long endDate);
+
+    // Distinct categories used in a date range, in display order
+    @Query("SELECT DISTINCT category FROM expenses WHERE userId = :userId AND date BETWEEN :startDate AND :endDate AND category IS NOT NULL AND category != '' ORDER BY category COLLATE NOCASE")
+    LiveData<List<String>> getCategoriesInDateRange(String userId, long startDate, long endDate);
+
     // Query by category
     @Query("SELECT * FROM expenses WHERE userId = :userId AND category = :category ORDER BY date DESC")
     LiveData<List<Expense>> getByCategory(String userId, String category);
@@ -97,11 +120,32 @@ public interface ExpenseDao {
     void markAsSynced(long id, String firestoreId);
 
     // Search operations
-    @Query("SELECT * FROM expenses WHERE userId = :userId AND notes LIKE '%' || :query || '%' ORDER BY date DESC")
-    LiveData<List<Expense>> searchByNotes(String userId, String query);
+    // Bounded, cancellable search; newest first so the (userId, date) index can stop early
+    @Query("SELECT * FROM expenses WHERE userId = :userId AND (notes LIKE :pattern ESCAPE '\\' OR category LIKE :pattern ESCAPE '\\') ORDER BY date DESC LIMIT :limit")
+    List<Expense> searchTextSync(String userId, String pattern, int limit, CancellationSignal signal);
+
+    @Query("SELECT * FROM expenses WHERE userId = :userId AND amount >= :minAmount AND amount < :maxAmount ORDER BY date DESC LIMIT :limit")
+    List<Expense> searchAmountSync(String userId, double minAmount, double maxAmount, int limit, CancellationSignal signal);
+
+    // Both parts of a mixed query; the (userId, amount) index narrows the rows before the LIKE
+    @Query("SELECT * FROM expenses WHERE userId = :userId AND amount >= :minAmount AND amount < :maxAmount AND (notes LIKE :pattern ESCAPE '\\' OR category LIKE :pattern ESCAPE '\\') ORDER BY date DESC LIMIT :limit")
+    List<Expense> searchAmountAndTextSync(String userId, double minAmount, double maxAmount, String pattern, int limit,
+            CancellationSignal signal);
+
+    // Export pages in (date, id) order. Each page resumes at the last row of the previous one:
+    // fromDate is that row's date and the index range starts there, so every page is a short scan
+    @Query("SELECT id, date, category, type, amount, notes FROM expenses WHERE userId = :userId AND date >= :fromDate AND date <= :endDate AND (date > :fromDate OR id > :afterId) ORDER BY date, id LIMIT :limit")
+    Cursor getExportPage(String userId, long fromDate, long endDate, long afterId, int limit);
+
+    // Whole rows for backups, paged in (date, id) order the same way as exports
+    @Query("SELECT * FROM expenses WHERE userId = :userId AND date >= :fromDate AND (date > :fromDate OR id > :afterId) ORDER BY date, id LIMIT :limit")
+    Cursor getBackupPage(String userId, long fromDate, long afterId, int limit);
+
+    @Query("SELECT COALESCE(MAX(updatedAt), 0) AS maxUpdatedAt, COUNT(*) AS rowCount FROM expenses WHERE userId = :userId AND date BETWEEN :startDate AND :endDate")
+    DataFingerprint getFingerprintSync(String userId, long startDate, long endDate);
 
-    @Query("SELECT * FROM expenses WHERE userId = :userId AND amount >= :minAmount AND amount <= :maxAmount ORDER BY date DESC")
-    LiveData<List<Expense>> searchByAmountRange(String userId, double minAmount, double maxAmount);
+    @Query("SELECT COUNT(*) FROM expenses WHERE userId = :userId AND date BETWEEN :startDate AND :endDate")
+    int getCountByDateRangeSync(String userId, long startDate, long endDate);
 
     // Get single expense by ID
     @Query("SELECT * FROM expenses WHERE id = :id")
@@ -1,13 +1,17 @@
 package com.example.expensetrackerapp.data.local.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
  * Entity representing an expense or income transaction.
  * Stored locally in Room database and synced to Firestore for logged-in users.
  */
-@Entity(tableName = "expenses")
+@Entity(tableName = "expenses", indices = {
+        @Index({ "userId", "date" }),
+        @Index({ "userId", "amount" })
+})
 public class Expense {
 
     @PrimaryKey(autoGenerate = true)
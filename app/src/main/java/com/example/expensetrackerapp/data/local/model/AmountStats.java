@@ -0,0 +1,10 @@
+package com.example.expensetrackerapp.data.local.model;
+
+/**
+ * Aggregate amount statistics over a set of transactions.
+ */
+public class AmountStats {
+    public double total;
+    public double max;
+    public int count;
+}
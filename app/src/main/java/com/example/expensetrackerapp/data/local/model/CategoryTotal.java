@@ -0,0 +1,9 @@
+package com.example.expensetrackerapp.data.local.model;
+
+/**
+ * Sum of transaction amounts for one category.
+ */
+public class CategoryTotal {
+    public String category;
+    public double total;
+}
@@ -0,0 +1,35 @@
+package com.example.expensetrackerapp.data.local.model;
+
+import com.example.expensetrackerapp.utils.DateBuckets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sum of transaction amounts for one local calendar day.
+ * {@code day} is the number of days since the epoch in local time.
+ */
+public class DailyTotal {
+    public long day;
+    public double total;
+
+    /**
+     * Sum transactions, ordered by date, into local days. Each one is placed with
+     * the offset in force when it happened, so days on either side of a DST
+     * change keep their own midnight.
+     */
+    public static List<DailyTotal> sumByDay(List<DatedAmount> amounts, DateBuckets buckets) {
+        List<DailyTotal> days = new ArrayList<>();
+        DailyTotal current = null;
+        for (DatedAmount amount : amounts) {
+            long day = buckets.epochDay(amount.date);
+            if (current == null || current.day != day) {
+                current = new DailyTotal();
+                current.day = day;
+                days.add(current);
+            }
+            current.total += amount.amount;
+        }
+        return days;
+    }
+}
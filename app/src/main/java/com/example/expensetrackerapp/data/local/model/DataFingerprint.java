@@ -0,0 +1,11 @@
+package com.example.expensetrackerapp.data.local.model;
+
+/**
+ * Cheap summary of a set of transactions that changes whenever any of them is
+ * added, edited or deleted: edits and inserts raise the latest update time,
+ * deletions lower the count.
+ */
+public class DataFingerprint {
+    public long maxUpdatedAt;
+    public int rowCount;
+}
@@ -0,0 +1,9 @@
+package com.example.expensetrackerapp.data.local.model;
+
+/**
+ * Amount of one transaction and when it happened.
+ */
+public class DatedAmount {
+    public long date;
+    public double amount;
+}
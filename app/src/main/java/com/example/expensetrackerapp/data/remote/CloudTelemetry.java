@@ -0,0 +1,307 @@
+package com.example.expensetrackerapp.data.remote;
+
+import android.os.SystemClock;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts Firestore reads/writes and records latency histograms per cloud operation.
+ * Exposes an immutable snapshot for the debug screen.
+ */
+public class CloudTelemetry {
+
+    // Operation names
+    public static final String OP_EXPENSE_ADD = "expense.add";
+    public static final String OP_EXPENSE_UPDATE = "expense.update";
+    public static final String OP_EXPENSE_DELETE = "expense.delete";
+    public static final String OP_GUEST_SYNC = "expense.guestSync";
+    public static final String OP_GUEST_SYNC_ITEM = "expense.guestSync.item";
+    public static final String OP_PROFILE_SET = "profile.set";
+    public static final String OP_PROFILE_UPDATE = "profile.update";
+    public static final String OP_PROFILE_CREATE = "auth.createProfile";
+    public static final String OP_WIPE_PAGE = "wipe.page";
+    public static final String OP_WIPE_BATCH = "wipe.batch";
+
+    // Histogram bucket upper bounds in milliseconds (last bucket is open-ended)
+    private static final long[] BUCKET_BOUNDS_MS = { 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+    private static CloudTelemetry instance;
+
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final AtomicLong totalReads = new AtomicLong();
+    private final AtomicLong totalWrites = new AtomicLong();
+    private volatile long sessionStartMillis = System.currentTimeMillis();
+
+    /**
+     * Kind of Firestore billing unit an operation consumes.
+     */
+    public enum Kind {
+        READ,
+        WRITE
+    }
+
+    private CloudTelemetry() {
+    }
+
+    public static synchronized CloudTelemetry getInstance() {
+        if (instance == null) {
+            instance = new CloudTelemetry();
+        }
+        return instance;
+    }
+
+    /**
+     * Track a single-document cloud call.
+     */
+    public <T> Task<T> track(String operation, Kind kind, Task<T> task) {
+        return track(operation, kind, 1, task);
+    }
+
+    /**
+     * Track a cloud call that consumes the given number of units (e.g. a batch commit).
+     * Query results are billed per returned document, with a minimum of one read.
+     */
+    public <T> Task<T> track(String operation, Kind kind, int units, Task<T> task) {
+        long start = SystemClock.elapsedRealtime();
+        task.addOnCompleteListener(Runnable::run, result -> {
+            int billed = units;
+            if (result.isSuccessful() && result.getResult() instanceof QuerySnapshot) {
+                billed = Math.max(1, ((QuerySnapshot) result.getResult()).size());
+            }
+            record(operation, kind, billed, SystemClock.elapsedRealtime() - start, result.isSuccessful());
+        });
+        return task;
+    }
+
+    /**
+     * Submit a single-document write through the limiter and track it.
+     */
+    public <T> Task<T> trackWrite(String operation, CloudWriteLimiter limiter, CloudWriteLimiter.CloudWrite<T> write) {
+        return trackWrite(operation, 1, limiter, write);
+    }
+
+    /**
+     * Submit a write costing the given number of units through the limiter and track it.
+     * Latency is timed from when the limiter starts the (last) attempt, so time spent
+     * throttled or backing off is left to the limiter's own counters, not the backend's.
+     */
+    public <T> Task<T> trackWrite(String operation, int units, CloudWriteLimiter limiter,
+            CloudWriteLimiter.CloudWrite<T> write) {
+        AtomicLong started = new AtomicLong();
+        Task<T> task = limiter.submit(units, () -> {
+            started.set(SystemClock.elapsedRealtime());
+            return write.start();
+        });
+        task.addOnCompleteListener(Runnable::run, result -> record(operation, Kind.WRITE, units,
+                SystemClock.elapsedRealtime() - started.get(), result.isSuccessful()));
+        return task;
+    }
+
+    /**
+     * Record a latency measured by the caller, without billing units
+     * (used for multi-step operations such as guest sync).
+     */
+    public void recordLatency(String operation, long latencyMillis, boolean success) {
+        stats(operation).record(latencyMillis, success);
+    }
+
+    private void record(String operation, Kind kind, int units, long latencyMillis, boolean success) {
+        OperationStats stats = stats(operation);
+        stats.record(latencyMillis, success);
+        if (kind == Kind.READ) {
+            stats.reads.addAndGet(units);
+            totalReads.addAndGet(units);
+        } else {
+            stats.writes.addAndGet(units);
+            totalWrites.addAndGet(units);
+        }
+    }
+
+    private OperationStats stats(String operation) {
+        OperationStats stats = operations.get(operation);
+        if (stats == null) {
+            operations.putIfAbsent(operation, new OperationStats());
+            stats = operations.get(operation);
+        }
+        return stats;
+    }
+
+    /**
+     * Clear all counters and start a new session.
+     */
+    public void reset() {
+        operations.clear();
+        totalReads.set(0);
+        totalWrites.set(0);
+        sessionStartMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Get an immutable snapshot of all counters.
+     */
+    public Snapshot getSnapshot() {
+        Map<String, OperationSnapshot> ops = new TreeMap<>();
+        for (Map.Entry<String, OperationStats> entry : operations.entrySet()) {
+            ops.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return new Snapshot(sessionStartMillis, totalReads.get(), totalWrites.get(),
+                Collections.unmodifiableMap(ops), CloudWriteLimiter.getInstance().getStats());
+    }
+
+    /**
+     * Mutable per-operation counters.
+     */
+    private static class OperationStats {
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong reads = new AtomicLong();
+        final AtomicLong writes = new AtomicLong();
+        final AtomicLong totalLatencyMs = new AtomicLong();
+        final AtomicLong maxLatencyMs = new AtomicLong();
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+
+        void record(long latencyMillis, boolean success) {
+            calls.incrementAndGet();
+            if (!success) {
+                failures.incrementAndGet();
+            }
+            totalLatencyMs.addAndGet(latencyMillis);
+
+            long max;
+            do {
+                max = maxLatencyMs.get();
+            } while (latencyMillis > max && !maxLatencyMs.compareAndSet(max, latencyMillis));
+
+            int bucket = BUCKET_BOUNDS_MS.length;
+            for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+                if (latencyMillis <= BUCKET_BOUNDS_MS[i]) {
+                    bucket = i;
+                    break;
+                }
+            }
+            buckets.incrementAndGet(bucket);
+        }
+
+        OperationSnapshot snapshot() {
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return new OperationSnapshot(calls.get(), failures.get(), reads.get(), writes.get(),
+                    totalLatencyMs.get(), maxLatencyMs.get(), counts);
+        }
+    }
+
+    /**
+     * Immutable counters for one operation.
+     */
+    public static class OperationSnapshot {
+        public final long calls;
+        public final long failures;
+        public final long reads;
+        public final long writes;
+        public final long totalLatencyMs;
+        public final long maxLatencyMs;
+        private final long[] histogram;
+
+        OperationSnapshot(long calls, long failures, long reads, long writes, long totalLatencyMs,
+                long maxLatencyMs, long[] histogram) {
+            this.calls = calls;
+            this.failures = failures;
+            this.reads = reads;
+            this.writes = writes;
+            this.totalLatencyMs = totalLatencyMs;
+            this.maxLatencyMs = maxLatencyMs;
+            this.histogram = histogram;
+        }
+
+        public long getAverageLatencyMs() {
+            return calls == 0 ? 0 : totalLatencyMs / calls;
+        }
+
+        /**
+         * Estimate a latency percentile (0-100) from the histogram bucket bounds.
+         */
+        public long getPercentileMs(int percentile) {
+            long total = 0;
+            for (long count : histogram) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+
+            long target = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= target) {
+                    return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : maxLatencyMs;
+                }
+            }
+            return maxLatencyMs;
+        }
+
+        public long[] getHistogram() {
+            return histogram.clone();
+        }
+    }
+
+    /**
+     * Immutable snapshot of the whole session.
+     */
+    public static class Snapshot {
+        public final long sessionStartMillis;
+        public final long totalReads;
+        public final long totalWrites;
+        public final Map<String, OperationSnapshot> operations;
+        public final CloudWriteLimiter.Stats limiterStats;
+
+        Snapshot(long sessionStartMillis, long totalReads, long totalWrites,
+                Map<String, OperationSnapshot> operations, CloudWriteLimiter.Stats limiterStats) {
+            this.sessionStartMillis = sessionStartMillis;
+            this.totalReads = totalReads;
+            this.totalWrites = totalWrites;
+            this.operations = operations;
+            this.limiterStats = limiterStats;
+        }
+
+        /**
+         * Format the snapshot as a plain-text report.
+         */
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            long minutes = (System.currentTimeMillis() - sessionStartMillis) / 60_000;
+            sb.append(String.format(Locale.US, "Session: %d min\n", minutes));
+            sb.append(String.format(Locale.US, "Reads: %d   Writes: %d\n\n", totalReads, totalWrites));
+
+            sb.append("Write limiter\n");
+            sb.append(String.format(Locale.US,
+                    "  submitted %d, throttled %d (%d ms), retried %d, failed %d, rate %.1f/s\n\n",
+                    limiterStats.submitted, limiterStats.throttled, limiterStats.throttledMillis,
+                    limiterStats.retried, limiterStats.failed, limiterStats.currentRatePerSecond));
+
+            for (Map.Entry<String, OperationSnapshot> entry : operations.entrySet()) {
+                OperationSnapshot op = entry.getValue();
+                sb.append(entry.getKey()).append('\n');
+                sb.append(String.format(Locale.US,
+                        "  calls %d, failed %d, reads %d, writes %d\n",
+                        op.calls, op.failures, op.reads, op.writes));
+                sb.append(String.format(Locale.US,
+                        "  avg %d ms, p50 %d ms, p95 %d ms, max %d ms\n",
+                        op.getAverageLatencyMs(), op.getPercentileMs(50), op.getPercentileMs(95),
+                        op.maxLatencyMs));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.expensetrackerapp.data.remote;
+
+import android.util.Log;
+
+import com.example.expensetrackerapp.utils.Constants;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side rate limiter in front of all Firestore writes.
+ * Uses a {@link TokenBucket} and backs off adaptively when Firestore reports
+ * RESOURCE_EXHAUSTED or UNAVAILABLE.
+ */
+public class CloudWriteLimiter {
+
+    private static final String TAG = "CloudWriteLimiter";
+
+    private static CloudWriteLimiter instance;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Random jitter = new Random();
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private final TokenBucket bucket = new TokenBucket(Constants.CLOUD_WRITE_BUCKET_CAPACITY,
+            Constants.CLOUD_WRITE_REFILL_PER_SECOND, System.nanoTime());
+
+    // Counters
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+    private final AtomicLong throttledMillis = new AtomicLong();
+    private final AtomicLong retriedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * A single cloud write, started only once the limiter grants a token.
+     */
+    public interface CloudWrite<T> {
+        Task<T> start();
+    }
+
+    private CloudWriteLimiter() {
+    }
+
+    public static synchronized CloudWriteLimiter getInstance() {
+        if (instance == null) {
+            instance = new CloudWriteLimiter();
+        }
+        return instance;
+    }
+
+    /**
+     * Configure bucket size and sustained write rate.
+     */
+    public void configure(int capacity, double refillPerSecond) {
+        synchronized (lock) {
+            bucket.configure(capacity, refillPerSecond, System.nanoTime());
+        }
+    }
+
+    /**
+     * Queue a write. The returned task completes with the write's result once it
+     * has been granted a token and, if needed, retried.
+     */
+    public <T> Task<T> submit(CloudWrite<T> write) {
+        return submit(1, write);
+    }
+
+    /**
+     * Queue a write that counts as several operations (e.g. a batch commit).
+     * The cost is capped at the bucket capacity so large batches still go through.
+     */
+    public <T> Task<T> submit(int cost, CloudWrite<T> write) {
+        TaskCompletionSource<T> source = new TaskCompletionSource<>();
+        submittedCount.incrementAndGet();
+        scheduler.execute(() -> attempt(write, Math.max(1, cost), source, 0, false));
+        return source.getTask();
+    }
+
+    private <T> void attempt(CloudWrite<T> write, int cost, TaskCompletionSource<T> source, int retry,
+            boolean throttled) {
+        long waitNanos = tryAcquire(cost);
+        if (waitNanos > 0) {
+            if (!throttled) {
+                throttledCount.incrementAndGet();
+            }
+            throttledMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            scheduler.schedule(() -> attempt(write, cost, source, retry, true), waitNanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        Task<T> task;
+        try {
+            task = write.start();
+        } catch (RuntimeException e) {
+            failedCount.incrementAndGet();
+            source.setException(e);
+            return;
+        }
+
+        task.addOnCompleteListener(scheduler, result -> {
+            if (result.isSuccessful()) {
+                onWriteSucceeded();
+                source.setResult(result.getResult());
+                return;
+            }
+
+            Exception e = result.getException();
+            if (isRetryable(e) && retry < Constants.CLOUD_WRITE_MAX_RETRIES) {
+                long backoffMillis = onWriteThrottledByServer(retry);
+                retriedCount.incrementAndGet();
+                Log.w(TAG, "Cloud write backing off " + backoffMillis + "ms: " + e.getMessage());
+                scheduler.schedule(() -> attempt(write, cost, source, retry + 1, throttled),
+                        backoffMillis, TimeUnit.MILLISECONDS);
+            } else {
+                failedCount.incrementAndGet();
+                source.setException(e != null ? e : new Exception("Cloud write failed"));
+            }
+        });
+    }
+
+    /**
+     * Take tokens if enough are available.
+     * Returns 0 on success, otherwise the time to wait before trying again.
+     */
+    private long tryAcquire(int cost) {
+        synchronized (lock) {
+            return bucket.tryAcquire(cost, System.nanoTime());
+        }
+    }
+
+    /**
+     * Additive increase back towards the configured rate after a success.
+     */
+    private void onWriteSucceeded() {
+        synchronized (lock) {
+            bucket.onSuccess();
+        }
+    }
+
+    /**
+     * Multiplicative decrease and a global pause after a quota/availability error.
+     * Returns the backoff for this write in milliseconds.
+     */
+    private long onWriteThrottledByServer(int retry) {
+        long base = Constants.CLOUD_WRITE_BASE_BACKOFF_MS << Math.min(retry, 6);
+        long backoffMillis = Math.min(Constants.CLOUD_WRITE_MAX_BACKOFF_MS, base)
+                + jitter.nextInt((int) Constants.CLOUD_WRITE_BASE_BACKOFF_MS);
+
+        synchronized (lock) {
+            bucket.onThrottled(TimeUnit.MILLISECONDS.toNanos(backoffMillis), System.nanoTime());
+        }
+        return backoffMillis;
+    }
+
+    private boolean isRetryable(Exception e) {
+        if (!(e instanceof FirebaseFirestoreException)) {
+            return false;
+        }
+        FirebaseFirestoreException.Code code = ((FirebaseFirestoreException) e).getCode();
+        return code == FirebaseFirestoreException.Code.RESOURCE_EXHAUSTED
+                || code == FirebaseFirestoreException.Code.UNAVAILABLE;
+    }
+
+    /**
+     * Get a snapshot of the limiter counters.
+     */
+    public Stats getStats() {
+        double currentRate;
+        synchronized (lock) {
+            currentRate = bucket.getRefillPerSecond();
+        }
+        return new Stats(
+                submittedCount.get(),
+                throttledCount.get(),
+                throttledMillis.get(),
+                retriedCount.get(),
+                failedCount.get(),
+                currentRate);
+    }
+
+    /**
+     * Immutable snapshot of limiter counters.
+     */
+    public static class Stats {
+        public final long submitted;
+        public final long throttled;
+        public final long throttledMillis;
+        public final long retried;
+        public final long failed;
+        public final double currentRatePerSecond;
+
+        Stats(long submitted, long throttled, long throttledMillis, long retried, long failed,
+                double currentRatePerSecond) {
+            this.submitted = submitted;
+            this.throttled = throttled;
+            this.throttledMillis = throttledMillis;
+            this.retried = retried;
+            this.failed = failed;
+            this.currentRatePerSecond = currentRatePerSecond;
+        }
+    }
+}
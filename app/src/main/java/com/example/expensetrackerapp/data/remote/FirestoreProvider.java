@@ -0,0 +1,20 @@
+package com.example.expensetrackerapp.data.remote;
+
+import com.example.expensetrackerapp.startup.AppStartupComponents;
+import com.example.expensetrackerapp.startup.StartupGraph;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+/**
+ * Single access point for Firestore. The instance is configured on first use,
+ * so code paths that never reach the cloud never start it.
+ */
+public final class FirestoreProvider {
+
+    private FirestoreProvider() {
+    }
+
+    public static FirebaseFirestore get() {
+        StartupGraph.getInstance().require(AppStartupComponents.Firestore.class);
+        return FirebaseFirestore.getInstance();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.expensetrackerapp.data.remote;
+
+/**
+ * Token bucket whose refill rate adapts to the server (AIMD): each success adds
+ * back a tenth of the configured rate, each throttle halves it, empties the
+ * bucket and stops grants until the backoff has passed. Times are
+ * {@link System#nanoTime()} values passed in by the caller. Not thread-safe.
+ */
+final class TokenBucket {
+
+    private static final double MIN_RATE = 0.1;
+    private static final double INCREASE_FRACTION = 0.1;
+
+    private int capacity;
+    private double configuredRefillPerSecond;
+    private double refillPerSecond;
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        configure(capacity, refillPerSecond, nowNanos);
+    }
+
+    /**
+     * Reset to a full bucket at the given size and sustained rate.
+     */
+    void configure(int capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = Math.max(1, capacity);
+        this.configuredRefillPerSecond = Math.max(MIN_RATE, refillPerSecond);
+        this.refillPerSecond = this.configuredRefillPerSecond;
+        this.tokens = this.capacity;
+        this.lastRefillNanos = nowNanos;
+        this.pausedUntilNanos = 0;
+    }
+
+    /**
+     * Take tokens if enough are available; the cost is capped at the capacity.
+     * Returns 0 on success, otherwise the time to wait before trying again.
+     */
+    long tryAcquire(int cost, long nowNanos) {
+        if (nowNanos < pausedUntilNanos) {
+            return pausedUntilNanos - nowNanos;
+        }
+
+        double elapsedSeconds = (nowNanos - lastRefillNanos) / 1_000_000_000.0;
+        tokens = Math.min(capacity, tokens + elapsedSeconds * refillPerSecond);
+        lastRefillNanos = nowNanos;
+
+        double needed = Math.min(cost, capacity);
+        if (tokens >= needed) {
+            tokens -= needed;
+            return 0;
+        }
+        return (long) ((needed - tokens) / refillPerSecond * 1_000_000_000L);
+    }
+
+    /**
+     * Additive increase back towards the configured rate.
+     */
+    void onSuccess() {
+        if (refillPerSecond < configuredRefillPerSecond) {
+            refillPerSecond = Math.min(configuredRefillPerSecond,
+                    refillPerSecond + configuredRefillPerSecond * INCREASE_FRACTION);
+        }
+    }
+
+    /**
+     * Multiplicative decrease, and no grants until the backoff has passed.
+     */
+    void onThrottled(long backoffNanos, long nowNanos) {
+        refillPerSecond = Math.max(MIN_RATE, refillPerSecond / 2);
+        tokens = 0;
+        pausedUntilNanos = Math.max(pausedUntilNanos, nowNanos + backoffNanos);
+        // Refill from the end of the pause, not from before it
+        lastRefillNanos = pausedUntilNanos;
+    }
+
+    double getRefillPerSecond() {
+        return refillPerSecond;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.expensetrackerapp.data.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.expensetrackerapp.data.backup.DatabaseSnapshotter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Repository for on-device database backups.
+ * Backups and restores run one at a time on their own thread, so database writes
+ * on the shared executor are never queued behind a copy.
+ */
+public class BackupRepository {
+
+    private static final String TAG = "BackupRepository";
+
+    private final DatabaseSnapshotter snapshotter;
+    private final ExecutorService backupExecutor = Executors.newSingleThreadExecutor();
+    private static BackupRepository instance;
+
+    private BackupRepository(Context context) {
+        snapshotter = new DatabaseSnapshotter(context);
+    }
+
+    public static synchronized BackupRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new BackupRepository(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Take a consistent copy of the database and store it as the newest generation.
+     */
+    public void backupDatabase(OnBackupCompleteListener listener) {
+        backupExecutor.execute(() -> {
+            try {
+                File generation = snapshotter.backup();
+                if (listener != null) {
+                    listener.onSuccess(generation);
+                }
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Database backup failed", e);
+                if (listener != null) {
+                    listener.onFailure(e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Take a backup and wait for it; for background jobs. Runs on the backup thread
+     * all the same, so it never overlaps a restore.
+     */
+    public File backupDatabaseSync() throws IOException, InterruptedException {
+        try {
+            return backupExecutor.submit(snapshotter::backup).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Stored backups, newest first.
+     */
+    public List<File> getDatabaseBackups() {
+        return snapshotter.getGenerations();
+    }
+
+    /**
+     * Stage a stored backup to replace the database. It takes effect once the app
+     * process restarts; until then the app keeps using the current database.
+     */
+    public void restoreDatabase(File backup, OnOperationCompleteListener listener) {
+        backupExecutor.execute(() -> {
+            try {
+                snapshotter.restore(backup);
+                if (listener != null) {
+                    listener.onSuccess();
+                }
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Database restore failed", e);
+                if (listener != null) {
+                    listener.onFailure(e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Callback interface for backups.
+     */
+    public interface OnBackupCompleteListener {
+        void onSuccess(File backup);
+
+        void onFailure(String error);
+    }
+
+    /**
+     * Callback interface for operations.
+     */
+    public interface OnOperationCompleteListener {
+        void onSuccess();
+
+        void onFailure(String error);
+    }
+}
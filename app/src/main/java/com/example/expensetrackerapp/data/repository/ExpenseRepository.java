@@ -1,19 +1,32 @@
 package com.example.expensetrackerapp.data.repository;
 
 import android.content.Context;
+import android.os.CancellationSignal;
+import android.os.SystemClock;
 
 import androidx.lifecycle.LiveData;
 
 import com.example.expensetrackerapp.auth.AuthManager;
+import com.example.expensetrackerapp.data.backup.BackupReader;
 import com.example.expensetrackerapp.data.local.AppDatabase;
 import com.example.expensetrackerapp.data.local.dao.ExpenseDao;
 import com.example.expensetrackerapp.data.local.entity.Expense;
+import com.example.expensetrackerapp.data.local.model.AmountStats;
+import com.example.expensetrackerapp.data.local.model.CategoryTotal;
+import com.example.expensetrackerapp.data.local.model.DailyTotal;
+import com.example.expensetrackerapp.data.local.model.DatedAmount;
+import com.example.expensetrackerapp.data.remote.CloudTelemetry;
+import com.example.expensetrackerapp.data.remote.CloudWriteLimiter;
+import com.example.expensetrackerapp.data.remote.FirestoreProvider;
 import com.example.expensetrackerapp.utils.Constants;
+import com.example.expensetrackerapp.utils.DateBuckets;
+import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentReference;
-import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -25,16 +38,19 @@ import java.util.Map;
  */
 public class ExpenseRepository {
 
+    private final AppDatabase db;
     private final ExpenseDao expenseDao;
-    private final FirebaseFirestore firestore;
     private final AuthManager authManager;
+    private final CloudWriteLimiter cloudWriteLimiter;
+    private final CloudTelemetry telemetry;
     private static ExpenseRepository instance;
 
     private ExpenseRepository(Context context) {
-        AppDatabase db = AppDatabase.getInstance(context);
+        db = AppDatabase.getInstance(context);
         expenseDao = db.expenseDao();
-        firestore = FirebaseFirestore.getInstance();
         authManager = AuthManager.getInstance();
+        cloudWriteLimiter = CloudWriteLimiter.getInstance();
+        telemetry = CloudTelemetry.getInstance();
     }
 
     public static synchronized ExpenseRepository getInstance(Context context) {
@@ -134,6 +150,38 @@ public class ExpenseRepository {
         return expenseDao.getByDateRange(getCurrentUserId(), startDate, endDate);
     }
 
+    /**
+     * Get per-day totals of one transaction type, keyed by local epoch day.
+     * Must be called off the main thread.
+     */
+    public List<DailyTotal> getDailyTotalsSync(String type, long startDate, long endDate) {
+        List<DatedAmount> amounts = expenseDao.getDatedAmountsSync(getCurrentUserId(), type, startDate, endDate);
+        return DailyTotal.sumByDay(amounts, DateBuckets.getDefault());
+    }
+
+    /**
+     * Get per-category totals of one transaction type, largest first.
+     * Must be called off the main thread.
+     */
+    public List<CategoryTotal> getCategoryTotalsSync(String type, long startDate, long endDate) {
+        return expenseDao.getCategoryTotalsSync(getCurrentUserId(), type, startDate, endDate);
+    }
+
+    /**
+     * Get sum, max and count of one transaction type.
+     * Must be called off the main thread.
+     */
+    public AmountStats getAmountStatsSync(String type, long startDate, long endDate) {
+        return expenseDao.getAmountStatsSync(getCurrentUserId(), type, startDate, endDate);
+    }
+
+    /**
+     * Get distinct categories used in a date range, sorted by name.
+     */
+    public LiveData<List<String>> getCategoriesInDateRange(long startDate, long endDate) {
+        return expenseDao.getCategoriesInDateRange(getCurrentUserId(), startDate, endDate);
+    }
+
     /**
      * Get expenses by category.
      */
@@ -170,17 +218,29 @@ public class ExpenseRepository {
     }
 
     /**
-     * Search by notes.
+     * Search notes and category for a LIKE pattern, newest first.
+     * Must be called off the main thread; throws OperationCanceledException when cancelled.
      */
-    public LiveData<List<Expense>> searchByNotes(String query) {
-        return expenseDao.searchByNotes(getCurrentUserId(), query);
+    public List<Expense> searchTextSync(String pattern, int limit, CancellationSignal signal) {
+        return expenseDao.searchTextSync(getCurrentUserId(), pattern, limit, signal);
     }
 
     /**
-     * Search by amount range.
+     * Search amounts in [minAmount, maxAmount), newest first.
+     * Must be called off the main thread; throws OperationCanceledException when cancelled.
      */
-    public LiveData<List<Expense>> searchByAmountRange(double minAmount, double maxAmount) {
-        return expenseDao.searchByAmountRange(getCurrentUserId(), minAmount, maxAmount);
+    public List<Expense> searchAmountSync(double minAmount, double maxAmount, int limit, CancellationSignal signal) {
+        return expenseDao.searchAmountSync(getCurrentUserId(), minAmount, maxAmount, limit, signal);
+    }
+
+    /**
+     * Search amounts in [minAmount, maxAmount) whose notes or category also match a
+     * LIKE pattern, newest first.
+     * Must be called off the main thread; throws OperationCanceledException when cancelled.
+     */
+    public List<Expense> searchAmountAndTextSync(double minAmount, double maxAmount, String pattern, int limit,
+            CancellationSignal signal) {
+        return expenseDao.searchAmountAndTextSync(getCurrentUserId(), minAmount, maxAmount, pattern, limit, signal);
     }
 
     /**
@@ -204,14 +264,13 @@ public class ExpenseRepository {
         String userId = getCurrentUserId();
 
         Map<String, Object> data = expenseToMap(expense);
+        DocumentReference document = newExpenseDocument(userId, expense);
 
-        firestore.collection(Constants.COLLECTION_USERS)
-                .document(userId)
-                .collection(Constants.COLLECTION_EXPENSES)
-                .add(data)
-                .addOnSuccessListener(documentReference -> {
+        telemetry.trackWrite(CloudTelemetry.OP_EXPENSE_ADD, cloudWriteLimiter,
+                () -> document.set(data))
+                .addOnSuccessListener(aVoid -> {
                     // Update local record with Firestore ID
-                    String firestoreId = documentReference.getId();
+                    String firestoreId = document.getId();
                     AppDatabase.databaseWriteExecutor.execute(() -> {
                         expenseDao.markAsSynced(expense.getId(), firestoreId);
                     });
@@ -235,11 +294,12 @@ public class ExpenseRepository {
 
         Map<String, Object> data = expenseToMap(expense);
 
-        firestore.collection(Constants.COLLECTION_USERS)
-                .document(userId)
-                .collection(Constants.COLLECTION_EXPENSES)
-                .document(expense.getFirestoreId())
-                .set(data)
+        telemetry.trackWrite(CloudTelemetry.OP_EXPENSE_UPDATE, cloudWriteLimiter,
+                () -> FirestoreProvider.get().collection(Constants.COLLECTION_USERS)
+                        .document(userId)
+                        .collection(Constants.COLLECTION_EXPENSES)
+                        .document(expense.getFirestoreId())
+                        .set(data))
                 .addOnSuccessListener(aVoid -> {
                     if (listener != null) {
                         listener.onSuccess();
@@ -258,11 +318,12 @@ public class ExpenseRepository {
     private void deleteFromCloud(Expense expense, OnOperationCompleteListener listener) {
         String userId = getCurrentUserId();
 
-        firestore.collection(Constants.COLLECTION_USERS)
-                .document(userId)
-                .collection(Constants.COLLECTION_EXPENSES)
-                .document(expense.getFirestoreId())
-                .delete()
+        telemetry.trackWrite(CloudTelemetry.OP_EXPENSE_DELETE, cloudWriteLimiter,
+                () -> FirestoreProvider.get().collection(Constants.COLLECTION_USERS)
+                        .document(userId)
+                        .collection(Constants.COLLECTION_EXPENSES)
+                        .document(expense.getFirestoreId())
+                        .delete())
                 .addOnSuccessListener(aVoid -> {
                     if (listener != null) {
                         listener.onSuccess();
@@ -298,6 +359,7 @@ public class ExpenseRepository {
             }
 
             String userId = getCurrentUserId();
+            long syncStart = SystemClock.elapsedRealtime();
             int[] syncedCount = { 0 };
             int totalCount = guestExpenses.size();
 
@@ -307,15 +369,15 @@ public class ExpenseRepository {
                 expense.setUpdatedAt(System.currentTimeMillis());
 
                 Map<String, Object> data = expenseToMap(expense);
+                DocumentReference document = newExpenseDocument(userId, expense);
 
-                firestore.collection(Constants.COLLECTION_USERS)
-                        .document(userId)
-                        .collection(Constants.COLLECTION_EXPENSES)
-                        .add(data)
-                        .addOnSuccessListener(documentReference -> {
+                // Throttled so a large guest ledger doesn't exhaust the write quota
+                telemetry.trackWrite(CloudTelemetry.OP_GUEST_SYNC_ITEM, cloudWriteLimiter,
+                        () -> document.set(data))
+                        .addOnSuccessListener(aVoid -> {
                             // Update local record
                             AppDatabase.databaseWriteExecutor.execute(() -> {
-                                expense.setFirestoreId(documentReference.getId());
+                                expense.setFirestoreId(document.getId());
                                 expense.setSynced(true);
                                 expenseDao.update(expense);
 
@@ -323,6 +385,8 @@ public class ExpenseRepository {
                                 if (syncedCount[0] == totalCount) {
                                     // Delete old guest records
                                     expenseDao.deleteAllByUser(Constants.USER_GUEST);
+                                    telemetry.recordLatency(CloudTelemetry.OP_GUEST_SYNC,
+                                            SystemClock.elapsedRealtime() - syncStart, true);
 
                                     if (listener != null) {
                                         listener.onSuccess(syncedCount[0]);
@@ -331,6 +395,8 @@ public class ExpenseRepository {
                             });
                         })
                         .addOnFailureListener(e -> {
+                            telemetry.recordLatency(CloudTelemetry.OP_GUEST_SYNC,
+                                    SystemClock.elapsedRealtime() - syncStart, false);
                             if (listener != null) {
                                 listener.onFailure(e.getMessage());
                             }
@@ -355,6 +421,37 @@ public class ExpenseRepository {
         return data;
     }
 
+    /**
+     * Document for a new cloud expense. The id is picked on the device, so a write the
+     * limiter retries overwrites the same document instead of adding a duplicate.
+     */
+    private DocumentReference newExpenseDocument(String userId, Expense expense) {
+        CollectionReference expenses = FirestoreProvider.get().collection(Constants.COLLECTION_USERS)
+                .document(userId)
+                .collection(Constants.COLLECTION_EXPENSES);
+        return expense.getFirestoreId() != null ? expenses.document(expense.getFirestoreId()) : expenses.document();
+    }
+
+    /**
+     * Replace the current user's expenses, custom categories and profile with those
+     * in a backup stream. The stream is closed when done; the listener is called on
+     * a background thread.
+     */
+    public void restoreBackup(InputStream in, OnSyncCompleteListener listener) {
+        String userId = getCurrentUserId();
+        AppDatabase.databaseWriteExecutor.execute(() -> {
+            int restored;
+            try (InputStream source = in) {
+                restored = new BackupReader(db).restore(userId, source);
+            } catch (IOException | RuntimeException e) {
+                // Room and SQLite failures are unchecked; the caller still has to hear about them
+                listener.onFailure(e.getMessage());
+                return;
+            }
+            listener.onSuccess(restored);
+        });
+    }
+
     /**
      * Callback interface for operations.
      */
@@ -8,8 +8,10 @@ import com.example.expensetrackerapp.auth.AuthManager;
 import com.example.expensetrackerapp.data.local.AppDatabase;
 import com.example.expensetrackerapp.data.local.dao.UserProfileDao;
 import com.example.expensetrackerapp.data.local.entity.UserProfile;
+import com.example.expensetrackerapp.data.remote.CloudTelemetry;
+import com.example.expensetrackerapp.data.remote.CloudWriteLimiter;
+import com.example.expensetrackerapp.data.remote.FirestoreProvider;
 import com.example.expensetrackerapp.utils.Constants;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -21,15 +23,17 @@ import java.util.Map;
 public class UserRepository {
 
     private final UserProfileDao userProfileDao;
-    private final FirebaseFirestore firestore;
     private final AuthManager authManager;
+    private final CloudWriteLimiter cloudWriteLimiter;
+    private final CloudTelemetry telemetry;
     private static UserRepository instance;
 
     private UserRepository(Context context) {
         AppDatabase db = AppDatabase.getInstance(context);
         userProfileDao = db.userProfileDao();
-        firestore = FirebaseFirestore.getInstance();
         authManager = AuthManager.getInstance();
+        cloudWriteLimiter = CloudWriteLimiter.getInstance();
+        telemetry = CloudTelemetry.getInstance();
     }
 
     public static synchronized UserRepository getInstance(Context context) {
@@ -192,11 +196,12 @@ public class UserRepository {
 
         Map<String, Object> data = profileToMap(profile);
 
-        firestore.collection(Constants.COLLECTION_USERS)
-                .document(userId)
-                .collection(Constants.COLLECTION_PROFILE)
-                .document("info")
-                .set(data)
+        telemetry.trackWrite(CloudTelemetry.OP_PROFILE_SET, cloudWriteLimiter,
+                () -> FirestoreProvider.get().collection(Constants.COLLECTION_USERS)
+                        .document(userId)
+                        .collection(Constants.COLLECTION_PROFILE)
+                        .document("info")
+                        .set(data))
                 .addOnSuccessListener(aVoid -> {
                     if (listener != null) {
                         listener.onSuccess();
@@ -250,11 +255,12 @@ public class UserRepository {
     }
 
     private void updateProfileField(String userId, Map<String, Object> updates, OnOperationCompleteListener listener) {
-        firestore.collection(Constants.COLLECTION_USERS)
-                .document(userId)
-                .collection(Constants.COLLECTION_PROFILE)
-                .document("info")
-                .update(updates)
+        telemetry.trackWrite(CloudTelemetry.OP_PROFILE_UPDATE, cloudWriteLimiter,
+                () -> FirestoreProvider.get().collection(Constants.COLLECTION_USERS)
+                        .document(userId)
+                        .collection(Constants.COLLECTION_PROFILE)
+                        .document("info")
+                        .update(updates))
                 .addOnSuccessListener(aVoid -> {
                     if (listener != null) {
                         listener.onSuccess();
@@ -0,0 +1,217 @@
+package com.example.expensetrackerapp.data.sync;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.expensetrackerapp.auth.AuthManager;
+import com.example.expensetrackerapp.data.export.ReportCache;
+import com.example.expensetrackerapp.data.local.AppDatabase;
+import com.example.expensetrackerapp.data.remote.CloudTelemetry;
+import com.example.expensetrackerapp.data.remote.CloudWriteLimiter;
+import com.example.expensetrackerapp.data.remote.FirestoreProvider;
+import com.example.expensetrackerapp.utils.Constants;
+import com.example.expensetrackerapp.utils.PreferenceManager;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuthRecentLoginRequiredException;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Wipes all cloud and local data for an account, then deletes the Firebase user.
+ * Each phase is checkpointed in preferences so the job resumes where it stopped
+ * after process death or a retry.
+ */
+public class AccountWipeWorker extends Worker {
+
+    private static final String TAG = "AccountWipeWorker";
+
+    public static final String KEY_USER_ID = "user_id";
+    public static final String KEY_DELETED_COUNT = "deleted_count";
+    public static final String KEY_ERROR = "error";
+    public static final String ERROR_REAUTH_REQUIRED = "reauth_required";
+
+    // Phases, in execution order
+    private static final int PHASE_CLOUD_EXPENSES = 0;
+    private static final int PHASE_CLOUD_INCOME = 1;
+    private static final int PHASE_CLOUD_PROFILE = 2;
+    private static final int PHASE_LOCAL = 3;
+    private static final int PHASE_AUTH = 4;
+    private static final int PHASE_DONE = 5;
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long CLOUD_TIMEOUT_SECONDS = 60;
+
+    private final PreferenceManager preferenceManager;
+    private long deletedCount;
+
+    public AccountWipeWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+        preferenceManager = PreferenceManager.getInstance(context);
+    }
+
+    /**
+     * Enqueue the wipe for the given user. Re-enqueuing while a wipe is running keeps the
+     * existing job, so callers follow it by {@link Constants#WORK_NAME_ACCOUNT_WIPE}.
+     */
+    public static void enqueue(Context context, String userId) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(AccountWipeWorker.class)
+                .setInputData(new Data.Builder().putString(KEY_USER_ID, userId).build())
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .build();
+
+        WorkManager.getInstance(context).enqueueUniqueWork(
+                Constants.WORK_NAME_ACCOUNT_WIPE,
+                ExistingWorkPolicy.KEEP,
+                request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String userId = getInputData().getString(KEY_USER_ID);
+        if (userId == null || Constants.USER_GUEST.equals(userId)) {
+            return Result.failure();
+        }
+
+        int phase = preferenceManager.getWipePhase(userId);
+        deletedCount = preferenceManager.getWipeDeletedCount(userId);
+
+        try {
+            if (phase <= PHASE_CLOUD_EXPENSES) {
+                deleteCollection(userId, Constants.COLLECTION_EXPENSES, PHASE_CLOUD_EXPENSES);
+                checkpoint(userId, PHASE_CLOUD_INCOME);
+            }
+            if (phase <= PHASE_CLOUD_INCOME) {
+                deleteCollection(userId, Constants.COLLECTION_INCOME, PHASE_CLOUD_INCOME);
+                checkpoint(userId, PHASE_CLOUD_PROFILE);
+            }
+            if (phase <= PHASE_CLOUD_PROFILE) {
+                deleteCollection(userId, Constants.COLLECTION_PROFILE, PHASE_CLOUD_PROFILE);
+                checkpoint(userId, PHASE_LOCAL);
+            }
+            if (phase <= PHASE_LOCAL) {
+                wipeLocal(userId);
+                checkpoint(userId, PHASE_AUTH);
+            }
+            if (phase <= PHASE_AUTH) {
+                Tasks.await(AuthManager.getInstance().deleteAccount(), CLOUD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                checkpoint(userId, PHASE_DONE);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FirebaseAuthRecentLoginRequiredException) {
+                // Data is already gone; the user must sign in again to delete the auth record
+                return Result.failure(new Data.Builder()
+                        .putString(KEY_ERROR, ERROR_REAUTH_REQUIRED)
+                        .putLong(KEY_DELETED_COUNT, deletedCount)
+                        .build());
+            }
+            return retryOrFail(e);
+        } catch (TimeoutException e) {
+            return retryOrFail(e);
+        } catch (InterruptedException | CancellationException e) {
+            // Stopped by WorkManager; the checkpoint lets the next run resume
+            return Result.retry();
+        }
+
+        preferenceManager.clearWipeCheckpoint();
+        return Result.success(new Data.Builder().putLong(KEY_DELETED_COUNT, deletedCount).build());
+    }
+
+    /**
+     * Page through a subcollection and delete it in batches of at most 500 operations.
+     */
+    private void deleteCollection(String userId, String collection, int phase)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        FirebaseFirestore firestore = FirestoreProvider.get();
+        CloudTelemetry telemetry = CloudTelemetry.getInstance();
+        CloudWriteLimiter limiter = CloudWriteLimiter.getInstance();
+
+        CollectionReference reference = firestore.collection(Constants.COLLECTION_USERS)
+                .document(userId)
+                .collection(collection);
+
+        while (true) {
+            if (isStopped()) {
+                throw new CancellationException("Account wipe stopped");
+            }
+
+            QuerySnapshot page = Tasks.await(
+                    telemetry.track(CloudTelemetry.OP_WIPE_PAGE, CloudTelemetry.Kind.READ,
+                            reference.limit(Constants.FIRESTORE_BATCH_LIMIT).get()),
+                    CLOUD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            if (page.isEmpty()) {
+                return;
+            }
+
+            // A committed batch cannot be committed again, so every limiter retry builds a
+            // fresh one; deletes are idempotent, so repeating one the server applied is harmless
+            List<DocumentSnapshot> documents = page.getDocuments();
+            int size = documents.size();
+            Tasks.await(
+                    telemetry.trackWrite(CloudTelemetry.OP_WIPE_BATCH, size, limiter,
+                            () -> {
+                                WriteBatch batch = firestore.batch();
+                                for (DocumentSnapshot document : documents) {
+                                    batch.delete(document.getReference());
+                                }
+                                return batch.commit();
+                            }),
+                    CLOUD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            deletedCount += size;
+            preferenceManager.setWipeCheckpoint(userId, phase, deletedCount);
+            setProgressAsync(new Data.Builder().putLong(KEY_DELETED_COUNT, deletedCount).build());
+        }
+    }
+
+    /**
+     * Clear all local rows for the user in a single transaction, then the reports
+     * cached from them. Done here so it happens even if no screen sees the wipe finish.
+     */
+    private void wipeLocal(String userId) {
+        AppDatabase db = AppDatabase.getInstance(getApplicationContext());
+        db.runInTransaction(() -> {
+            db.expenseDao().deleteAllByUser(userId);
+            db.categoryDao().deleteAllByUser(userId);
+            db.userProfileDao().deleteByUserId(userId);
+        });
+        ReportCache.getInstance(getApplicationContext()).clear();
+    }
+
+    private void checkpoint(String userId, int phase) {
+        preferenceManager.setWipeCheckpoint(userId, phase, deletedCount);
+    }
+
+    private Result retryOrFail(Exception e) {
+        Log.w(TAG, "Account wipe attempt " + getRunAttemptCount() + " failed", e);
+        if (getRunAttemptCount() + 1 < MAX_ATTEMPTS) {
+            return Result.retry();
+        }
+        return Result.failure(new Data.Builder()
+                .putString(KEY_ERROR, e.getMessage())
+                .putLong(KEY_DELETED_COUNT, deletedCount)
+                .build());
+    }
+}
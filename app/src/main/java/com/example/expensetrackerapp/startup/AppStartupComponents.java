@@ -0,0 +1,167 @@
+package com.example.expensetrackerapp.startup;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.Build;
+
+import com.example.expensetrackerapp.ExpenseTrackerApp;
+import com.example.expensetrackerapp.data.backup.DatabaseBackupWorker;
+import com.example.expensetrackerapp.data.local.AppDatabase;
+import com.example.expensetrackerapp.utils.SettingsStore;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreSettings;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The application's startup components.
+ */
+public final class AppStartupComponents {
+
+    private AppStartupComponents() {
+    }
+
+    /**
+     * Register every component with the graph.
+     */
+    public static void registerAll(StartupGraph graph) {
+        graph.register(new Firebase())
+                .register(new Firestore())
+                .register(new Database())
+                .register(new Settings())
+                .register(new NotificationChannels())
+                .register(new DatabaseBackups());
+    }
+
+    /**
+     * Firebase core; auth needs it as soon as the first screen checks the user.
+     */
+    public static final class Firebase extends StartupComponent {
+        @Override
+        public Mode getMode() {
+            return Mode.MAIN;
+        }
+
+        @Override
+        protected void create(Context context) {
+            FirebaseApp.initializeApp(context);
+        }
+    }
+
+    /**
+     * Firestore with offline persistence. Lazy so guests who never sync never start it;
+     * settings can only be applied before first use, so all access goes through
+     * {@link com.example.expensetrackerapp.data.remote.FirestoreProvider}.
+     */
+    public static final class Firestore extends StartupComponent {
+        @Override
+        public Mode getMode() {
+            return Mode.LAZY;
+        }
+
+        @Override
+        public List<Class<? extends StartupComponent>> dependencies() {
+            return Collections.singletonList(Firebase.class);
+        }
+
+        @Override
+        protected void create(Context context) {
+            FirebaseFirestoreSettings settings = new FirebaseFirestoreSettings.Builder()
+                    .setPersistenceEnabled(true)
+                    .setCacheSizeBytes(FirebaseFirestoreSettings.CACHE_SIZE_UNLIMITED)
+                    .build();
+            FirebaseFirestore.getInstance().setFirestoreSettings(settings);
+        }
+    }
+
+    /**
+     * Room database; building it off the main thread keeps the first frame free of it.
+     */
+    public static final class Database extends StartupComponent {
+        @Override
+        public Mode getMode() {
+            return Mode.BACKGROUND;
+        }
+
+        @Override
+        protected void create(Context context) {
+            AppDatabase.getInstance(context);
+        }
+    }
+
+    /**
+     * Settings store; starts the one-time preferences read before the first screen needs it.
+     */
+    public static final class Settings extends StartupComponent {
+        @Override
+        public Mode getMode() {
+            return Mode.BACKGROUND;
+        }
+
+        @Override
+        protected void create(Context context) {
+            SettingsStore.getInstance(context);
+        }
+    }
+
+    /**
+     * Notification channels for Android O and above.
+     */
+    public static final class NotificationChannels extends StartupComponent {
+        @Override
+        public Mode getMode() {
+            return Mode.BACKGROUND;
+        }
+
+        @Override
+        protected void create(Context context) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                NotificationManager manager = context.getSystemService(NotificationManager.class);
+
+                // Reminders channel
+                NotificationChannel remindersChannel = new NotificationChannel(
+                        ExpenseTrackerApp.CHANNEL_REMINDERS,
+                        "Expense Reminders",
+                        NotificationManager.IMPORTANCE_DEFAULT);
+                remindersChannel.setDescription("Daily and weekly reminders to log expenses");
+
+                // Alerts channel
+                NotificationChannel alertsChannel = new NotificationChannel(
+                        ExpenseTrackerApp.CHANNEL_ALERTS,
+                        "Budget Alerts",
+                        NotificationManager.IMPORTANCE_HIGH);
+                alertsChannel.setDescription("Alerts when budget is exceeded");
+
+                // General channel
+                NotificationChannel generalChannel = new NotificationChannel(
+                        ExpenseTrackerApp.CHANNEL_GENERAL,
+                        "General Notifications",
+                        NotificationManager.IMPORTANCE_LOW);
+                generalChannel.setDescription("General app notifications");
+
+                // Register channels
+                manager.createNotificationChannel(remindersChannel);
+                manager.createNotificationChannel(alertsChannel);
+                manager.createNotificationChannel(generalChannel);
+            }
+        }
+    }
+
+    /**
+     * Daily on-device database backups; only enqueues the periodic job.
+     */
+    public static final class DatabaseBackups extends StartupComponent {
+        @Override
+        public Mode getMode() {
+            return Mode.BACKGROUND;
+        }
+
+        @Override
+        protected void create(Context context) {
+            DatabaseBackupWorker.schedule(context);
+        }
+    }
+}
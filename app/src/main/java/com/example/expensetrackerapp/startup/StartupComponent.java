@@ -0,0 +1,34 @@
+package com.example.expensetrackerapp.startup;
+
+import android.content.Context;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One piece of application startup work, initialized at most once by {@link StartupGraph}.
+ * Dependencies are always initialized first, on the same thread.
+ */
+public abstract class StartupComponent {
+
+    public enum Mode {
+        // Run synchronously in Application.onCreate, before the first frame
+        MAIN,
+        // Run eagerly on the startup thread, off the main thread
+        BACKGROUND,
+        // Run only when first required
+        LAZY
+    }
+
+    public abstract Mode getMode();
+
+    protected abstract void create(Context context);
+
+    public List<Class<? extends StartupComponent>> dependencies() {
+        return Collections.emptyList();
+    }
+
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+}
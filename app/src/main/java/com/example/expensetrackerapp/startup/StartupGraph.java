@@ -0,0 +1,119 @@
+package com.example.expensetrackerapp.startup;
+
+import android.content.Context;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.expensetrackerapp.ExpenseTrackerApp;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Initializes registered {@link StartupComponent}s in dependency order. MAIN
+ * components run in {@link #start}, BACKGROUND ones on a startup thread right
+ * after, and LAZY ones the first time something calls {@link #require}.
+ * Per-component timings are kept for diagnostics.
+ */
+public class StartupGraph {
+
+    private static final String TAG = "StartupGraph";
+
+    private static StartupGraph instance;
+
+    private final Map<Class<? extends StartupComponent>, StartupComponent> components = new LinkedHashMap<>();
+    private final Map<Class<? extends StartupComponent>, Boolean> initialized = new LinkedHashMap<>();
+    private final Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final ExecutorService startupExecutor = Executors.newSingleThreadExecutor();
+    private Context appContext;
+
+    private StartupGraph() {
+    }
+
+    public static synchronized StartupGraph getInstance() {
+        if (instance == null) {
+            instance = new StartupGraph();
+        }
+        return instance;
+    }
+
+    /**
+     * Register a component; must happen before {@link #start}.
+     */
+    public StartupGraph register(StartupComponent component) {
+        components.put(component.getClass(), component);
+        return this;
+    }
+
+    /**
+     * Run MAIN components now and queue BACKGROUND ones. LAZY components are left alone.
+     */
+    public void start(Context context) {
+        appContext = context.getApplicationContext();
+
+        for (StartupComponent component : components.values()) {
+            if (component.getMode() == StartupComponent.Mode.MAIN) {
+                require(component.getClass());
+            }
+        }
+        for (StartupComponent component : components.values()) {
+            if (component.getMode() == StartupComponent.Mode.BACKGROUND) {
+                startupExecutor.execute(() -> require(component.getClass()));
+            }
+        }
+    }
+
+    /**
+     * Initialize the component and its dependencies if that has not happened yet.
+     * Blocks while another thread is initializing the same component.
+     */
+    public void require(Class<? extends StartupComponent> type) {
+        StartupComponent component = components.get(type);
+        if (component == null) {
+            throw new IllegalStateException(type.getSimpleName() + " is not registered");
+        }
+
+        for (Class<? extends StartupComponent> dependency : component.dependencies()) {
+            require(dependency);
+        }
+
+        // Dependencies are done before taking this lock, so locks never nest
+        synchronized (component) {
+            if (isInitialized(type)) {
+                return;
+            }
+            long start = SystemClock.elapsedRealtimeNanos();
+            component.create(appContext);
+            long elapsedMicros = (SystemClock.elapsedRealtimeNanos() - start) / 1000;
+            markInitialized(type);
+
+            timings.put(component.getName(), elapsedMicros);
+            if (ExpenseTrackerApp.isDebuggable()) {
+                boolean onMain = Looper.myLooper() == Looper.getMainLooper();
+                Log.d(TAG, component.getName() + " initialized in " + (elapsedMicros / 1000.0) + "ms on "
+                        + (onMain ? "main" : Thread.currentThread().getName()));
+            }
+        }
+    }
+
+    private synchronized boolean isInitialized(Class<? extends StartupComponent> type) {
+        return Boolean.TRUE.equals(initialized.get(type));
+    }
+
+    private synchronized void markInitialized(Class<? extends StartupComponent> type) {
+        initialized.put(type, true);
+    }
+
+    /**
+     * Initialization time per component in microseconds, in completion order.
+     */
+    public Map<String, Long> getTimings() {
+        synchronized (timings) {
+            return new LinkedHashMap<>(timings);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.expensetrackerapp.startup;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.expensetrackerapp.ExpenseTrackerApp;
+import com.example.expensetrackerapp.auth.AuthManager;
+import com.example.expensetrackerapp.data.local.AppDatabase;
+import com.example.expensetrackerapp.data.local.dao.ExpenseDao;
+import com.example.expensetrackerapp.ui.dashboard.DashboardSnapshotStore;
+import com.example.expensetrackerapp.utils.Constants;
+import com.example.expensetrackerapp.utils.DateUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Warms the path to the first dashboard frame while the splash is showing:
+ * opens the Room connection and resolves the signed-in user in parallel, then
+ * runs the dashboard's month queries so their statements are compiled and
+ * their pages cached. Reports readiness once on the main thread.
+ */
+public class StartupWarmup {
+
+    private static final String TAG = "StartupWarmup";
+
+    public interface Listener {
+        /**
+         * @param loggedIn whether a Firebase user is signed in
+         */
+        void onReady(boolean loggedIn);
+    }
+
+    private final Context appContext;
+    private final Executor executor = AppDatabase.databaseWriteExecutor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public StartupWarmup(Context context) {
+        this.appContext = context.getApplicationContext();
+    }
+
+    /**
+     * Start warming; the listener is called on the main thread when done,
+     * also when a step failed, since warmup is only an optimization.
+     */
+    public void start(Listener listener) {
+        long startTime = SystemClock.elapsedRealtime();
+        // Read the persisted dashboard on its own thread so the first frame can use it
+        DashboardSnapshotStore.getInstance(appContext).preload();
+
+        CompletableFuture<AppDatabase> database = CompletableFuture.supplyAsync(() -> {
+            AppDatabase db = AppDatabase.getInstance(appContext);
+            // Forces the connection open and any migration to run now
+            db.getOpenHelper().getWritableDatabase();
+            log("database", startTime);
+            return db;
+        }, executor);
+
+        CompletableFuture<String> userId = CompletableFuture.supplyAsync(() -> {
+            String id = AuthManager.getInstance().getCurrentUserId();
+            log("auth", startTime);
+            return id;
+        }, executor);
+
+        database.thenCombineAsync(userId, (db, id) -> {
+            warmDashboardQueries(db.expenseDao(), id);
+            log("dashboard queries", startTime);
+            return id;
+        }, executor).handle((id, error) -> {
+            if (error != null) {
+                Log.w(TAG, "Warmup failed", error);
+            }
+            boolean loggedIn = id != null ? !Constants.USER_GUEST.equals(id)
+                    : AuthManager.getInstance().isLoggedIn();
+            mainHandler.post(() -> listener.onReady(loggedIn));
+            return null;
+        });
+    }
+
+    /**
+     * Run the same queries the dashboard issues for the current month.
+     */
+    private static void warmDashboardQueries(ExpenseDao expenseDao, String userId) {
+        long[] range = DateUtils.getDateRangeForFilter(Constants.FILTER_MONTH);
+        expenseDao.getByDateRangeSync(userId, range[0], range[1]);
+        expenseDao.getTotalExpensesByDateRangeSync(userId, range[0], range[1]);
+        expenseDao.getTotalIncomeByDateRangeSync(userId, range[0], range[1]);
+    }
+
+    private static void log(String step, long startTime) {
+        if (!ExpenseTrackerApp.isDebuggable()) {
+            return;
+        }
+        Log.d(TAG, step + " ready after " + (SystemClock.elapsedRealtime() - startTime) + "ms");
+    }
+}
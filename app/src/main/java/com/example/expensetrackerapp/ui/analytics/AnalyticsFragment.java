@@ -2,7 +2,9 @@ package com.example.expensetrackerapp.ui.analytics;
 
 import android.graphics.Color;
 import android.os.Bundle;
+import android.view.GestureDetector;
 import android.view.LayoutInflater;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
@@ -10,17 +12,20 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
+import androidx.core.util.Pair;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.example.expensetrackerapp.R;
-import com.example.expensetrackerapp.data.local.entity.Expense;
-import com.example.expensetrackerapp.data.repository.ExpenseRepository;
+import com.example.expensetrackerapp.data.local.model.CategoryTotal;
 import com.example.expensetrackerapp.databinding.FragmentAnalyticsBinding;
+import com.example.expensetrackerapp.ui.shared.AnalyticsFilter;
+import com.example.expensetrackerapp.ui.shared.ExpenseViewModel;
 import com.example.expensetrackerapp.utils.Constants;
 import com.example.expensetrackerapp.utils.CurrencyUtils;
-import com.example.expensetrackerapp.utils.DateUtils;
-import com.example.expensetrackerapp.utils.PreferenceManager;
+import com.example.expensetrackerapp.utils.SettingsStore;
 import com.github.mikephil.charting.animation.Easing;
+import com.github.mikephil.charting.charts.Chart;
 import com.github.mikephil.charting.components.Legend;
 import com.github.mikephil.charting.components.XAxis;
 import com.github.mikephil.charting.components.YAxis;
@@ -30,15 +35,21 @@ import com.github.mikephil.charting.data.BarEntry;
 import com.github.mikephil.charting.data.PieData;
 import com.github.mikephil.charting.data.PieDataSet;
 import com.github.mikephil.charting.data.PieEntry;
-import com.github.mikephil.charting.formatter.IndexAxisValueFormatter;
 import com.github.mikephil.charting.formatter.PercentFormatter;
+import com.github.mikephil.charting.formatter.ValueFormatter;
+import com.github.mikephil.charting.listener.ChartTouchListener;
+import com.github.mikephil.charting.listener.OnChartGestureListener;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.datepicker.MaterialDatePicker;
+
+import java.text.SimpleDateFormat;
 
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.TimeZone;
 
 /**
  * Analytics Fragment showing expense charts and statistics.
@@ -46,10 +57,31 @@ import java.util.TreeMap;
 public class AnalyticsFragment extends Fragment {
 
     private FragmentAnalyticsBinding binding;
-    private ExpenseRepository expenseRepository;
-    private PreferenceManager preferenceManager;
+    private ExpenseViewModel viewModel;
+    private String currency; // Null until the settings have loaded
     private boolean isIncomeSelected = false; // False = Expense, True = Income
 
+    // Upper bound on bars drawn for any visible span
+    private static final int MAX_BARS = 31;
+
+    // Minimum horizontal fling, in dp and dp/s, that pages to another period
+    private static final int SWIPE_MIN_DISTANCE_DP = 80;
+    private static final int SWIPE_MIN_VELOCITY_DP = 300;
+
+    private ChartDownsampler.Series dailySeries;
+    private int renderedBucketWidth;
+    private int renderedFrom;
+    private int renderedTo;
+
+    // Fingerprints of what each chart currently shows; equal results skip the redraw
+    private long pieFingerprint = ChartFingerprint.NONE;
+    private long barFingerprint = ChartFingerprint.NONE;
+    private final EntryAnimator pieAnimator = new EntryAnimator();
+    private final EntryAnimator barAnimator = new EntryAnimator();
+
+    // Epoch days are local dates, so format them as UTC midnight
+    private final SimpleDateFormat dayLabelFormat = createDayLabelFormat();
+
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
@@ -62,8 +94,8 @@ public class AnalyticsFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        expenseRepository = ExpenseRepository.getInstance(requireContext());
-        preferenceManager = PreferenceManager.getInstance(requireContext());
+        viewModel = new ViewModelProvider(requireActivity()).get(ExpenseViewModel.class);
+        currency = null;
 
         setupUI();
         setupPieChart();
@@ -72,18 +104,88 @@ public class AnalyticsFragment extends Fragment {
     }
 
     private void setupUI() {
-        binding.tvDateRange.setText(DateUtils.formatMonthYear(System.currentTimeMillis()));
-
         binding.btnToggleExpense.setOnClickListener(v -> toggleType(false));
         binding.btnToggleIncome.setOnClickListener(v -> toggleType(true));
+
+        // Period navigation
+        binding.btnPrevPeriod.setOnClickListener(v -> viewModel.shiftAnalyticsPeriod(-1));
+        binding.btnNextPeriod.setOnClickListener(v -> viewModel.shiftAnalyticsPeriod(1));
+        setupPeriodChip(binding.chipPeriodWeek, AnalyticsPeriod.Unit.WEEK);
+        setupPeriodChip(binding.chipPeriodMonth, AnalyticsPeriod.Unit.MONTH);
+        setupPeriodChip(binding.chipPeriodQuarter, AnalyticsPeriod.Unit.QUARTER);
+        setupPeriodChip(binding.chipPeriodYear, AnalyticsPeriod.Unit.YEAR);
+        binding.chipPeriodCustom.setOnClickListener(v -> showDateRangePicker());
+        setupSwipeNavigation();
+    }
+
+    private void setupPeriodChip(Chip chip, AnalyticsPeriod.Unit unit) {
+        chip.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            if (isChecked) {
+                viewModel.setAnalyticsPeriodUnit(unit);
+            }
+        });
+    }
+
+    private void showDateRangePicker() {
+        MaterialDatePicker<Pair<Long, Long>> picker = MaterialDatePicker.Builder
+                .dateRangePicker()
+                .setTitleText(R.string.select_date_range)
+                .build();
+        picker.addOnPositiveButtonClickListener(selection -> {
+            if (selection.first != null && selection.second != null) {
+                viewModel.setAnalyticsPeriod(
+                        AnalyticsPeriod.customFromUtcDates(selection.first, selection.second));
+            }
+        });
+        // Re-sync the chips if the picker was cancelled
+        picker.addOnDismissListener(dialog -> {
+            if (binding != null) {
+                showPeriod(viewModel.getAnalyticsFilter().getValue());
+            }
+        });
+        picker.show(getChildFragmentManager(), "AnalyticsDateRangePicker");
+    }
+
+    /**
+     * Horizontal flings on the page move to the previous or next period. Touches
+     * are only observed, so vertical scrolling and chart gestures still work.
+     */
+    private void setupSwipeNavigation() {
+        float density = getResources().getDisplayMetrics().density;
+        float minDistance = SWIPE_MIN_DISTANCE_DP * density;
+        float minVelocity = SWIPE_MIN_VELOCITY_DP * density;
+
+        GestureDetector detector = new GestureDetector(requireContext(),
+                new GestureDetector.SimpleOnGestureListener() {
+                    @Override
+                    public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
+                        if (e1 == null) {
+                            return false;
+                        }
+                        float dx = e2.getX() - e1.getX();
+                        float dy = e2.getY() - e1.getY();
+                        if (Math.abs(dx) < minDistance || Math.abs(dx) < Math.abs(dy) * 2
+                                || Math.abs(velocityX) < minVelocity) {
+                            return false;
+                        }
+                        if (dx < 0) {
+                            if (binding.btnNextPeriod.isEnabled()) {
+                                viewModel.shiftAnalyticsPeriod(1);
+                            }
+                        } else {
+                            viewModel.shiftAnalyticsPeriod(-1);
+                        }
+                        return true;
+                    }
+                });
+        binding.scrollContent.setOnTouchListener((v, event) -> {
+            detector.onTouchEvent(event);
+            return false;
+        });
     }
 
     private void toggleType(boolean isIncome) {
-        if (isIncomeSelected == isIncome) return;
-        isIncomeSelected = isIncome;
-        
-        updateToggleUI();
-        loadChartData();
+        viewModel.setAnalyticsType(isIncome ? Constants.TYPE_INCOME : Constants.TYPE_EXPENSE);
     }
 
     private void updateToggleUI() {
@@ -159,7 +261,44 @@ public class AnalyticsFragment extends Fragment {
         binding.barChart.setFitBars(true);
         binding.barChart.setPinchZoom(false);
         binding.barChart.setDrawValueAboveBar(false);
-        binding.barChart.setScaleEnabled(false);
+        // Horizontal zoom only; bars are re-bucketed for the visible span when a gesture ends
+        binding.barChart.setScaleXEnabled(true);
+        binding.barChart.setScaleYEnabled(false);
+        binding.barChart.setDragEnabled(true);
+        binding.barChart.setOnChartGestureListener(new OnChartGestureListener() {
+            @Override
+            public void onChartGestureStart(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+            }
+
+            @Override
+            public void onChartGestureEnd(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+                refineVisibleBars();
+            }
+
+            @Override
+            public void onChartLongPressed(MotionEvent me) {
+            }
+
+            @Override
+            public void onChartDoubleTapped(MotionEvent me) {
+            }
+
+            @Override
+            public void onChartSingleTapped(MotionEvent me) {
+            }
+
+            @Override
+            public void onChartFling(MotionEvent me1, MotionEvent me2, float velocityX, float velocityY) {
+            }
+
+            @Override
+            public void onChartScale(MotionEvent me, float scaleX, float scaleY) {
+            }
+
+            @Override
+            public void onChartTranslate(MotionEvent me, float dX, float dY) {
+            }
+        });
         
         binding.barChart.setNoDataTextColor(ContextCompat.getColor(requireContext(), R.color.text_secondary));
         binding.barChart.setNoDataText("No trend data available");
@@ -168,6 +307,12 @@ public class AnalyticsFragment extends Fragment {
         xAxis.setPosition(XAxis.XAxisPosition.BOTTOM);
         xAxis.setDrawGridLines(false);
         xAxis.setGranularity(1f);
+        xAxis.setValueFormatter(new ValueFormatter() {
+            @Override
+            public String getFormattedValue(float value) {
+                return formatDayLabel(value);
+            }
+        });
         xAxis.setTextColor(ContextCompat.getColor(requireContext(), R.color.text_secondary));
         
         YAxis leftAxis = binding.barChart.getAxisLeft();
@@ -182,76 +327,122 @@ public class AnalyticsFragment extends Fragment {
         legend.setEnabled(false);
     }
 
+    /**
+     * Observe the analytics pipeline once; the toggle, chips and swipes only change the filter state.
+     */
     private void loadChartData() {
-        long[] monthRange = DateUtils.getDateRangeForFilter(Constants.FILTER_MONTH);
-        
-        expenseRepository.getByDateRange(monthRange[0], monthRange[1]).observe(getViewLifecycleOwner(), expenses -> {
-            if (expenses != null) {
-                String targetType = isIncomeSelected ? Constants.TYPE_INCOME : Constants.TYPE_EXPENSE;
-                List<Expense> filteredExpenses = new ArrayList<>();
-                
-                for (Expense e : expenses) {
-                    if (targetType.equals(e.getType())) {
-                        filteredExpenses.add(e);
-                    }
-                }
-                
-                if (!filteredExpenses.isEmpty()) {
-                    updateStatsCards(filteredExpenses);
-                    updatePieChart(filteredExpenses);
-                    updateBarChart(filteredExpenses);
-                    
-                    // Show charts
-                    binding.pieChart.setVisibility(View.VISIBLE);
-                    binding.barChart.setVisibility(View.VISIBLE);
-                } else {
-                    // Empty state logic - reset charts to empty
-                    binding.tvTotalAmount.setText(CurrencyUtils.formatAmount(0, preferenceManager.getCurrency()));
-                    binding.tvDailyAverage.setText(CurrencyUtils.formatAmount(0, preferenceManager.getCurrency()));
-                    binding.tvMaxTransaction.setText(CurrencyUtils.formatAmount(0, preferenceManager.getCurrency()));
-                    
-                    binding.pieChart.clear();
-                    binding.barChart.clear();
-                }
-            } else {
-                 binding.pieChart.clear();
-                 binding.barChart.clear();
+        viewModel.getAnalyticsFilter().observe(getViewLifecycleOwner(), filter -> {
+            isIncomeSelected = filter.isIncome();
+            updateToggleUI();
+            showPeriod(filter);
+        });
+
+        viewModel.getAnalyticsResult().observe(getViewLifecycleOwner(), this::showResult);
+
+        SettingsStore.getInstance(requireContext()).getCurrency().observe(getViewLifecycleOwner(), newCurrency -> {
+            currency = newCurrency;
+            AnalyticsResult result = viewModel.getAnalyticsResult().getValue();
+            if (result != null) {
+                updateStatsCards(result);
             }
         });
     }
 
-    private void updateStatsCards(List<Expense> expenses) {
-        double total = 0;
-        double max = 0;
-        
-        for (Expense e : expenses) {
-            total += e.getAmount();
-            if (e.getAmount() > max) {
-                max = e.getAmount();
-            }
+    private void showPeriod(AnalyticsFilter filter) {
+        AnalyticsPeriod period = filter.getPeriod();
+        binding.tvDateRange.setText(period.getLabel());
+
+        // Nothing to page to after the current period
+        boolean hasNext = !period.shift(1).isInFuture();
+        binding.btnNextPeriod.setEnabled(hasNext);
+        binding.btnNextPeriod.setAlpha(hasNext ? 1f : 0.4f);
+
+        switch (period.getUnit()) {
+            case WEEK:
+                binding.chipPeriodWeek.setChecked(true);
+                break;
+            case QUARTER:
+                binding.chipPeriodQuarter.setChecked(true);
+                break;
+            case YEAR:
+                binding.chipPeriodYear.setChecked(true);
+                break;
+            case CUSTOM:
+                binding.chipPeriodCustom.setChecked(true);
+                break;
+            case MONTH:
+            default:
+                binding.chipPeriodMonth.setChecked(true);
+                break;
         }
-        
-        // Average
-        int days = Calendar.getInstance().getActualMaximum(Calendar.DAY_OF_MONTH);
-        // Or better, days passed so far in month to be more accurate? Standard is usually / 30 for monthly views or actual days.
-        // Let's use days in month for "Daily Average" spread.
-        double average = total / days;
-        
-        String currency = preferenceManager.getCurrency();
-        binding.tvTotalAmount.setText(CurrencyUtils.formatAmount(total, currency));
-        binding.tvDailyAverage.setText(CurrencyUtils.formatAmount(average, currency));
-        binding.tvMaxTransaction.setText(CurrencyUtils.formatAmount(max, currency));
     }
 
-    private void updatePieChart(List<Expense> expenses) {
-        Map<String, Double> categoryTotals = new HashMap<>();
-        for (Expense e : expenses) {
-            categoryTotals.put(e.getCategory(), categoryTotals.getOrDefault(e.getCategory(), 0.0) + e.getAmount());
+    private void showResult(AnalyticsResult result) {
+        updateStatsCards(result);
+        if (!result.isEmpty()) {
+            updatePieChart(result.getCategoryTotals());
+        } else {
+            pieAnimator.cancel();
+            pieFingerprint = ChartFingerprint.NONE;
+            binding.pieChart.clear();
         }
+        updateBarChart(result.getDailySeries());
+    }
 
-        ArrayList<PieEntry> entries = new ArrayList<>();
-        for (Map.Entry<String, Double> entry : categoryTotals.entrySet()) {
-            entries.add(new PieEntry(entry.getValue().floatValue(), entry.getKey()));
+    private void updateStatsCards(AnalyticsResult result) {
+        if (currency == null) {
+            return;
+        }
+        binding.tvTotalAmount.setText(CurrencyUtils.formatAmount(result.getTotal(), currency));
+        binding.tvDailyAverage.setText(CurrencyUtils.formatAmount(result.getDailyAverage(), currency));
+        binding.tvMaxTransaction.setText(CurrencyUtils.formatAmount(result.getMax(), currency));
+    }
+
+    private void updatePieChart(List<CategoryTotal> categoryTotals) {
+        String centerText = isIncomeSelected ? "Income" : "Expense";
+        long fingerprint = ChartFingerprint.of(categoryTotals, centerText);
+        if (fingerprint == pieFingerprint) {
+            return;
+        }
+        pieFingerprint = fingerprint;
+        binding.pieChart.setCenterText(centerText);
+
+        PieData data = binding.pieChart.getData();
+        if (data == null) {
+            createPieData(categoryTotals);
+            return;
+        }
+
+        // Reuse the slices that are still present and animate every slice to its new value
+        PieDataSet dataSet = (PieDataSet) data.getDataSet();
+        Map<String, PieEntry> previous = new HashMap<>();
+        for (PieEntry entry : dataSet.getValues()) {
+            previous.put(entry.getLabel(), entry);
+        }
+
+        int count = categoryTotals.size();
+        List<PieEntry> entries = new ArrayList<>(count);
+        float[] from = new float[count];
+        float[] to = new float[count];
+        for (int i = 0; i < count; i++) {
+            CategoryTotal categoryTotal = categoryTotals.get(i);
+            PieEntry entry = previous.get(categoryTotal.category);
+            if (entry == null) {
+                entry = new PieEntry(0f, categoryTotal.category);
+            }
+            entries.add(entry);
+            from[i] = entry.getY();
+            to[i] = (float) categoryTotal.total;
+        }
+
+        dataSet.setValues(entries);
+        pieAnimator.animate(entries, from, to, this::refreshPieChart);
+    }
+
+    private void createPieData(List<CategoryTotal> categoryTotals) {
+        ArrayList<PieEntry> entries = new ArrayList<>(categoryTotals.size());
+        for (CategoryTotal categoryTotal : categoryTotals) {
+            entries.add(new PieEntry((float) categoryTotal.total, categoryTotal.category));
         }
 
         PieDataSet dataSet = new PieDataSet(entries, "");
@@ -266,33 +457,132 @@ public class AnalyticsFragment extends Fragment {
         data.setValueTextColor(Color.WHITE);
 
         binding.pieChart.setData(data);
-        binding.pieChart.setCenterText(isIncomeSelected ? "Income" : "Expense");
         binding.pieChart.setCenterTextSize(12f);
         binding.pieChart.setCenterTextColor(ContextCompat.getColor(requireContext(), R.color.text_primary));
         binding.pieChart.animateY(1000, Easing.EaseInOutQuad);
         binding.pieChart.invalidate();
     }
 
-    private void updateBarChart(List<Expense> expenses) {
-        // Group by day for accurate trend (1-30/31)
-        Map<Integer, Float> dailyTotals = new TreeMap<>(); // Sorted
-        int maxDay = Calendar.getInstance().getActualMaximum(Calendar.DAY_OF_MONTH);
-        
-        // Init all days with 0
-        for(int i=1; i<=maxDay; i++) {
-            dailyTotals.put(i, 0f);
+    private void updateBarChart(ChartDownsampler.Series series) {
+        boolean hasData = false;
+        if (series != null) {
+            for (float value : series.values) {
+                if (value > 0) {
+                    hasData = true;
+                    break;
+                }
+            }
+        }
+
+        if (!hasData) {
+            dailySeries = series;
+            barAnimator.cancel();
+            barFingerprint = ChartFingerprint.NONE;
+            binding.barChart.clear();
+            return;
+        }
+
+        long fingerprint = ChartFingerprint.of(series);
+        if (fingerprint == barFingerprint) {
+            return;
+        }
+        boolean samePeriod = dailySeries != null && binding.barChart.getData() != null
+                && dailySeries.startDay == series.startDay && dailySeries.size() == series.size();
+        dailySeries = series;
+        barFingerprint = fingerprint;
+
+        if (samePeriod) {
+            // Same days with new values: keep the zoom and animate the rendered window
+            renderBars(ChartDownsampler.bucket(series, renderedFrom, renderedTo, renderedBucketWidth),
+                    renderedFrom, renderedTo, true);
+            return;
+        }
+
+        // Fix the axis to the whole range so zooming and refinement share coordinates
+        XAxis xAxis = binding.barChart.getXAxis();
+        xAxis.setAxisMinimum(-0.5f);
+        xAxis.setAxisMaximum(series.size() - 0.5f);
+
+        binding.barChart.fitScreen();
+        renderBars(ChartDownsampler.bars(series, 0, series.size(), MAX_BARS), 0, series.size(), true);
+    }
+
+    /**
+     * Re-bucket the bars for the zoomed window, keeping one window of margin on
+     * each side so short pans still show data.
+     */
+    private void refineVisibleBars() {
+        if (binding == null || dailySeries == null || binding.barChart.getData() == null) {
+            return;
+        }
+
+        int from = Math.max(0, (int) Math.floor(binding.barChart.getLowestVisibleX()));
+        int to = Math.min(dailySeries.size(), (int) Math.ceil(binding.barChart.getHighestVisibleX()) + 1);
+        int span = Math.max(1, to - from);
+        int width = ChartDownsampler.bucketWidthFor(span, MAX_BARS);
+
+        if (width == renderedBucketWidth && from >= renderedFrom && to <= renderedTo) {
+            return;
+        }
+
+        int paddedFrom = Math.max(0, from - span);
+        int paddedTo = Math.min(dailySeries.size(), to + span);
+        renderBars(ChartDownsampler.bucket(dailySeries, paddedFrom, paddedTo, width), paddedFrom, paddedTo, false);
+    }
+
+    /**
+     * Show the bars, reusing the existing data set. With animate, bars at the same
+     * position grow or shrink from their old height and new ones rise from zero.
+     */
+    private void renderBars(ChartDownsampler.Bars bars, int from, int to, boolean animate) {
+        renderedBucketWidth = bars.widthDays;
+        renderedFrom = from;
+        renderedTo = to;
+
+        BarData data = binding.barChart.getBarData();
+        if (data == null) {
+            createBarData(bars);
+            return;
+        }
+
+        BarDataSet dataSet = (BarDataSet) data.getDataSetByIndex(0);
+        Map<Float, BarEntry> previous = new HashMap<>();
+        for (BarEntry entry : dataSet.getValues()) {
+            previous.put(entry.getX(), entry);
         }
 
-        for (Expense e : expenses) {
-            Calendar cal = Calendar.getInstance();
-            cal.setTimeInMillis(e.getDate());
-            int day = cal.get(Calendar.DAY_OF_MONTH);
-            dailyTotals.put(day, dailyTotals.get(day) + (float)e.getAmount());
+        int count = bars.size();
+        List<BarEntry> entries = new ArrayList<>(count);
+        float[] fromY = new float[count];
+        float[] toY = new float[count];
+        for (int i = 0; i < count; i++) {
+            BarEntry entry = previous.get(bars.centers[i]);
+            if (entry == null) {
+                entry = new BarEntry(bars.centers[i], 0f);
+            }
+            fromY[i] = entry.getY();
+            toY[i] = bars.totals[i];
+            entries.add(entry);
         }
 
-        ArrayList<BarEntry> entries = new ArrayList<>();
-        for (Map.Entry<Integer, Float> entry : dailyTotals.entrySet()) {
-            entries.add(new BarEntry(entry.getKey(), entry.getValue()));
+        dataSet.setValues(entries);
+        data.setBarWidth(bars.widthDays * 0.6f);
+
+        if (animate) {
+            barAnimator.animate(entries, fromY, toY, this::refreshBarChart);
+        } else {
+            barAnimator.cancel();
+            for (int i = 0; i < count; i++) {
+                entries.get(i).setY(toY[i]);
+            }
+            refreshBarChart();
+        }
+    }
+
+    private void createBarData(ChartDownsampler.Bars bars) {
+        ArrayList<BarEntry> entries = new ArrayList<>(bars.size());
+        for (int i = 0; i < bars.size(); i++) {
+            entries.add(new BarEntry(bars.centers[i], bars.totals[i]));
         }
 
         BarDataSet dataSet = new BarDataSet(entries, "Daily Amount");
@@ -300,11 +590,42 @@ public class AnalyticsFragment extends Fragment {
         dataSet.setDrawValues(false); // Clean look
 
         BarData data = new BarData(dataSet);
-        data.setBarWidth(0.6f);
+        data.setBarWidth(bars.widthDays * 0.6f);
 
         binding.barChart.setData(data);
         binding.barChart.animateY(1000);
-        binding.barChart.invalidate();
+    }
+
+    private void refreshPieChart() {
+        if (binding != null) {
+            refreshChart(binding.pieChart);
+        }
+    }
+
+    private void refreshBarChart() {
+        if (binding != null) {
+            refreshChart(binding.barChart);
+        }
+    }
+
+    /**
+     * Recompute sums and bounds after entries changed in place, then redraw.
+     */
+    private static void refreshChart(Chart<?> chart) {
+        if (chart.getData() == null) {
+            return;
+        }
+        chart.getData().notifyDataChanged();
+        chart.notifyDataSetChanged();
+        chart.invalidate();
+    }
+
+    private String formatDayLabel(float value) {
+        if (dailySeries == null) {
+            return "";
+        }
+        long day = dailySeries.startDay + Math.round(value);
+        return dayLabelFormat.format(day * ChartDownsampler.MILLIS_PER_DAY);
     }
     
     private ArrayList<Integer> getChartColors() {
@@ -318,9 +639,21 @@ public class AnalyticsFragment extends Fragment {
         return colors;
     }
 
+    private static SimpleDateFormat createDayLabelFormat() {
+        SimpleDateFormat format = new SimpleDateFormat("d MMM", Locale.getDefault());
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        pieAnimator.cancel();
+        barAnimator.cancel();
+        // A new view starts with empty charts
+        pieFingerprint = ChartFingerprint.NONE;
+        barFingerprint = ChartFingerprint.NONE;
+        dailySeries = null;
         binding = null;
     }
 }
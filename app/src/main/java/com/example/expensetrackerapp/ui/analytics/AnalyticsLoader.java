@@ -0,0 +1,213 @@
+package com.example.expensetrackerapp.ui.analytics;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.InvalidationTracker;
+
+import com.example.expensetrackerapp.data.local.AppDatabase;
+import com.example.expensetrackerapp.data.local.model.AmountStats;
+import com.example.expensetrackerapp.data.local.model.CategoryTotal;
+import com.example.expensetrackerapp.data.local.model.DailyTotal;
+import com.example.expensetrackerapp.data.repository.ExpenseRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Computes {@link AnalyticsResult}s off the main thread and keeps recent ones in
+ * memory. After each load the periods either side are prefetched, so paging
+ * through periods is served from the cache. Any write to the expenses table
+ * drops the cache. All public methods must be called on the main thread.
+ */
+public class AnalyticsLoader {
+
+    private static final int CACHE_SIZE = 24;
+
+    public interface Callback {
+        void onLoaded(AnalyticsResult result);
+    }
+
+    /**
+     * Computes one result; called on the loader's background thread.
+     */
+    interface Source {
+        AnalyticsResult compute(AnalyticsPeriod period, String type);
+    }
+
+    private final Source source;
+    private final AppDatabase database;
+    private final ExecutorService executor;
+    private final Executor mainExecutor;
+
+    // Least recently used first
+    private final Map<String, AnalyticsResult> cache = new LinkedHashMap<String, AnalyticsResult>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AnalyticsResult> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    // Callbacks waiting on each in-flight key; prefetches wait with an empty list
+    private final Map<String, List<Callback>> pending = new HashMap<>();
+
+    // Bumped on invalidation so results computed from older data are not cached
+    private int dataVersion;
+    private Runnable onInvalidated;
+    private boolean released;
+
+    private final InvalidationTracker.Observer expensesObserver =
+            new InvalidationTracker.Observer("expenses") {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    mainExecutor.execute(AnalyticsLoader.this::invalidate);
+                }
+            };
+
+    public AnalyticsLoader(Context context) {
+        this(repositorySource(ExpenseRepository.getInstance(context)), AppDatabase.getInstance(context),
+                Executors.newSingleThreadExecutor(), new Handler(Looper.getMainLooper())::post);
+    }
+
+    /**
+     * For tests: a null database skips table observation, so invalidations come only
+     * from {@link #invalidate}.
+     */
+    AnalyticsLoader(Source source, @Nullable AppDatabase database, ExecutorService executor,
+            Executor mainExecutor) {
+        this.source = source;
+        this.database = database;
+        this.executor = executor;
+        this.mainExecutor = mainExecutor;
+        if (database != null) {
+            database.getInvalidationTracker().addObserver(expensesObserver);
+        }
+    }
+
+    /**
+     * Called after the underlying data changed; cached results are gone by then.
+     */
+    public void setOnInvalidatedListener(Runnable listener) {
+        this.onInvalidated = listener;
+    }
+
+    /**
+     * Deliver the result for a period, synchronously when cached, then prefetch
+     * the neighbouring periods.
+     */
+    public void load(AnalyticsPeriod period, String type, Callback callback) {
+        String key = keyFor(period, type);
+        AnalyticsResult cached = cache.get(key);
+        if (cached != null) {
+            callback.onLoaded(cached);
+        } else {
+            enqueue(period, type, key, callback);
+        }
+
+        prefetch(period.shift(-1), type);
+        AnalyticsPeriod next = period.shift(1);
+        if (!next.isInFuture()) {
+            prefetch(next, type);
+        }
+    }
+
+    private void prefetch(AnalyticsPeriod period, String type) {
+        String key = keyFor(period, type);
+        if (cache.get(key) == null) {
+            enqueue(period, type, key, null);
+        }
+    }
+
+    private void enqueue(AnalyticsPeriod period, String type, String key, Callback callback) {
+        List<Callback> waiting = pending.get(key);
+        if (waiting != null) {
+            if (callback != null) {
+                waiting.add(callback);
+            }
+            return;
+        }
+
+        waiting = new ArrayList<>(1);
+        if (callback != null) {
+            waiting.add(callback);
+        }
+        pending.put(key, waiting);
+
+        int version = dataVersion;
+        executor.execute(() -> {
+            AnalyticsResult result = source.compute(period, type);
+            mainExecutor.execute(() -> deliver(key, version, result));
+        });
+    }
+
+    private void deliver(String key, int version, AnalyticsResult result) {
+        if (released || version != dataVersion) {
+            // Data changed while computing; listeners reload through onInvalidated, and
+            // anything now pending under this key belongs to that newer load
+            return;
+        }
+        List<Callback> waiting = pending.remove(key);
+        cache.put(key, result);
+        if (waiting != null) {
+            for (Callback callback : waiting) {
+                callback.onLoaded(result);
+            }
+        }
+    }
+
+    private static Source repositorySource(ExpenseRepository expenseRepository) {
+        return (period, type) -> compute(expenseRepository, period, type);
+    }
+
+    private static AnalyticsResult compute(ExpenseRepository expenseRepository, AnalyticsPeriod period,
+            String type) {
+        long start = period.getStart();
+        long end = period.getEnd();
+
+        AmountStats stats = expenseRepository.getAmountStatsSync(type, start, end);
+        List<CategoryTotal> categoryTotals = expenseRepository.getCategoryTotalsSync(type, start, end);
+        List<DailyTotal> dailyTotals = expenseRepository.getDailyTotalsSync(type, start, end);
+        ChartDownsampler.Series series = ChartDownsampler.densify(dailyTotals,
+                ChartDownsampler.epochDay(start), ChartDownsampler.epochDay(end));
+
+        double total = stats != null ? stats.total : 0;
+        double max = stats != null ? stats.max : 0;
+        int count = stats != null ? stats.count : 0;
+        return new AnalyticsResult(period, type, total, max, count, categoryTotals, series);
+    }
+
+    void invalidate() {
+        dataVersion++;
+        cache.clear();
+        pending.clear();
+        if (onInvalidated != null) {
+            onInvalidated.run();
+        }
+    }
+
+    /**
+     * Stop observing the database and drop queued work.
+     */
+    public void release() {
+        if (database != null) {
+            database.getInvalidationTracker().removeObserver(expensesObserver);
+        }
+        executor.shutdownNow();
+        released = true;
+        onInvalidated = null;
+    }
+
+    private static String keyFor(AnalyticsPeriod period, String type) {
+        return type + ":" + period.getKey();
+    }
+}
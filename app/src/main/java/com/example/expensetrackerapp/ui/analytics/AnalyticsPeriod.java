@@ -0,0 +1,190 @@
+package com.example.expensetrackerapp.ui.analytics;
+
+import com.example.expensetrackerapp.utils.DateBuckets;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Immutable date range shown on the analytics screen.
+ * Start and end are local-time millis; end is inclusive.
+ */
+public final class AnalyticsPeriod {
+
+    public enum Unit {
+        WEEK,
+        MONTH,
+        QUARTER,
+        YEAR,
+        CUSTOM
+    }
+
+    private final Unit unit;
+    private final long start;
+    private final long end;
+
+    private AnalyticsPeriod(Unit unit, long start, long end) {
+        this.unit = unit;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Period of the given unit containing now.
+     */
+    public static AnalyticsPeriod current(Unit unit) {
+        return containing(unit, System.currentTimeMillis());
+    }
+
+    /**
+     * Period of the given unit containing the timestamp. CUSTOM falls back to MONTH.
+     */
+    public static AnalyticsPeriod containing(Unit unit, long millis) {
+        DateBuckets buckets = DateBuckets.getDefault();
+        long day = buckets.epochDay(millis);
+        switch (unit) {
+            case WEEK: {
+                long startDay = buckets.bucketDay(day, DateBuckets.Unit.WEEK);
+                return ofDays(buckets, unit, startDay, startDay + 7);
+            }
+            case QUARTER: {
+                long startDay = DateBuckets.addMonths(buckets.bucketDay(day, DateBuckets.Unit.MONTH),
+                        -((DateBuckets.month(day) - 1) % 3));
+                return ofDays(buckets, unit, startDay, DateBuckets.addMonths(startDay, 3));
+            }
+            case YEAR:
+                return ofDays(buckets, unit, buckets.bucketDay(day, DateBuckets.Unit.YEAR),
+                        buckets.nextBucketDay(day, DateBuckets.Unit.YEAR));
+            case MONTH:
+            case CUSTOM:
+            default:
+                return ofDays(buckets, Unit.MONTH, buckets.bucketDay(day, DateBuckets.Unit.MONTH),
+                        buckets.nextBucketDay(day, DateBuckets.Unit.MONTH));
+        }
+    }
+
+    /**
+     * Custom range covering whole local days from startMillis to endMillis.
+     */
+    public static AnalyticsPeriod custom(long startMillis, long endMillis) {
+        DateBuckets buckets = DateBuckets.getDefault();
+        long startDay = buckets.epochDay(Math.min(startMillis, endMillis));
+        long endDay = buckets.epochDay(Math.max(startMillis, endMillis));
+        return ofDays(buckets, Unit.CUSTOM, startDay, endDay + 1);
+    }
+
+    /**
+     * Custom range from a date picker selection, given as UTC midnights.
+     */
+    public static AnalyticsPeriod customFromUtcDates(long utcStart, long utcEnd) {
+        // A UTC midnight's epoch day is the picked calendar date
+        long startDay = Math.floorDiv(Math.min(utcStart, utcEnd), DateBuckets.MILLIS_PER_DAY);
+        long endDay = Math.floorDiv(Math.max(utcStart, utcEnd), DateBuckets.MILLIS_PER_DAY);
+        return ofDays(DateBuckets.getDefault(), Unit.CUSTOM, startDay, endDay + 1);
+    }
+
+    // endDay is exclusive
+    private static AnalyticsPeriod ofDays(DateBuckets buckets, Unit unit, long startDay, long endDay) {
+        return new AnalyticsPeriod(unit, buckets.startOfDay(startDay), buckets.startOfDay(endDay) - 1);
+    }
+
+    /**
+     * The period delta steps before (negative) or after (positive) this one.
+     * Custom ranges move by their own length in days.
+     */
+    public AnalyticsPeriod shift(int delta) {
+        if (delta == 0) {
+            return this;
+        }
+
+        DateBuckets buckets = DateBuckets.getDefault();
+        long startDay = buckets.epochDay(start);
+        switch (unit) {
+            case WEEK:
+                return containing(unit, buckets.startOfDay(startDay + 7L * delta));
+            case MONTH:
+                return containing(unit, buckets.startOfDay(DateBuckets.addMonths(startDay, delta)));
+            case QUARTER:
+                return containing(unit, buckets.startOfDay(DateBuckets.addMonths(startDay, 3 * delta)));
+            case YEAR:
+                return containing(unit, buckets.startOfDay(DateBuckets.addMonths(startDay, 12 * delta)));
+            case CUSTOM:
+            default: {
+                int days = getDayCount();
+                long newStartDay = startDay + (long) days * delta;
+                return ofDays(buckets, Unit.CUSTOM, newStartDay, newStartDay + days);
+            }
+        }
+    }
+
+    public Unit getUnit() {
+        return unit;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * Number of calendar days in the period.
+     */
+    public int getDayCount() {
+        return (int) (ChartDownsampler.epochDay(end) - ChartDownsampler.epochDay(start) + 1);
+    }
+
+    /**
+     * Whether the period starts after today, i.e. cannot contain data yet.
+     */
+    public boolean isInFuture() {
+        return start > System.currentTimeMillis();
+    }
+
+    /**
+     * Human-readable label, e.g. "March 2025", "Q1 2025" or "3 Mar – 9 Mar 2025".
+     */
+    public String getLabel() {
+        Locale locale = Locale.getDefault();
+        switch (unit) {
+            case MONTH:
+                return new SimpleDateFormat("MMMM yyyy", locale).format(start);
+            case QUARTER: {
+                long day = DateBuckets.getDefault().epochDay(start);
+                return "Q" + ((DateBuckets.month(day) - 1) / 3 + 1) + " " + DateBuckets.year(day);
+            }
+            case YEAR:
+                return new SimpleDateFormat("yyyy", locale).format(start);
+            case WEEK:
+                return new SimpleDateFormat("d MMM", locale).format(start) + " – "
+                        + new SimpleDateFormat("d MMM yyyy", locale).format(end);
+            case CUSTOM:
+            default:
+                SimpleDateFormat format = new SimpleDateFormat("d MMM yyyy", locale);
+                return format.format(start) + " – " + format.format(end);
+        }
+    }
+
+    /**
+     * Key identifying the period's date range, for caches.
+     */
+    public String getKey() {
+        return unit.name() + ":" + start + ":" + end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AnalyticsPeriod)) return false;
+        AnalyticsPeriod that = (AnalyticsPeriod) o;
+        return unit == that.unit && start == that.start && end == that.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(unit, start, end);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.expensetrackerapp.ui.analytics;
+
+import com.example.expensetrackerapp.data.local.model.CategoryTotal;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the analytics screen shows for one period and transaction type,
+ * computed in SQL and kept immutable so it can be cached and shared.
+ */
+public final class AnalyticsResult {
+
+    private final AnalyticsPeriod period;
+    private final String type;
+    private final double total;
+    private final double max;
+    private final int count;
+    private final List<CategoryTotal> categoryTotals;
+    private final ChartDownsampler.Series dailySeries;
+
+    AnalyticsResult(AnalyticsPeriod period, String type, double total, double max, int count,
+            List<CategoryTotal> categoryTotals, ChartDownsampler.Series dailySeries) {
+        this.period = period;
+        this.type = type;
+        this.total = total;
+        this.max = max;
+        this.count = count;
+        this.categoryTotals = Collections.unmodifiableList(categoryTotals);
+        this.dailySeries = dailySeries;
+    }
+
+    public AnalyticsPeriod getPeriod() {
+        return period;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Total spread over every day of the period.
+     */
+    public double getDailyAverage() {
+        return total / Math.max(1, period.getDayCount());
+    }
+
+    /**
+     * Per-category totals, largest first.
+     */
+    public List<CategoryTotal> getCategoryTotals() {
+        return categoryTotals;
+    }
+
+    /**
+     * Dense per-day totals covering the whole period.
+     */
+    public ChartDownsampler.Series getDailySeries() {
+        return dailySeries;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+}
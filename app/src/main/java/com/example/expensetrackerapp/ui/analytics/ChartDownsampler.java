@@ -0,0 +1,135 @@
+package com.example.expensetrackerapp.ui.analytics;
+
+import com.example.expensetrackerapp.data.local.model.DailyTotal;
+import com.example.expensetrackerapp.utils.DateBuckets;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reduces daily totals to a bounded number of chart bars, whatever the range.
+ * Days are summed into buckets whose width adapts to the visible span.
+ */
+public final class ChartDownsampler {
+
+    public static final long MILLIS_PER_DAY = 86_400_000L;
+
+    // Bucket widths in days, from finest to coarsest
+    private static final int[] BUCKET_DAYS = { 1, 2, 7, 14, 30, 91, 182, 365 };
+
+    private ChartDownsampler() {
+    }
+
+    /**
+     * Dense daily series: {@code values[i]} is the total for {@code startDay + i}.
+     */
+    public static final class Series {
+        public final long startDay;
+        public final float[] values;
+
+        Series(long startDay, float[] values) {
+            this.startDay = startDay;
+            this.values = values;
+        }
+
+        public int size() {
+            return values.length;
+        }
+    }
+
+    /**
+     * Bucketed bars; {@code centers} are day offsets into the series.
+     */
+    public static final class Bars {
+        public final int widthDays;
+        public final float[] centers;
+        public final float[] totals;
+
+        Bars(int widthDays, float[] centers, float[] totals) {
+            this.widthDays = widthDays;
+            this.centers = centers;
+            this.totals = totals;
+        }
+
+        public int size() {
+            return totals.length;
+        }
+    }
+
+    /**
+     * Local epoch day containing the timestamp.
+     */
+    public static long epochDay(long millis) {
+        return DateBuckets.getDefault().epochDay(millis);
+    }
+
+    /**
+     * Expand sparse per-day totals into a dense series covering [startDay, endDay].
+     * Days outside the range are ignored.
+     */
+    public static Series densify(List<DailyTotal> totals, long startDay, long endDay) {
+        if (totals == null) {
+            totals = Collections.emptyList();
+        }
+        int length = (int) Math.max(1, endDay - startDay + 1);
+        float[] values = new float[length];
+        for (DailyTotal total : totals) {
+            long index = total.day - startDay;
+            if (index >= 0 && index < length) {
+                values[(int) index] += (float) total.total;
+            }
+        }
+        return new Series(startDay, values);
+    }
+
+    /**
+     * Smallest bucket width that fits the day span into at most maxBars bars.
+     */
+    public static int bucketWidthFor(int spanDays, int maxBars) {
+        int needed = (int) Math.ceil(spanDays / (double) Math.max(1, maxBars));
+        for (int width : BUCKET_DAYS) {
+            if (width >= needed) {
+                return width;
+            }
+        }
+        return Math.max(needed, BUCKET_DAYS[BUCKET_DAYS.length - 1]);
+    }
+
+    /**
+     * Sum the days [from, to) of the series into at most maxBars buckets.
+     * Buckets are aligned to multiples of the width so refining a zoomed
+     * window lines up with the coarse view.
+     */
+    public static Bars bars(Series series, int from, int to, int maxBars) {
+        return bucket(series, from, to, bucketWidthFor(to - from, maxBars));
+    }
+
+    /**
+     * Sum the days [from, to) of the series into buckets of a fixed width.
+     */
+    public static Bars bucket(Series series, int from, int to, int width) {
+        from = Math.max(0, from);
+        to = Math.min(series.size(), to);
+        if (to <= from) {
+            return new Bars(width, new float[0], new float[0]);
+        }
+
+        int firstBucket = from / width;
+        int lastBucket = (to - 1) / width;
+        int count = lastBucket - firstBucket + 1;
+
+        float[] centers = new float[count];
+        float[] totals = new float[count];
+        for (int b = 0; b < count; b++) {
+            int bucketStart = (firstBucket + b) * width;
+            int bucketEnd = Math.min(series.size(), bucketStart + width);
+            float sum = 0;
+            for (int i = bucketStart; i < bucketEnd; i++) {
+                sum += series.values[i];
+            }
+            centers[b] = bucketStart + (bucketEnd - bucketStart - 1) / 2f;
+            totals[b] = sum;
+        }
+        return new Bars(width, centers, totals);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.expensetrackerapp.ui.analytics;
+
+import com.example.expensetrackerapp.data.local.model.CategoryTotal;
+
+import java.util.List;
+
+/**
+ * 64-bit FNV-1a fingerprints of the values a chart draws, used to skip
+ * re-rendering when an update leaves the plotted numbers unchanged.
+ */
+final class ChartFingerprint {
+
+    static final long NONE = 0L;
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash = OFFSET_BASIS;
+
+    private ChartFingerprint() {
+    }
+
+    static long of(ChartDownsampler.Series series) {
+        ChartFingerprint fingerprint = new ChartFingerprint();
+        fingerprint.add(series.startDay);
+        for (float value : series.values) {
+            fingerprint.add(Float.floatToIntBits(value));
+        }
+        return fingerprint.hash;
+    }
+
+    static long of(List<CategoryTotal> categoryTotals, String label) {
+        ChartFingerprint fingerprint = new ChartFingerprint();
+        fingerprint.add(label.hashCode());
+        for (CategoryTotal categoryTotal : categoryTotals) {
+            fingerprint.add(categoryTotal.category != null ? categoryTotal.category.hashCode() : 0);
+            fingerprint.add(Double.doubleToLongBits(categoryTotal.total));
+        }
+        return fingerprint.hash;
+    }
+
+    private void add(long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= PRIME;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.expensetrackerapp.ui.analytics;
+
+import android.animation.ValueAnimator;
+import android.view.animation.DecelerateInterpolator;
+
+import com.github.mikephil.charting.data.Entry;
+
+import java.util.List;
+
+/**
+ * Moves existing chart entries from their previous values to new ones in place,
+ * so an update only animates what changed instead of replaying the whole chart.
+ */
+final class EntryAnimator {
+
+    private static final long DURATION_MS = 400;
+
+    private ValueAnimator animator;
+
+    /**
+     * Animate entries[i].y from from[i] to to[i], calling onFrame after each step.
+     */
+    void animate(List<? extends Entry> entries, float[] from, float[] to, Runnable onFrame) {
+        cancel();
+
+        animator = ValueAnimator.ofFloat(0f, 1f);
+        animator.setDuration(DURATION_MS);
+        animator.setInterpolator(new DecelerateInterpolator());
+        animator.addUpdateListener(animation -> {
+            float fraction = (float) animation.getAnimatedValue();
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).setY(from[i] + (to[i] - from[i]) * fraction);
+            }
+            onFrame.run();
+        });
+        animator.start();
+    }
+
+    /**
+     * Stop a running animation, leaving entries at their current values.
+     */
+    void cancel() {
+        if (animator != null) {
+            animator.cancel();
+            animator = null;
+        }
+    }
+}
@@ -13,20 +13,21 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.expensetrackerapp.R;
 import com.example.expensetrackerapp.auth.AuthManager;
 import com.example.expensetrackerapp.data.local.entity.Expense;
-import com.example.expensetrackerapp.data.repository.ExpenseRepository;
 import com.example.expensetrackerapp.data.repository.UserRepository;
 import com.example.expensetrackerapp.databinding.FragmentDashboardBinding;
+import com.example.expensetrackerapp.ui.shared.ExpenseViewModel;
 import com.example.expensetrackerapp.ui.transactions.TransactionAdapter;
 import com.example.expensetrackerapp.utils.Constants;
 import com.example.expensetrackerapp.utils.CurrencyUtils;
 import com.example.expensetrackerapp.utils.DateUtils;
-import com.example.expensetrackerapp.utils.PreferenceManager;
+import com.example.expensetrackerapp.utils.SettingsStore;
 import com.google.android.material.card.MaterialCardView;
 
 import java.util.ArrayList;
@@ -40,15 +41,20 @@ import java.util.stream.Collectors;
 public class DashboardFragment extends Fragment {
 
     private FragmentDashboardBinding binding;
-    private ExpenseRepository expenseRepository;
+    private ExpenseViewModel viewModel;
     private UserRepository userRepository;
-    private PreferenceManager preferenceManager;
+    private SettingsStore settingsStore;
     private AuthManager authManager;
     private TransactionAdapter recentAdapter;
     private CategoryAdapter categoryAdapter;
-    
-    private List<Expense> allExpenses = new ArrayList<>();
-    private String currentCategory = "All";
+    private DashboardSnapshotStore snapshotStore;
+
+    // Set once Room has delivered; a late snapshot must not overwrite live values
+    private boolean liveSummaryShown;
+    private boolean liveRecentShown;
+
+    // Null until the settings have loaded
+    private String currency;
 
     @Nullable
     @Override
@@ -62,10 +68,14 @@ public class DashboardFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        expenseRepository = ExpenseRepository.getInstance(requireContext());
+        viewModel = new ViewModelProvider(requireActivity()).get(ExpenseViewModel.class);
         userRepository = UserRepository.getInstance(requireContext());
-        preferenceManager = PreferenceManager.getInstance(requireContext());
+        settingsStore = SettingsStore.getInstance(requireContext());
         authManager = AuthManager.getInstance();
+        snapshotStore = DashboardSnapshotStore.getInstance(requireContext());
+        liveSummaryShown = false;
+        liveRecentShown = false;
+        currency = null;
 
         setupUI();
         setupRecyclerView();
@@ -85,7 +95,7 @@ public class DashboardFragment extends Fragment {
         binding.tvUserName.setText(userName);
 
         // Set current month
-        binding.tvCurrentMonth.setText(DateUtils.formatMonthYear(System.currentTimeMillis()));
+        binding.tvCurrentMonth.setText(DateUtils.formatMonthYear(viewModel.getMonthRange()[0]));
     }
 
     private String getGreeting() {
@@ -110,55 +120,105 @@ public class DashboardFragment extends Fragment {
 
         // Category Filter Recycler
         List<CategoryItem> categories = new ArrayList<>();
-        categories.add(new CategoryItem("All", R.drawable.ic_list));
+        categories.add(new CategoryItem(ExpenseViewModel.CATEGORY_ALL, R.drawable.ic_list));
         
-        categoryAdapter = new CategoryAdapter(requireContext(), categories, category -> {
-            currentCategory = category;
-            filterTransactions();
-        });
+        categoryAdapter = new CategoryAdapter(requireContext(), categories,
+                category -> viewModel.setDashboardCategory(category));
         binding.rvCategoryFilters.setLayoutManager(new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL, false));
         binding.rvCategoryFilters.setAdapter(categoryAdapter);
     }
 
-    private void observeData() {
-        String currency = preferenceManager.getCurrency();
-        long[] monthRange = DateUtils.getDateRangeForFilter(Constants.FILTER_MONTH);
-
-        // Observe total expenses
-        expenseRepository.getTotalExpenses(monthRange[0], monthRange[1]).observe(getViewLifecycleOwner(),
-                totalExpense -> {
-                    if (totalExpense != null) {
-                        binding.tvTotalExpense.setText(CurrencyUtils.formatAmount(totalExpense, currency));
-                        updateBalance();
-                    }
-                });
-
-        // Observe total income
-        expenseRepository.getTotalIncome(monthRange[0], monthRange[1]).observe(getViewLifecycleOwner(), totalIncome -> {
-            if (totalIncome != null) {
-                binding.tvTotalIncome.setText(CurrencyUtils.formatAmount(totalIncome, currency));
-                updateBalance();
+    /**
+     * Draw the last persisted state until the live queries answer.
+     */
+    private void showSnapshot() {
+        snapshotStore.load(snapshot -> {
+            if (binding == null || snapshot == null) {
+                return;
             }
-        });
-
-        // Observe recent transactions
-        expenseRepository.getByDateRange(monthRange[0], monthRange[1]).observe(getViewLifecycleOwner(), expenses -> {
-            if (expenses != null) {
-                allExpenses = expenses;
-                updateCategories(expenses); // Dynamic categories
-                filterTransactions();
-            } else {
-                allExpenses = new ArrayList<>();
-                updateCategories(new ArrayList<>());
-                filterTransactions();
+            if (!snapshot.isValidFor(authManager.getCurrentUserId(), viewModel.getMonthRange()[0], currency)) {
+                return;
+            }
+            if (!liveSummaryShown) {
+                showTotals(snapshot.getTotalIncome(), snapshot.getTotalExpense());
+            }
+            if (!liveRecentShown) {
+                showRows(snapshot.getRecent());
             }
         });
     }
 
+    /**
+     * Persist what is on screen once both live values are known. Only the
+     * unfiltered view is stored, since that is what a cold start shows.
+     */
+    private void saveSnapshot() {
+        ExpenseViewModel.MonthSummary summary = viewModel.getMonthSummary().getValue();
+        List<Expense> recent = viewModel.getDashboardRecent().getValue();
+        String category = viewModel.getDashboardCategory().getValue();
+        if (summary == null || recent == null || currency == null
+                || (category != null && !ExpenseViewModel.CATEGORY_ALL.equals(category))) {
+            return;
+        }
+
+        long monthStart = viewModel.getMonthRange()[0];
+        snapshotStore.save(new DashboardSnapshot(authManager.getCurrentUserId(), monthStart, currency,
+                summary.totalIncome, summary.totalExpense, recent));
+    }
+
+    private void observeData() {
+        // Amounts are formatted in the user's currency, so nothing is drawn until it is known
+        settingsStore.getCurrency().observe(getViewLifecycleOwner(), this::onCurrencyChanged);
+
+        // Month summary and recent rows come from the shared ViewModel, so the
+        // underlying query runs once per activity rather than once per tab visit
+        viewModel.getMonthSummary().observe(getViewLifecycleOwner(), this::showSummary);
+        viewModel.getMonthExpenses().observe(getViewLifecycleOwner(), this::updateCategories);
+        viewModel.getDashboardRecent().observe(getViewLifecycleOwner(), this::showRecent);
+    }
+
+    private void onCurrencyChanged(String newCurrency) {
+        boolean first = currency == null;
+        currency = newCurrency;
+        recentAdapter.setCurrency(newCurrency);
+        if (first) {
+            showSnapshot();
+        }
+        showSummary(viewModel.getMonthSummary().getValue());
+    }
+
+    private void showSummary(ExpenseViewModel.MonthSummary summary) {
+        if (summary == null || currency == null) {
+            return;
+        }
+
+        liveSummaryShown = true;
+        showTotals(summary.totalIncome, summary.totalExpense);
+        saveSnapshot();
+    }
+
+    private void showTotals(double totalIncome, double totalExpense) {
+        binding.tvTotalExpense.setText(CurrencyUtils.formatAmount(totalExpense, currency));
+        binding.tvTotalIncome.setText(CurrencyUtils.formatAmount(totalIncome, currency));
+
+        double balance = totalIncome - totalExpense;
+        // Format with space between sign and amount for design: "- $66.00"
+        String formattedBalance = CurrencyUtils.formatAmount(Math.abs(balance), currency);
+        if (balance < 0) {
+            binding.tvBalance.setText("- " + formattedBalance);
+        } else {
+            binding.tvBalance.setText(formattedBalance);
+        }
+    }
+
     private void updateCategories(List<Expense> expenses) {
+        if (expenses == null) {
+            expenses = new ArrayList<>();
+        }
+
         List<CategoryItem> categoryItems = new ArrayList<>();
         // Always add "All" first
-        categoryItems.add(new CategoryItem("All", R.drawable.ic_list));
+        categoryItems.add(new CategoryItem(ExpenseViewModel.CATEGORY_ALL, R.drawable.ic_list));
 
         // Get unique categories using Stream API
         List<String> uniqueCategories = expenses.stream()
@@ -172,7 +232,7 @@ public class DashboardFragment extends Fragment {
         }
 
         if (categoryAdapter != null) {
-            categoryAdapter.updateData(categoryItems);
+            categoryAdapter.updateData(categoryItems, viewModel.getDashboardCategory().getValue());
         }
     }
 
@@ -192,19 +252,17 @@ public class DashboardFragment extends Fragment {
         }
     }
 
-    private void filterTransactions() {
-        List<Expense> filtered;
-        if (currentCategory.equals("All")) {
-            filtered = new ArrayList<>(allExpenses);
-        } else {
-            filtered = allExpenses.stream()
-                    .filter(e -> currentCategory.equalsIgnoreCase(e.getCategory()))
-                    .collect(Collectors.toList());
+    private void showRecent(List<Expense> recent) {
+        if (recent == null) {
+            return;
         }
 
-        // Only show top 5 of filtered results for the dashboard
-        List<Expense> recent = filtered.size() > 5 ? filtered.subList(0, 5) : filtered;
-        
+        liveRecentShown = true;
+        showRows(recent);
+        saveSnapshot();
+    }
+
+    private void showRows(List<Expense> recent) {
         if (!recent.isEmpty()) {
             recentAdapter.updateData(recent);
             binding.rvRecentTransactions.setVisibility(View.VISIBLE);
@@ -215,28 +273,25 @@ public class DashboardFragment extends Fragment {
         }
     }
 
-    private void updateBalance() {
-        String currency = preferenceManager.getCurrency();
-
-        // Parse amounts from text views
-        String expenseText = binding.tvTotalExpense.getText().toString();
-        String incomeText = binding.tvTotalIncome.getText().toString();
-
-        double expense = CurrencyUtils.parseAmount(expenseText);
-        double income = CurrencyUtils.parseAmount(incomeText);
-
-        double balance = income - expense;
-        // Format with space between sign and amount for design: "- $66.00"
-        String formattedBalance = CurrencyUtils.formatAmount(Math.abs(balance), currency);
-        if (balance < 0) {
-            binding.tvBalance.setText("- " + formattedBalance);
-        } else {
-            binding.tvBalance.setText(formattedBalance);
+    public void refreshData() {
+        // Room pushes new rows and the settings store pushes currency changes; this
+        // only re-renders what is already loaded
+        if (binding != null) {
+            showSummary(viewModel.getMonthSummary().getValue());
+            List<Expense> recent = viewModel.getDashboardRecent().getValue();
+            if (recent != null) {
+                recentAdapter.updateData(recent);
+            }
         }
     }
 
-    public void refreshData() {
-        observeData();
+    @Override
+    public void onResume() {
+        super.onResume();
+        // The app can be left open across the end of a month
+        if (viewModel.refreshMonth()) {
+            binding.tvCurrentMonth.setText(DateUtils.formatMonthYear(viewModel.getMonthRange()[0]));
+        }
     }
 
     @Override
@@ -269,9 +324,19 @@ public class DashboardFragment extends Fragment {
             this.listener = listener;
         }
 
-        public void updateData(List<CategoryItem> newItems) {
+        public void updateData(List<CategoryItem> newItems, String selectedCategory) {
             this.items = newItems;
-            this.selectedPosition = 0; // Reset selection to All when data updates
+            // Keep the selection the ViewModel remembers, falling back to All
+            this.selectedPosition = 0;
+            for (int i = 0; i < newItems.size(); i++) {
+                if (newItems.get(i).name.equals(selectedCategory)) {
+                    selectedPosition = i;
+                    break;
+                }
+            }
+            if (selectedPosition == 0) {
+                viewModel.setDashboardCategory(ExpenseViewModel.CATEGORY_ALL);
+            }
             notifyDataSetChanged();
         }
 
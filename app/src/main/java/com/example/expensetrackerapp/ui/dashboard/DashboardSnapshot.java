@@ -0,0 +1,152 @@
+package com.example.expensetrackerapp.ui.dashboard;
+
+import androidx.annotation.Nullable;
+
+import com.example.expensetrackerapp.data.local.entity.Expense;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Last rendered dashboard state, persisted so a cold start can draw it before
+ * Room has answered. Only valid for the user, month and currency it was taken with.
+ */
+public final class DashboardSnapshot {
+
+    // "DSNP"; bump FORMAT_VERSION whenever the layout below changes
+    private static final int MAGIC = 0x44534E50;
+    private static final int FORMAT_VERSION = 2;
+
+    private final String userId;
+    private final long monthStart;
+    private final String currency;
+    private final double totalIncome;
+    private final double totalExpense;
+    private final List<Expense> recent;
+
+    public DashboardSnapshot(String userId, long monthStart, String currency, double totalIncome,
+            double totalExpense, List<Expense> recent) {
+        this.userId = userId;
+        this.monthStart = monthStart;
+        this.currency = currency;
+        this.totalIncome = totalIncome;
+        this.totalExpense = totalExpense;
+        this.recent = Collections.unmodifiableList(new ArrayList<>(recent));
+    }
+
+    /**
+     * Whether this snapshot still describes what the dashboard would show now.
+     */
+    public boolean isValidFor(String userId, long monthStart, String currency) {
+        return this.userId.equals(userId) && this.monthStart == monthStart && this.currency.equals(currency);
+    }
+
+    public double getTotalIncome() {
+        return totalIncome;
+    }
+
+    public double getTotalExpense() {
+        return totalExpense;
+    }
+
+    public double getBalance() {
+        return totalIncome - totalExpense;
+    }
+
+    /**
+     * Recent rows with only the fields the dashboard list displays.
+     */
+    public List<Expense> getRecent() {
+        return recent;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(userId);
+        out.writeLong(monthStart);
+        out.writeUTF(currency);
+        out.writeDouble(totalIncome);
+        out.writeDouble(totalExpense);
+
+        out.writeShort(recent.size());
+        for (Expense expense : recent) {
+            out.writeLong(expense.getId());
+            out.writeDouble(expense.getAmount());
+            out.writeLong(expense.getDate());
+            writeNullableUTF(out, expense.getCategory());
+            writeNullableUTF(out, expense.getNotes());
+            writeNullableUTF(out, expense.getType());
+        }
+    }
+
+    /**
+     * Read a snapshot, or null if it was written by another format version.
+     */
+    @Nullable
+    static DashboardSnapshot readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        String userId = in.readUTF();
+        long monthStart = in.readLong();
+        String currency = in.readUTF();
+        double totalIncome = in.readDouble();
+        double totalExpense = in.readDouble();
+
+        int count = in.readUnsignedShort();
+        List<Expense> recent = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Expense expense = new Expense();
+            expense.setId(in.readLong());
+            expense.setAmount(in.readDouble());
+            expense.setDate(in.readLong());
+            expense.setCategory(readNullableUTF(in));
+            expense.setNotes(readNullableUTF(in));
+            expense.setType(readNullableUTF(in));
+            expense.setUserId(userId);
+            recent.add(expense);
+        }
+        return new DashboardSnapshot(userId, monthStart, currency, totalIncome, totalExpense, recent);
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    @Nullable
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Same displayed content; used to skip rewriting an unchanged snapshot.
+     */
+    boolean hasSameContent(DashboardSnapshot other) {
+        if (other == null || !userId.equals(other.userId) || monthStart != other.monthStart
+                || !currency.equals(other.currency)
+                || totalIncome != other.totalIncome || totalExpense != other.totalExpense
+                || recent.size() != other.recent.size()) {
+            return false;
+        }
+        for (int i = 0; i < recent.size(); i++) {
+            Expense a = recent.get(i);
+            Expense b = other.recent.get(i);
+            if (a.getId() != b.getId() || a.getAmount() != b.getAmount() || a.getDate() != b.getDate()
+                    || !Objects.equals(a.getCategory(), b.getCategory())
+                    || !Objects.equals(a.getNotes(), b.getNotes())
+                    || !Objects.equals(a.getType(), b.getType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.expensetrackerapp.ui.dashboard;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reads and writes the {@link DashboardSnapshot} file off the main thread.
+ * Writes go to a temporary file that is renamed over the old one, so a crash
+ * mid-write never leaves a torn snapshot.
+ */
+public class DashboardSnapshotStore {
+
+    private static final String TAG = "DashboardSnapshotStore";
+    private static final String FILE_NAME = "dashboard_snapshot.bin";
+
+    public interface Callback {
+        void onLoaded(@Nullable DashboardSnapshot snapshot);
+    }
+
+    private static DashboardSnapshotStore instance;
+
+    private final File file;
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Guarded by this
+    private boolean loaded;
+    private DashboardSnapshot current;
+    private final List<Callback> waiting = new ArrayList<>();
+
+    private DashboardSnapshotStore(Context context) {
+        file = new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+    }
+
+    public static synchronized DashboardSnapshotStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new DashboardSnapshotStore(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Start reading the file so a later {@link #load} answers from memory.
+     */
+    public void preload() {
+        ioExecutor.execute(this::readIfNeeded);
+    }
+
+    /**
+     * Deliver the stored snapshot on the main thread; synchronously when already read.
+     */
+    public void load(Callback callback) {
+        synchronized (this) {
+            if (loaded) {
+                callback.onLoaded(current);
+                return;
+            }
+            waiting.add(callback);
+        }
+        ioExecutor.execute(this::readIfNeeded);
+    }
+
+    private void readIfNeeded() {
+        synchronized (this) {
+            if (loaded) {
+                // A save or clear got here first; callers still waiting take that
+                deliverWaiting();
+                return;
+            }
+        }
+
+        DashboardSnapshot snapshot = null;
+        if (file.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                snapshot = DashboardSnapshot.readFrom(in);
+            } catch (IOException e) {
+                Log.w(TAG, "Discarding unreadable snapshot", e);
+            }
+        }
+
+        synchronized (this) {
+            // A save or clear while the file was read is newer than the file
+            if (!loaded) {
+                loaded = true;
+                current = snapshot;
+            }
+            deliverWaiting();
+        }
+    }
+
+    /**
+     * Hand the current snapshot to every waiting callback. Called with the lock held.
+     */
+    private void deliverWaiting() {
+        DashboardSnapshot result = current;
+        for (Callback callback : waiting) {
+            mainHandler.post(() -> callback.onLoaded(result));
+        }
+        waiting.clear();
+    }
+
+    /**
+     * Persist the snapshot unless it matches what is already stored.
+     */
+    public void save(DashboardSnapshot snapshot) {
+        synchronized (this) {
+            if (snapshot.hasSameContent(current)) {
+                return;
+            }
+            current = snapshot;
+            loaded = true;
+        }
+
+        ioExecutor.execute(() -> {
+            File temp = new File(file.getPath() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                snapshot.writeTo(out);
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to write snapshot", e);
+                temp.delete();
+                return;
+            }
+            if (!temp.renameTo(file)) {
+                Log.w(TAG, "Failed to replace snapshot");
+                temp.delete();
+            }
+        });
+    }
+
+    /**
+     * Forget the stored snapshot, e.g. on sign-out.
+     */
+    public void clear() {
+        synchronized (this) {
+            current = null;
+            loaded = true;
+        }
+        ioExecutor.execute(file::delete);
+    }
+
+    /**
+     * Like {@link #clear}, but returns once the file is gone; for callers about to
+     * end the process. Must be called off the main thread.
+     */
+    public void clearSync() {
+        synchronized (this) {
+            current = null;
+            loaded = true;
+        }
+        try {
+            ioExecutor.submit(file::delete).get();
+        } catch (ExecutionException e) {
+            Log.w(TAG, "Failed to delete snapshot", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.expensetrackerapp.ui.debug;
+
+import android.os.Debug;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.expensetrackerapp.utils.CurrencyUtils;
+
+/**
+ * Logs how much the process allocated during each scroll gesture on a list,
+ * a fling included, along with how many amounts were formatted meanwhile.
+ * Filter logcat by the "ScrollAllocation" tag while scrolling to read it.
+ * Attach it in debuggable builds only; it turns on amount counting.
+ */
+public class ScrollAllocationProbe extends RecyclerView.OnScrollListener {
+
+    private static final String TAG = "ScrollAllocation";
+
+    private final String listName;
+    private boolean measuring;
+    private long startBytes;
+    private long startMillis;
+    private long startFormats;
+    private long startFastPath;
+
+    public ScrollAllocationProbe(String listName) {
+        this.listName = listName;
+        CurrencyUtils.setCounting(true);
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_DRAGGING && !measuring) {
+            measuring = true;
+            startBytes = allocatedBytes();
+            startMillis = SystemClock.uptimeMillis();
+            startFormats = CurrencyUtils.getFormatCount();
+            startFastPath = CurrencyUtils.getFastPathCount();
+        } else if (newState == RecyclerView.SCROLL_STATE_IDLE && measuring) {
+            measuring = false;
+            long elapsedMillis = Math.max(1, SystemClock.uptimeMillis() - startMillis);
+            long allocatedKb = (allocatedBytes() - startBytes) / 1024;
+            long formats = CurrencyUtils.getFormatCount() - startFormats;
+            long fastPath = CurrencyUtils.getFastPathCount() - startFastPath;
+            Log.d(TAG, listName + ": " + elapsedMillis + "ms, " + allocatedKb + " KB allocated ("
+                    + (allocatedKb * 1000 / elapsedMillis) + " KB/s), " + formats + " amounts formatted, "
+                    + fastPath + " on the fast path");
+        }
+    }
+
+    // Process-wide total since start; differences give the allocation over a window
+    private static long allocatedBytes() {
+        try {
+            return Long.parseLong(Debug.getRuntimeStat("art.gc.bytes-allocated"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
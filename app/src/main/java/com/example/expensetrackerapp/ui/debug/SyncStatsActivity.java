@@ -0,0 +1,47 @@
+package com.example.expensetrackerapp.ui.debug;
+
+import android.os.Bundle;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.expensetrackerapp.data.remote.CloudTelemetry;
+import com.example.expensetrackerapp.databinding.ActivitySyncStatsBinding;
+
+/**
+ * Debug screen showing Firestore read/write counts and sync latency for the session.
+ */
+public class SyncStatsActivity extends AppCompatActivity {
+
+    private ActivitySyncStatsBinding binding;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        binding = ActivitySyncStatsBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        binding.btnBack.setOnClickListener(v -> finish());
+        binding.btnRefresh.setOnClickListener(v -> showSnapshot());
+        binding.btnReset.setOnClickListener(v -> {
+            CloudTelemetry.getInstance().reset();
+            showSnapshot();
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showSnapshot();
+    }
+
+    private void showSnapshot() {
+        binding.tvStats.setText(CloudTelemetry.getInstance().getSnapshot().format());
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        binding = null;
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.expensetrackerapp.ui.profile;
 
 import android.app.Dialog;
+import android.content.Context;
 import android.content.Intent;
 import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
+import android.net.Uri;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -15,24 +17,46 @@ import android.widget.RadioGroup;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.work.Data;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
 
+import com.example.expensetrackerapp.ExpenseTrackerApp;
 import com.example.expensetrackerapp.R;
 import com.example.expensetrackerapp.auth.AuthManager;
 import com.example.expensetrackerapp.auth.LoginActivity;
+import com.example.expensetrackerapp.data.backup.DatabaseSnapshotter;
+import com.example.expensetrackerapp.data.export.ExportWorker;
+import com.example.expensetrackerapp.data.export.ReportCache;
+import com.example.expensetrackerapp.data.local.AppDatabase;
+import com.example.expensetrackerapp.data.repository.BackupRepository;
+import com.example.expensetrackerapp.data.repository.ExpenseRepository;
 import com.example.expensetrackerapp.data.repository.UserRepository;
+import com.example.expensetrackerapp.data.sync.AccountWipeWorker;
 import com.example.expensetrackerapp.databinding.FragmentProfileBinding;
+import com.example.expensetrackerapp.ui.dashboard.DashboardSnapshotStore;
+import com.example.expensetrackerapp.ui.debug.SyncStatsActivity;
 import com.example.expensetrackerapp.utils.Constants;
 import com.example.expensetrackerapp.utils.CurrencyUtils;
+import com.example.expensetrackerapp.utils.DateUtils;
 import com.example.expensetrackerapp.utils.PreferenceManager;
+import com.example.expensetrackerapp.utils.SettingsStore;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.card.MaterialCardView;
 
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.util.List;
+
 /**
  * Profile Fragment for user settings and account management.
  */
@@ -42,6 +66,14 @@ public class ProfileFragment extends Fragment {
     private AuthManager authManager;
     private UserRepository userRepository;
     private PreferenceManager preferenceManager;
+    private SettingsStore settingsStore;
+
+    // Set while an export or wipe job is seen running, so older finished jobs are not reported
+    private boolean exportRunning;
+    private boolean wipeRunning;
+
+    private final ActivityResultLauncher<String[]> restorePicker =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(), this::confirmRestore);
 
     @Nullable
     @Override
@@ -58,10 +90,13 @@ public class ProfileFragment extends Fragment {
         authManager = AuthManager.getInstance();
         userRepository = UserRepository.getInstance(requireContext());
         preferenceManager = PreferenceManager.getInstance(requireContext());
+        settingsStore = SettingsStore.getInstance(requireContext());
 
         setupUI();
         setupClickListeners();
         observeProfile();
+        observeExport();
+        observeAccountWipe();
     }
 
     private void setupUI() {
@@ -96,8 +131,7 @@ public class ProfileFragment extends Fragment {
         }
 
         // Set current currency
-        String currency = preferenceManager.getCurrency();
-        binding.tvCurrencyValue.setText(currency);
+        settingsStore.getCurrency().observe(getViewLifecycleOwner(), binding.tvCurrencyValue::setText);
     }
 
     private void setupClickListeners() {
@@ -113,7 +147,7 @@ public class ProfileFragment extends Fragment {
         binding.cardTheme.setOnClickListener(v -> showThemeDialog());
 
         // Export data
-        binding.cardExport.setOnClickListener(v -> Toast.makeText(requireContext(), "Coming soon", Toast.LENGTH_SHORT).show());
+        binding.cardExport.setOnClickListener(v -> showExportDialog());
 
         // App lock
         binding.cardAppLock.setOnClickListener(v -> {
@@ -138,6 +172,14 @@ public class ProfileFragment extends Fragment {
             startActivity(new Intent(requireContext(), LoginActivity.class));
             requireActivity().finish();
         });
+
+        // Sync stats (debuggable builds only)
+        if (ExpenseTrackerApp.isDebuggable()) {
+            binding.tvUserEmail.setOnLongClickListener(v -> {
+                startActivity(new Intent(requireContext(), SyncStatsActivity.class));
+                return true;
+            });
+        }
     }
 
     private void observeProfile() {
@@ -168,11 +210,12 @@ public class ProfileFragment extends Fragment {
 
         String[] currencies = CurrencyUtils.getCurrencyDisplayNames();
         String[] currencyCodes = CurrencyUtils.getSupportedCurrencies();
-        String currentCurrency = preferenceManager.getCurrency();
+        String currentCurrency = settingsStore.getCurrency().getValue();
 
         CurrencyAdapter adapter = new CurrencyAdapter(currencyCodes, currencies, currentCurrency, code -> {
-            preferenceManager.setCurrency(code);
-            binding.tvCurrencyValue.setText(code);
+            // Change both copies so the profile's newer timestamp does not undo the choice
+            settingsStore.setCurrency(code);
+            userRepository.updateCurrency(code, null);
             Toast.makeText(requireContext(), R.string.profile_updated, Toast.LENGTH_SHORT).show();
             dialog.dismiss();
         });
@@ -268,6 +311,7 @@ public class ProfileFragment extends Fragment {
         btnConfirm.setOnClickListener(v -> {
             dialog.dismiss();
             authManager.signOut();
+            clearAccountCaches();
             startActivity(new Intent(requireContext(), LoginActivity.class));
             requireActivity().finish();
         });
@@ -302,19 +346,251 @@ public class ProfileFragment extends Fragment {
 
         btnConfirm.setOnClickListener(v -> {
             dialog.dismiss();
-            authManager.deleteAccount().addOnCompleteListener(task -> {
-                if (task.isSuccessful()) {
-                    startActivity(new Intent(requireContext(), LoginActivity.class));
-                    requireActivity().finish();
-                } else {
-                    Toast.makeText(requireContext(), R.string.error_generic, Toast.LENGTH_SHORT).show();
-                }
-            });
+            startAccountWipe();
         });
 
         dialog.show();
     }
 
+    /**
+     * Wipe cloud and local data, then delete the account, in a resumable background job.
+     */
+    private void startAccountWipe() {
+        binding.btnDeleteAccount.setEnabled(false);
+        Toast.makeText(requireContext(), R.string.deleting_account, Toast.LENGTH_SHORT).show();
+
+        AccountWipeWorker.enqueue(requireContext(), authManager.getCurrentUserId());
+    }
+
+    /**
+     * Follow the wipe by its unique name, so one queued before this screen opened
+     * (a retry, or one resumed after a restart) is still seen through.
+     */
+    private void observeAccountWipe() {
+        wipeRunning = false;
+        WorkManager.getInstance(requireContext())
+                .getWorkInfosForUniqueWorkLiveData(Constants.WORK_NAME_ACCOUNT_WIPE)
+                .observe(getViewLifecycleOwner(), workInfos -> {
+                    if (workInfos == null || workInfos.isEmpty()) {
+                        return;
+                    }
+
+                    WorkInfo workInfo = workInfos.get(0);
+                    if (!workInfo.getState().isFinished()) {
+                        wipeRunning = true;
+                        binding.btnDeleteAccount.setEnabled(false);
+                        return;
+                    }
+                    // A wipe that finished before this screen saw it run was already handled
+                    if (!wipeRunning) {
+                        return;
+                    }
+                    wipeRunning = false;
+
+                    if (workInfo.getState() == WorkInfo.State.SUCCEEDED) {
+                        clearAccountCaches();
+                        startActivity(new Intent(requireContext(), LoginActivity.class));
+                        requireActivity().finish();
+                    } else if (AccountWipeWorker.ERROR_REAUTH_REQUIRED.equals(
+                            workInfo.getOutputData().getString(AccountWipeWorker.KEY_ERROR))) {
+                        Toast.makeText(requireContext(), R.string.error_reauth_to_delete, Toast.LENGTH_LONG).show();
+                        authManager.signOut();
+                        clearAccountCaches();
+                        startActivity(new Intent(requireContext(), LoginActivity.class));
+                        requireActivity().finish();
+                    } else {
+                        binding.btnDeleteAccount.setEnabled(true);
+                        Toast.makeText(requireContext(), R.string.error_generic, Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
+
+    /**
+     * Drop the dashboard snapshot and cached reports of the account being left.
+     */
+    private void clearAccountCaches() {
+        DashboardSnapshotStore.getInstance(requireContext()).clear();
+        ReportCache reportCache = ReportCache.getInstance(requireContext());
+        AppDatabase.databaseWriteExecutor.execute(reportCache::clear);
+    }
+
+    private void showExportDialog() {
+        String[] options = {
+                getString(R.string.export_csv),
+                getString(R.string.export_pdf),
+                getString(R.string.export_backup),
+                getString(R.string.restore_backup),
+                getString(R.string.restore_device_backup)
+        };
+        new com.google.android.material.dialog.MaterialAlertDialogBuilder(requireContext())
+                .setTitle(R.string.export_data)
+                .setItems(options, (dialog, which) -> {
+                    switch (which) {
+                        case 0:
+                            startExport(ExportWorker.FORMAT_CSV);
+                            break;
+                        case 1:
+                            startExport(ExportWorker.FORMAT_PDF);
+                            break;
+                        case 2:
+                            startExport(ExportWorker.FORMAT_BACKUP);
+                            break;
+                        case 3:
+                            // Backups have no registered MIME type
+                            restorePicker.launch(new String[] { "*/*" });
+                            break;
+                        default:
+                            showDeviceBackupsDialog();
+                    }
+                })
+                .show();
+    }
+
+    private void showDeviceBackupsDialog() {
+        BackupRepository backupRepository = BackupRepository.getInstance(requireContext());
+        List<File> backups = backupRepository.getDatabaseBackups();
+        if (backups.isEmpty()) {
+            Toast.makeText(requireContext(), R.string.no_device_backups, Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        String[] labels = new String[backups.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = DateUtils.formatDateTime(DatabaseSnapshotter.getTimestamp(backups.get(i)));
+        }
+        new com.google.android.material.dialog.MaterialAlertDialogBuilder(requireContext())
+                .setTitle(R.string.restore_device_backup)
+                .setItems(labels, (dialog, which) ->
+                        confirmDeviceRestore(backupRepository, backups.get(which), labels[which]))
+                .show();
+    }
+
+    private void confirmDeviceRestore(BackupRepository backupRepository, File backup, String label) {
+        new com.google.android.material.dialog.MaterialAlertDialogBuilder(requireContext())
+                .setTitle(R.string.restore_device_backup)
+                .setMessage(getString(R.string.restore_device_backup_message, label))
+                .setNegativeButton(R.string.cancel, null)
+                .setPositiveButton(R.string.restore, (dialog, which) -> restoreDeviceBackup(backupRepository, backup))
+                .show();
+    }
+
+    /**
+     * Stage a stored copy of the whole database, then restart the app so it is
+     * swapped in before anything opens the database again.
+     */
+    private void restoreDeviceBackup(BackupRepository backupRepository, File backup) {
+        Context appContext = requireContext().getApplicationContext();
+        backupRepository.restoreDatabase(backup, new BackupRepository.OnOperationCompleteListener() {
+            @Override
+            public void onSuccess() {
+                DashboardSnapshotStore.getInstance(appContext).clearSync();
+                ExpenseTrackerApp.restart(appContext);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                if (isAdded()) {
+                    requireActivity().runOnUiThread(() -> Toast.makeText(requireContext(),
+                            R.string.restore_failed, Toast.LENGTH_SHORT).show());
+                }
+            }
+        });
+    }
+
+    private void confirmRestore(@Nullable Uri uri) {
+        if (uri == null) {
+            return;
+        }
+        new com.google.android.material.dialog.MaterialAlertDialogBuilder(requireContext())
+                .setTitle(R.string.restore_backup)
+                .setMessage(R.string.restore_backup_message)
+                .setNegativeButton(R.string.cancel, null)
+                .setPositiveButton(R.string.restore, (dialog, which) -> restoreBackup(uri))
+                .show();
+    }
+
+    /**
+     * Replace the user's data with a backup's, then bring the currency setting
+     * in line with the restored profile.
+     */
+    private void restoreBackup(Uri uri) {
+        InputStream in;
+        try {
+            in = requireContext().getContentResolver().openInputStream(uri);
+        } catch (FileNotFoundException e) {
+            in = null;
+        }
+        if (in == null) {
+            Toast.makeText(requireContext(), R.string.restore_failed, Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        ExpenseRepository.getInstance(requireContext()).restoreBackup(in,
+                new ExpenseRepository.OnSyncCompleteListener() {
+                    @Override
+                    public void onSuccess(int restoredCount) {
+                        settingsStore.reconcile(userRepository.getProfileSync());
+                        if (isAdded()) {
+                            requireActivity().runOnUiThread(() -> Toast.makeText(requireContext(),
+                                    getString(R.string.backup_restored, restoredCount), Toast.LENGTH_LONG).show());
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        if (isAdded()) {
+                            requireActivity().runOnUiThread(() -> Toast.makeText(requireContext(),
+                                    R.string.restore_failed, Toast.LENGTH_SHORT).show());
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Export all of the user's transactions in a background job.
+     */
+    private void startExport(String format) {
+        // The unique work keeps a running export, so a second request would be dropped silently
+        if (exportRunning) {
+            Toast.makeText(requireContext(), R.string.export_already_running, Toast.LENGTH_SHORT).show();
+            return;
+        }
+        ExportWorker.enqueue(requireContext(), authManager.getCurrentUserId(), 0, Long.MAX_VALUE, format);
+        Toast.makeText(requireContext(), R.string.export_started, Toast.LENGTH_SHORT).show();
+    }
+
+    private void observeExport() {
+        exportRunning = false;
+        WorkManager.getInstance(requireContext())
+                .getWorkInfosForUniqueWorkLiveData(Constants.WORK_NAME_EXPORT)
+                .observe(getViewLifecycleOwner(), workInfos -> {
+                    if (workInfos == null || workInfos.isEmpty()) {
+                        return;
+                    }
+
+                    WorkInfo workInfo = workInfos.get(0);
+                    if (!workInfo.getState().isFinished()) {
+                        exportRunning = true;
+                        binding.cardExport.setEnabled(false);
+                        return;
+                    }
+
+                    binding.cardExport.setEnabled(true);
+                    if (!exportRunning) {
+                        return;
+                    }
+                    exportRunning = false;
+                    if (workInfo.getState() == WorkInfo.State.SUCCEEDED) {
+                        Data output = workInfo.getOutputData();
+                        Toast.makeText(requireContext(), getString(R.string.export_saved,
+                                output.getInt(ExportWorker.KEY_ROW_COUNT, 0),
+                                output.getString(ExportWorker.KEY_FILE_PATH)), Toast.LENGTH_LONG).show();
+                    } else if (workInfo.getState() == WorkInfo.State.FAILED) {
+                        Toast.makeText(requireContext(), R.string.error_generic, Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
+
     // Inner class for Currency Adapter
     private static class CurrencyAdapter extends RecyclerView.Adapter<CurrencyAdapter.CurrencyViewHolder> {
         private final String[] codes;
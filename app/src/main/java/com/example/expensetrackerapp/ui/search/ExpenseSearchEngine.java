@@ -0,0 +1,213 @@
+package com.example.expensetrackerapp.ui.search;
+
+import android.content.Context;
+import android.os.CancellationSignal;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.OperationCanceledException;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+
+import com.example.expensetrackerapp.ExpenseTrackerApp;
+import com.example.expensetrackerapp.data.local.AppDatabase;
+import com.example.expensetrackerapp.data.local.entity.Expense;
+import com.example.expensetrackerapp.data.repository.ExpenseRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Debounced search over notes, category and amount. Each keystroke restarts the
+ * debounce; a query that starts cancels the one still running. A query with both
+ * an amount and words returns only rows matching both, found through the amount
+ * index. Results are ranked and delivered on the main thread.
+ */
+public class ExpenseSearchEngine {
+
+    private static final String TAG = "ExpenseSearchEngine";
+
+    private static final long DEBOUNCE_MS = 250;
+    private static final int RESULT_LIMIT = 100;
+
+    // Ranking weights
+    private static final int SCORE_AMOUNT = 4;
+    private static final int SCORE_CATEGORY_EXACT = 3;
+    private static final int SCORE_CATEGORY_PREFIX = 2;
+    private static final int SCORE_TEXT = 1;
+
+    public interface Listener {
+        void onResults(String query, List<Expense> results);
+    }
+
+    private final ExpenseRepository expenseRepository;
+    private final AppDatabase database;
+    private final Listener listener;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private SearchQuery pendingQuery;
+    private SearchQuery currentQuery;
+    private CancellationSignal inFlight;
+    private int generation;
+    private boolean released;
+
+    private final Runnable runPending = this::runPendingQuery;
+
+    private final InvalidationTracker.Observer expensesObserver =
+            new InvalidationTracker.Observer("expenses") {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    // Re-run the visible query so edits made from the results show up
+                    // Can arrive after release, once the executor is shut down
+                    mainHandler.post(() -> {
+                        if (!released && currentQuery != null && !currentQuery.isEmpty()) {
+                            start(currentQuery);
+                        }
+                    });
+                }
+            };
+
+    public ExpenseSearchEngine(Context context, Listener listener) {
+        this.expenseRepository = ExpenseRepository.getInstance(context);
+        this.database = AppDatabase.getInstance(context);
+        this.listener = listener;
+        database.getInvalidationTracker().addObserver(expensesObserver);
+    }
+
+    /**
+     * Schedule a search for the input; an empty input clears the results immediately.
+     */
+    public void setQuery(String input) {
+        SearchQuery query = SearchQuery.parse(input);
+        mainHandler.removeCallbacks(runPending);
+
+        if (query.isEmpty()) {
+            cancelInFlight();
+            generation++;
+            currentQuery = query;
+            listener.onResults(query.getRaw(), Collections.emptyList());
+            return;
+        }
+
+        pendingQuery = query;
+        mainHandler.postDelayed(runPending, DEBOUNCE_MS);
+    }
+
+    private void runPendingQuery() {
+        if (pendingQuery != null) {
+            start(pendingQuery);
+            pendingQuery = null;
+        }
+    }
+
+    private void start(SearchQuery query) {
+        if (released) {
+            return;
+        }
+        cancelInFlight();
+        CancellationSignal signal = new CancellationSignal();
+        inFlight = signal;
+        currentQuery = query;
+        int requestGeneration = ++generation;
+
+        executor.execute(() -> {
+            long startTime = SystemClock.elapsedRealtime();
+            try {
+                List<Expense> matches;
+                if (query.hasAmount() && query.getText() != null) {
+                    matches = expenseRepository.searchAmountAndTextSync(query.getMinAmount(),
+                            query.getMaxAmount(), query.getLikePattern(), RESULT_LIMIT, signal);
+                } else if (query.hasAmount()) {
+                    matches = expenseRepository.searchAmountSync(query.getMinAmount(), query.getMaxAmount(),
+                            RESULT_LIMIT, signal);
+                } else {
+                    matches = expenseRepository.searchTextSync(query.getLikePattern(), RESULT_LIMIT, signal);
+                }
+
+                post(requestGeneration, query, rank(query, matches));
+                if (ExpenseTrackerApp.isDebuggable()) {
+                    Log.d(TAG, "Search returned " + matches.size() + " rows in "
+                            + (SystemClock.elapsedRealtime() - startTime) + "ms");
+                }
+            } catch (OperationCanceledException e) {
+                // Superseded by a newer query
+            }
+        });
+    }
+
+    private void post(int requestGeneration, SearchQuery query, List<Expense> results) {
+        mainHandler.post(() -> {
+            if (requestGeneration == generation) {
+                listener.onResults(query.getRaw(), results);
+            }
+        });
+    }
+
+    private void cancelInFlight() {
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+    }
+
+    /**
+     * Order matches by score, then newest first.
+     */
+    private static List<Expense> rank(SearchQuery query, List<Expense> matches) {
+        String text = query.getLowerText();
+        List<Expense> ranked = new ArrayList<>(matches);
+        Map<Long, Integer> scores = new HashMap<>();
+        for (Expense expense : ranked) {
+            scores.put(expense.getId(), score(query, text, expense));
+        }
+
+        Collections.sort(ranked, (a, b) -> {
+            int byScore = Integer.compare(scores.get(b.getId()), scores.get(a.getId()));
+            return byScore != 0 ? byScore : Long.compare(b.getDate(), a.getDate());
+        });
+        return ranked;
+    }
+
+    private static int score(SearchQuery query, String text, Expense expense) {
+        int score = 0;
+        if (query.matchesAmount(expense.getAmount())) {
+            score += SCORE_AMOUNT;
+        }
+        if (text != null) {
+            String category = expense.getCategory() != null
+                    ? expense.getCategory().toLowerCase(Locale.getDefault()) : "";
+            String notes = expense.getNotes() != null
+                    ? expense.getNotes().toLowerCase(Locale.getDefault()) : "";
+            if (category.equals(text)) {
+                score += SCORE_CATEGORY_EXACT;
+            } else if (category.startsWith(text)) {
+                score += SCORE_CATEGORY_PREFIX;
+            } else if (category.contains(text) || notes.contains(text)) {
+                score += SCORE_TEXT;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Cancel pending work and stop observing the database.
+     */
+    public void release() {
+        released = true;
+        mainHandler.removeCallbacksAndMessages(null);
+        cancelInFlight();
+        generation++;
+        database.getInvalidationTracker().removeObserver(expensesObserver);
+        executor.shutdownNow();
+    }
+}
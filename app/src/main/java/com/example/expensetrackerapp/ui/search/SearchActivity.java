@@ -0,0 +1,87 @@
+package com.example.expensetrackerapp.ui.search;
+
+import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+
+import com.example.expensetrackerapp.R;
+import com.example.expensetrackerapp.data.local.entity.Expense;
+import com.example.expensetrackerapp.databinding.ActivitySearchBinding;
+import com.example.expensetrackerapp.ui.transactions.AddExpenseBottomSheet;
+import com.example.expensetrackerapp.ui.transactions.TransactionAdapter;
+import com.example.expensetrackerapp.utils.SettingsStore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search screen for transactions by notes, category and amount.
+ */
+public class SearchActivity extends AppCompatActivity {
+
+    private ActivitySearchBinding binding;
+    private TransactionAdapter adapter;
+    private ExpenseSearchEngine searchEngine;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        binding = ActivitySearchBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        binding.btnBack.setOnClickListener(v -> finish());
+
+        adapter = new TransactionAdapter(this, new ArrayList<>(), expense -> {
+            AddExpenseBottomSheet bottomSheet = AddExpenseBottomSheet.newInstance(expense.getId());
+            bottomSheet.show(getSupportFragmentManager(), "EditExpenseBottomSheet");
+        });
+        binding.rvResults.setLayoutManager(new LinearLayoutManager(this));
+        binding.rvResults.setAdapter(adapter);
+        SettingsStore.getInstance(this).getCurrency().observe(this, adapter::setCurrency);
+
+        searchEngine = new ExpenseSearchEngine(this, this::showResults);
+
+        binding.etSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                searchEngine.setQuery(s.toString());
+            }
+        });
+        binding.etSearch.requestFocus();
+    }
+
+    private void showResults(String query, List<Expense> results) {
+        adapter.updateData(results);
+
+        boolean empty = results.isEmpty();
+        binding.rvResults.setVisibility(empty ? View.GONE : View.VISIBLE);
+        binding.tvEmpty.setVisibility(empty ? View.VISIBLE : View.GONE);
+        if (empty) {
+            if (query.isEmpty()) {
+                binding.tvEmpty.setText(R.string.search_prompt);
+            } else {
+                binding.tvEmpty.setText(getString(R.string.search_no_results, query));
+            }
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        searchEngine.release();
+        binding = null;
+    }
+}
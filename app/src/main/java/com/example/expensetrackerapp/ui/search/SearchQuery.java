@@ -0,0 +1,132 @@
+package com.example.expensetrackerapp.ui.search;
+
+import androidx.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Parsed search input. A numeric token becomes an amount range and the remaining
+ * words are matched against notes and category; "food 12.50" finds rows matching both.
+ */
+final class SearchQuery {
+
+    private final String raw;
+    @Nullable
+    private final String text;
+    private final double minAmount;
+    private final double maxAmount;
+    private final boolean hasAmount;
+
+    private SearchQuery(String raw, @Nullable String text, boolean hasAmount, double minAmount, double maxAmount) {
+        this.raw = raw;
+        this.text = text;
+        this.hasAmount = hasAmount;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+    }
+
+    /**
+     * Split the input into text and amount parts. A whole number matches every
+     * amount within that unit ("12" finds 12.00 to 12.99); a decimal matches the
+     * amount to the cent.
+     */
+    static SearchQuery parse(String input) {
+        String raw = input != null ? input.trim() : "";
+        StringBuilder text = new StringBuilder();
+        BigDecimal amount = null;
+
+        for (String token : raw.split("\\s+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            BigDecimal number = amount == null ? parseAmount(token) : null;
+            if (number != null) {
+                amount = number;
+            } else {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(token);
+            }
+        }
+
+        String words = text.length() > 0 ? text.toString() : null;
+        if (amount == null) {
+            return new SearchQuery(raw, words, false, 0, 0);
+        }
+        double value = amount.doubleValue();
+        double width = amount.scale() <= 0 ? 1 : 0.01;
+        // Shifted down half a cent to absorb floating point storage error
+        return new SearchQuery(raw, words, true, value - 0.005, value + width - 0.005);
+    }
+
+    /**
+     * The amount in a token such as "12", "12.50", "12,5", "1,250" or "1,25,000.50",
+     * or null. A final separator with one or two digits after it is the decimal
+     * point; any other comma or dot groups digits.
+     */
+    @Nullable
+    private static BigDecimal parseAmount(String token) {
+        String cleaned = token.replaceAll("^[^0-9.,]+", "");
+        int last = Math.max(cleaned.lastIndexOf('.'), cleaned.lastIndexOf(','));
+        String whole = cleaned;
+        String fraction = "";
+        int fractionLength = cleaned.length() - last - 1;
+        if (last >= 0 && fractionLength >= 1 && fractionLength <= 2) {
+            whole = cleaned.substring(0, last);
+            fraction = cleaned.substring(last);
+        }
+        if ((whole.isEmpty() && fraction.isEmpty())
+                || !whole.matches("\\d*|\\d{1,3}([.,]\\d{2,3})+")
+                || !fraction.matches("|[.,]\\d{1,2}")) {
+            return null;
+        }
+        try {
+            return new BigDecimal(whole.replaceAll("[.,]", "") + fraction.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    boolean isEmpty() {
+        return text == null && !hasAmount;
+    }
+
+    String getRaw() {
+        return raw;
+    }
+
+    @Nullable
+    String getText() {
+        return text;
+    }
+
+    boolean hasAmount() {
+        return hasAmount;
+    }
+
+    double getMinAmount() {
+        return minAmount;
+    }
+
+    double getMaxAmount() {
+        return maxAmount;
+    }
+
+    /**
+     * LIKE pattern for the text part, with wildcards in the input escaped.
+     */
+    String getLikePattern() {
+        String escaped = text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    boolean matchesAmount(double amount) {
+        return hasAmount && amount >= minAmount && amount < maxAmount;
+    }
+
+    String getLowerText() {
+        return text != null ? text.toLowerCase(Locale.getDefault()) : null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.expensetrackerapp.ui.shared;
+
+import com.example.expensetrackerapp.ui.analytics.AnalyticsPeriod;
+import com.example.expensetrackerapp.utils.Constants;
+
+import java.util.Objects;
+
+/**
+ * Immutable filter state for the analytics screen.
+ */
+public final class AnalyticsFilter {
+
+    private final String type;
+    private final AnalyticsPeriod period;
+
+    public AnalyticsFilter(String type, AnalyticsPeriod period) {
+        this.type = type;
+        this.period = period;
+    }
+
+    public static AnalyticsFilter initial() {
+        return new AnalyticsFilter(Constants.TYPE_EXPENSE, AnalyticsPeriod.current(AnalyticsPeriod.Unit.MONTH));
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public AnalyticsPeriod getPeriod() {
+        return period;
+    }
+
+    public boolean isIncome() {
+        return Constants.TYPE_INCOME.equals(type);
+    }
+
+    public AnalyticsFilter withType(String type) {
+        return new AnalyticsFilter(type, period);
+    }
+
+    public AnalyticsFilter withPeriod(AnalyticsPeriod period) {
+        return new AnalyticsFilter(type, period);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AnalyticsFilter)) return false;
+        AnalyticsFilter that = (AnalyticsFilter) o;
+        return type.equals(that.type) && period.equals(that.period);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, period);
+    }
+}
@@ -0,0 +1,409 @@
+package com.example.expensetrackerapp.ui.shared;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+
+import com.example.expensetrackerapp.data.local.entity.Expense;
+import com.example.expensetrackerapp.data.repository.ExpenseRepository;
+import com.example.expensetrackerapp.ui.analytics.AnalyticsLoader;
+import com.example.expensetrackerapp.ui.analytics.AnalyticsPeriod;
+import com.example.expensetrackerapp.ui.analytics.AnalyticsResult;
+import com.example.expensetrackerapp.ui.transactions.TimelineGrouping;
+import com.example.expensetrackerapp.ui.transactions.TimelineItem;
+import com.example.expensetrackerapp.ui.transactions.TransactionTimeline;
+import com.example.expensetrackerapp.utils.Constants;
+import com.example.expensetrackerapp.utils.DateUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Activity-scoped ViewModel shared by the Dashboard, Transactions and Analytics tabs.
+ * Owns one cached Room query per date filter and hands out derived views of it,
+ * so switching tabs or rotating the device does not re-query the database.
+ * Screens call the refresh methods on resume so the queries follow the clock.
+ */
+public class ExpenseViewModel extends AndroidViewModel {
+
+    private static final int RECENT_LIMIT = 5;
+    public static final String CATEGORY_ALL = "All";
+
+    private final ExpenseRepository expenseRepository;
+
+    // Live queries per date filter, replaced once the filter's range has moved on
+    private final Map<Integer, RangeQuery> rangeCache = new HashMap<>();
+
+    // Recomputed by refreshMonth when the month rolls over
+    private final MutableLiveData<long[]> monthRange = new MutableLiveData<>();
+    private final LiveData<List<Expense>> monthExpenses;
+    private final LiveData<MonthSummary> monthSummary;
+
+    // Dashboard state
+    private final MutableLiveData<String> dashboardCategory = new MutableLiveData<>(CATEGORY_ALL);
+    private final MediatorLiveData<List<Expense>> dashboardRecent = new MediatorLiveData<>();
+
+    // Transactions state: one live query, switched only when the date range changes
+    private final MutableLiveData<TransactionFilter> transactionFilter =
+            new MutableLiveData<>(TransactionFilter.initial());
+    private final MediatorLiveData<long[]> transactionRange = new MediatorLiveData<>();
+    private final LiveData<List<Expense>> transactionsInRange;
+    private final LiveData<List<String>> transactionCategories;
+    private final MediatorLiveData<List<Expense>> filteredTransactions = new MediatorLiveData<>();
+
+    // Sectioned timeline, grouped on a background thread
+    private final ExecutorService timelineExecutor = Executors.newSingleThreadExecutor();
+    private final TransactionTimeline timeline = new TransactionTimeline();
+    private final MediatorLiveData<List<TimelineItem>> timelineItems = new MediatorLiveData<>();
+    private String timelineCurrency;
+    private int timelineAmountColor;
+    private volatile int timelineGeneration;
+
+    // Analytics state: results are computed and cached per period by the loader
+    private final MutableLiveData<AnalyticsFilter> analyticsFilter =
+            new MutableLiveData<>(AnalyticsFilter.initial());
+    private final MutableLiveData<AnalyticsResult> analyticsResult = new MutableLiveData<>();
+    private AnalyticsLoader analyticsLoader;
+
+    public ExpenseViewModel(@NonNull Application application) {
+        super(application);
+        expenseRepository = ExpenseRepository.getInstance(application);
+
+        monthRange.setValue(DateUtils.getDateRangeForFilter(Constants.FILTER_MONTH));
+        monthExpenses = Transformations.switchMap(monthRange,
+                range -> queryFor(Constants.FILTER_MONTH, range).expenses);
+        monthSummary = Transformations.map(monthExpenses, MonthSummary::from);
+
+        dashboardRecent.addSource(monthExpenses, expenses -> updateDashboardRecent());
+        dashboardRecent.addSource(dashboardCategory, category -> updateDashboardRecent());
+
+        LiveData<Integer> dateFilter = Transformations.distinctUntilChanged(
+                Transformations.map(transactionFilter, TransactionFilter::getDateFilter));
+        transactionRange.addSource(dateFilter, filter -> refreshTransactionRange());
+        transactionsInRange = Transformations.switchMap(transactionRange,
+                range -> queryFor(transactionFilter.getValue().getDateFilter(), range).expenses);
+        transactionCategories = Transformations.switchMap(transactionRange,
+                range -> queryFor(transactionFilter.getValue().getDateFilter(), range).categories);
+        filteredTransactions.addSource(transactionsInRange, expenses -> updateFilteredTransactions());
+        filteredTransactions.addSource(transactionFilter, filter -> updateFilteredTransactions());
+        timelineItems.addSource(filteredTransactions, expenses -> buildTimeline());
+    }
+
+    /**
+     * Live queries for a date filter (see {@link Constants#FILTER_ALL} etc.) over the
+     * given range, replacing the cached ones when the range has moved on.
+     */
+    private RangeQuery queryFor(int filterType, long[] range) {
+        RangeQuery query = rangeCache.get(filterType);
+        if (query == null || !Arrays.equals(query.range, range)) {
+            query = new RangeQuery(range, expenseRepository.getByDateRange(range[0], range[1]),
+                    Transformations.distinctUntilChanged(
+                            expenseRepository.getCategoriesInDateRange(range[0], range[1])));
+            rangeCache.put(filterType, query);
+        }
+        return query;
+    }
+
+    public long[] getMonthRange() {
+        return monthRange.getValue().clone();
+    }
+
+    /**
+     * Move the month queries to the current month if it has changed since they
+     * were set up. Returns true when it had.
+     */
+    public boolean refreshMonth() {
+        long[] range = DateUtils.getDateRangeForFilter(Constants.FILTER_MONTH);
+        if (Arrays.equals(range, monthRange.getValue())) {
+            return false;
+        }
+        monthRange.setValue(range);
+        return true;
+    }
+
+    /**
+     * All transactions in the current month.
+     */
+    public LiveData<List<Expense>> getMonthExpenses() {
+        return monthExpenses;
+    }
+
+    /**
+     * Income/expense totals for the current month.
+     */
+    public LiveData<MonthSummary> getMonthSummary() {
+        return monthSummary;
+    }
+
+    /**
+     * Latest transactions for the dashboard, filtered by the selected category.
+     */
+    public LiveData<List<Expense>> getDashboardRecent() {
+        return dashboardRecent;
+    }
+
+    public LiveData<String> getDashboardCategory() {
+        return dashboardCategory;
+    }
+
+    public void setDashboardCategory(String category) {
+        if (!category.equals(dashboardCategory.getValue())) {
+            dashboardCategory.setValue(category);
+        }
+    }
+
+    private void updateDashboardRecent() {
+        List<Expense> expenses = monthExpenses.getValue();
+        if (expenses == null) {
+            return;
+        }
+
+        String category = dashboardCategory.getValue();
+        List<Expense> filtered;
+        if (category == null || CATEGORY_ALL.equals(category)) {
+            filtered = expenses;
+        } else {
+            filtered = expenses.stream()
+                    .filter(e -> category.equalsIgnoreCase(e.getCategory()))
+                    .collect(Collectors.toList());
+        }
+
+        dashboardRecent.setValue(new ArrayList<>(
+                filtered.size() > RECENT_LIMIT ? filtered.subList(0, RECENT_LIMIT) : filtered));
+    }
+
+    // Transactions
+
+    public LiveData<TransactionFilter> getTransactionFilter() {
+        return transactionFilter;
+    }
+
+    public void setTransactionDateFilter(int dateFilter) {
+        TransactionFilter current = transactionFilter.getValue();
+        if (current.getDateFilter() != dateFilter) {
+            transactionFilter.setValue(current.withDateFilter(dateFilter));
+        }
+    }
+
+    public void setTransactionCategory(String category) {
+        TransactionFilter current = transactionFilter.getValue();
+        TransactionFilter next = current.withCategory(category);
+        if (!next.equals(current)) {
+            transactionFilter.setValue(next);
+        }
+    }
+
+    /**
+     * Move the transaction queries on if the selected date filter's range has
+     * changed, e.g. Today after midnight.
+     */
+    public void refreshTransactionRange() {
+        long[] range = DateUtils.getDateRangeForFilter(transactionFilter.getValue().getDateFilter());
+        if (!Arrays.equals(range, transactionRange.getValue())) {
+            transactionRange.setValue(range);
+        }
+    }
+
+    /**
+     * All transactions for the selected date filter, before the category filter is applied.
+     */
+    public LiveData<List<Expense>> getTransactionsInRange() {
+        return transactionsInRange;
+    }
+
+    /**
+     * Categories used in the selected date range, sorted by name. Only emits when the set changes.
+     */
+    public LiveData<List<String>> getTransactionCategories() {
+        return transactionCategories;
+    }
+
+    /**
+     * Transactions matching the full filter state.
+     */
+    public LiveData<List<Expense>> getFilteredTransactions() {
+        return filteredTransactions;
+    }
+
+    private void updateFilteredTransactions() {
+        List<Expense> expenses = transactionsInRange.getValue();
+        if (expenses == null) {
+            return;
+        }
+
+        String category = transactionFilter.getValue().getCategory();
+        if (category == null) {
+            filteredTransactions.setValue(expenses);
+        } else {
+            filteredTransactions.setValue(expenses.stream()
+                    .filter(e -> category.equalsIgnoreCase(e.getCategory()))
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Sectioned timeline for the filtered transactions.
+     */
+    public LiveData<List<TimelineItem>> getTimeline() {
+        return timelineItems;
+    }
+
+    /**
+     * Set the display values baked into timeline rows; rebuilds only if they changed.
+     */
+    public void setTimelineDisplay(String currency, int amountColor) {
+        if (currency.equals(timelineCurrency) && amountColor == timelineAmountColor) {
+            return;
+        }
+        timelineCurrency = currency;
+        timelineAmountColor = amountColor;
+        buildTimeline();
+    }
+
+    private void buildTimeline() {
+        List<Expense> expenses = filteredTransactions.getValue();
+        if (expenses == null || timelineCurrency == null) {
+            return;
+        }
+
+        TimelineGrouping grouping = TimelineGrouping.forDateFilter(
+                transactionFilter.getValue().getDateFilter());
+        String currency = timelineCurrency;
+        int amountColor = timelineAmountColor;
+        int generation = ++timelineGeneration;
+
+        // Builds run in order on one thread, so the timeline sees every snapshot
+        timelineExecutor.execute(() -> {
+            List<TimelineItem> items = timeline.update(expenses, grouping, currency, amountColor);
+            if (generation == timelineGeneration) {
+                timelineItems.postValue(items);
+            }
+        });
+    }
+
+    // Analytics
+
+    public LiveData<AnalyticsFilter> getAnalyticsFilter() {
+        return analyticsFilter;
+    }
+
+    public void setAnalyticsType(String type) {
+        setAnalyticsFilter(analyticsFilter.getValue().withType(type));
+    }
+
+    /**
+     * Switch to the week, month, quarter or year containing the current period's start.
+     */
+    public void setAnalyticsPeriodUnit(AnalyticsPeriod.Unit unit) {
+        AnalyticsPeriod current = analyticsFilter.getValue().getPeriod();
+        if (current.getUnit() != unit) {
+            setAnalyticsPeriod(AnalyticsPeriod.containing(unit, current.getStart()));
+        }
+    }
+
+    /**
+     * Move to the previous (negative) or next (positive) period of the same unit.
+     */
+    public void shiftAnalyticsPeriod(int delta) {
+        setAnalyticsPeriod(analyticsFilter.getValue().getPeriod().shift(delta));
+    }
+
+    public void setAnalyticsPeriod(AnalyticsPeriod period) {
+        setAnalyticsFilter(analyticsFilter.getValue().withPeriod(period));
+    }
+
+    private void setAnalyticsFilter(AnalyticsFilter filter) {
+        if (!filter.equals(analyticsFilter.getValue())) {
+            analyticsFilter.setValue(filter);
+            loadAnalytics();
+        }
+    }
+
+    /**
+     * Totals, category breakdown and daily series for the selected type and period.
+     */
+    public LiveData<AnalyticsResult> getAnalyticsResult() {
+        if (analyticsLoader == null) {
+            analyticsLoader = new AnalyticsLoader(getApplication());
+            analyticsLoader.setOnInvalidatedListener(this::loadAnalytics);
+            loadAnalytics();
+        }
+        return analyticsResult;
+    }
+
+    private void loadAnalytics() {
+        if (analyticsLoader == null) {
+            return;
+        }
+        AnalyticsFilter filter = analyticsFilter.getValue();
+        analyticsLoader.load(filter.getPeriod(), filter.getType(), result -> {
+            // Drop results for a period the user has already moved away from
+            if (filter.equals(analyticsFilter.getValue())) {
+                analyticsResult.setValue(result);
+            }
+        });
+    }
+
+    @Override
+    protected void onCleared() {
+        timelineExecutor.shutdown();
+        if (analyticsLoader != null) {
+            analyticsLoader.release();
+        }
+    }
+
+    private static final class RangeQuery {
+        final long[] range;
+        final LiveData<List<Expense>> expenses;
+        final LiveData<List<String>> categories;
+
+        RangeQuery(long[] range, LiveData<List<Expense>> expenses, LiveData<List<String>> categories) {
+            this.range = range;
+            this.expenses = expenses;
+            this.categories = categories;
+        }
+    }
+
+    /**
+     * Income and expense totals for a list of transactions.
+     */
+    public static class MonthSummary {
+        public final double totalIncome;
+        public final double totalExpense;
+
+        MonthSummary(double totalIncome, double totalExpense) {
+            this.totalIncome = totalIncome;
+            this.totalExpense = totalExpense;
+        }
+
+        public double getBalance() {
+            return totalIncome - totalExpense;
+        }
+
+        static MonthSummary from(List<Expense> expenses) {
+            double income = 0;
+            double expense = 0;
+            if (expenses != null) {
+                for (Expense e : expenses) {
+                    if (Constants.TYPE_INCOME.equals(e.getType())) {
+                        income += e.getAmount();
+                    } else if (Constants.TYPE_EXPENSE.equals(e.getType())) {
+                        expense += e.getAmount();
+                    }
+                }
+            }
+            return new MonthSummary(income, expense);
+        }
+    }
+}
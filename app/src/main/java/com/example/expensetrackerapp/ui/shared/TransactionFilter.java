@@ -0,0 +1,56 @@
+package com.example.expensetrackerapp.ui.shared;
+
+import androidx.annotation.Nullable;
+
+import com.example.expensetrackerapp.utils.Constants;
+
+import java.util.Objects;
+
+/**
+ * Immutable filter state for the transactions list.
+ */
+public final class TransactionFilter {
+
+    private final int dateFilter;
+    @Nullable
+    private final String category; // null means "All Categories"
+
+    public TransactionFilter(int dateFilter, @Nullable String category) {
+        this.dateFilter = dateFilter;
+        this.category = category;
+    }
+
+    public static TransactionFilter initial() {
+        return new TransactionFilter(Constants.FILTER_ALL, null);
+    }
+
+    public int getDateFilter() {
+        return dateFilter;
+    }
+
+    @Nullable
+    public String getCategory() {
+        return category;
+    }
+
+    public TransactionFilter withDateFilter(int dateFilter) {
+        return new TransactionFilter(dateFilter, category);
+    }
+
+    public TransactionFilter withCategory(@Nullable String category) {
+        return new TransactionFilter(dateFilter, category);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransactionFilter)) return false;
+        TransactionFilter that = (TransactionFilter) o;
+        return dateFilter == that.dateFilter && Objects.equals(category, that.category);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dateFilter, category);
+    }
+}
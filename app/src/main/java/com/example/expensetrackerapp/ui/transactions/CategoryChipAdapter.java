@@ -0,0 +1,138 @@
+package com.example.expensetrackerapp.ui.transactions;
+
+import android.view.LayoutInflater;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.expensetrackerapp.R;
+import com.google.android.material.chip.Chip;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Horizontal strip of category filter chips. The first chip is "All".
+ * Category lists are diffed, and selection changes only rebind the two affected chips.
+ */
+public class CategoryChipAdapter extends ListAdapter<String, CategoryChipAdapter.ViewHolder> {
+
+    // Key of the "All" chip; empty categories are never returned by the query
+    private static final String KEY_ALL = "";
+    private static final Object PAYLOAD_SELECTION = new Object();
+
+    private final OnCategorySelectedListener listener;
+    @Nullable
+    private String selectedCategory;
+
+    public interface OnCategorySelectedListener {
+        /**
+         * @param category selected category, or null for all categories
+         */
+        void onCategorySelected(@Nullable String category);
+    }
+
+    public CategoryChipAdapter(OnCategorySelectedListener listener) {
+        super(DIFF_CALLBACK);
+        this.listener = listener;
+    }
+
+    /**
+     * Submit the categories for the strip, already sorted.
+     */
+    public void setCategories(List<String> categories) {
+        List<String> items = new ArrayList<>(categories.size() + 1);
+        items.add(KEY_ALL);
+        items.addAll(categories);
+        submitList(items);
+    }
+
+    /**
+     * Update the checked chip without rebinding the rest of the strip.
+     */
+    public void setSelectedCategory(@Nullable String category) {
+        if (Objects.equals(selectedCategory, category)) {
+            return;
+        }
+        int oldPosition = positionOf(selectedCategory);
+        selectedCategory = category;
+        int newPosition = positionOf(category);
+
+        if (oldPosition != RecyclerView.NO_POSITION) {
+            notifyItemChanged(oldPosition, PAYLOAD_SELECTION);
+        }
+        if (newPosition != RecyclerView.NO_POSITION) {
+            notifyItemChanged(newPosition, PAYLOAD_SELECTION);
+        }
+    }
+
+    private int positionOf(@Nullable String category) {
+        return getCurrentList().indexOf(category == null ? KEY_ALL : category);
+    }
+
+    private boolean isSelected(String key) {
+        return KEY_ALL.equals(key) ? selectedCategory == null : key.equals(selectedCategory);
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        Chip chip = (Chip) LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_category_chip, parent, false);
+        ViewHolder holder = new ViewHolder(chip);
+
+        chip.setOnClickListener(v -> {
+            int position = holder.getAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) {
+                return;
+            }
+            String key = getItem(position);
+            // The chip toggles itself; selection state is owned by the caller
+            chip.setChecked(isSelected(key));
+            listener.onCategorySelected(KEY_ALL.equals(key) ? null : key);
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        String key = getItem(position);
+        holder.chip.setText(KEY_ALL.equals(key) ? holder.chip.getContext().getString(R.string.all) : key);
+        holder.chip.setChecked(isSelected(key));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.chip.setChecked(isSelected(getItem(position)));
+        }
+    }
+
+    private static final DiffUtil.ItemCallback<String> DIFF_CALLBACK = new DiffUtil.ItemCallback<String>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final Chip chip;
+
+        ViewHolder(Chip chip) {
+            super(chip);
+            this.chip = chip;
+        }
+    }
+}
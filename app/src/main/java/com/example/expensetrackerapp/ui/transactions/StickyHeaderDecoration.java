@@ -0,0 +1,96 @@
+package com.example.expensetrackerapp.ui.transactions;
+
+import android.graphics.Canvas;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Draws the header of the topmost visible section pinned to the top of the list.
+ * The next section's header pushes it up as it scrolls in.
+ */
+public class StickyHeaderDecoration extends RecyclerView.ItemDecoration {
+
+    /**
+     * Adapter contract for sectioned lists.
+     */
+    public interface StickyHeaderAdapter {
+        int getHeaderPosition(int position);
+
+        boolean isHeader(int position);
+
+        View createHeaderView(ViewGroup parent);
+
+        void bindHeaderView(View view, int headerPosition);
+    }
+
+    private final StickyHeaderAdapter adapter;
+    private View headerView;
+    private int boundHeaderPosition = RecyclerView.NO_POSITION;
+
+    public StickyHeaderDecoration(StickyHeaderAdapter adapter) {
+        this.adapter = adapter;
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas canvas, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        View topChild = parent.getChildAt(0);
+        if (topChild == null) {
+            return;
+        }
+
+        int topPosition = parent.getChildAdapterPosition(topChild);
+        if (topPosition == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        int headerPosition = adapter.getHeaderPosition(topPosition);
+        View header = getHeaderView(parent, headerPosition);
+
+        // Push the pinned header up when the next section's header reaches it
+        int offset = 0;
+        for (int i = 1; i < parent.getChildCount(); i++) {
+            View child = parent.getChildAt(i);
+            int position = parent.getChildAdapterPosition(child);
+            if (position != RecyclerView.NO_POSITION && adapter.isHeader(position)) {
+                if (child.getTop() < header.getHeight()) {
+                    offset = child.getTop() - header.getHeight();
+                }
+                break;
+            }
+        }
+
+        canvas.save();
+        canvas.translate(parent.getPaddingLeft(), offset);
+        header.draw(canvas);
+        canvas.restore();
+    }
+
+    private View getHeaderView(RecyclerView parent, int headerPosition) {
+        if (headerView == null) {
+            headerView = adapter.createHeaderView(parent);
+            boundHeaderPosition = RecyclerView.NO_POSITION;
+        }
+
+        // Only rebind and measure when the pinned section changes
+        if (headerPosition != boundHeaderPosition || headerView.getWidth() == 0) {
+            adapter.bindHeaderView(headerView, headerPosition);
+            int width = parent.getWidth() - parent.getPaddingLeft() - parent.getPaddingRight();
+            headerView.measure(
+                    View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+            headerView.layout(0, 0, headerView.getMeasuredWidth(), headerView.getMeasuredHeight());
+            boundHeaderPosition = headerPosition;
+        }
+        return headerView;
+    }
+
+    /**
+     * Force a rebind of the pinned header, e.g. after the list content changed.
+     */
+    public void invalidateHeader() {
+        boundHeaderPosition = RecyclerView.NO_POSITION;
+    }
+}
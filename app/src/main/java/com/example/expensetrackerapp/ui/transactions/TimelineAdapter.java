@@ -0,0 +1,145 @@
+package com.example.expensetrackerapp.ui.transactions;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.expensetrackerapp.R;
+
+import java.util.List;
+
+/**
+ * Adapter for the sectioned transaction timeline. Items are built by
+ * {@link TransactionTimeline} in the background, so binding only assigns values.
+ */
+public class TimelineAdapter extends ListAdapter<TimelineItem, RecyclerView.ViewHolder>
+        implements StickyHeaderDecoration.StickyHeaderAdapter {
+
+    private final TransactionAdapter.OnTransactionClickListener listener;
+
+    public TimelineAdapter(TransactionAdapter.OnTransactionClickListener listener) {
+        super(DIFF_CALLBACK);
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return getItem(position).getViewType();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getStableId();
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == TimelineItem.TYPE_HEADER) {
+            return new HeaderViewHolder(createHeaderView(parent));
+        }
+
+        TransactionAdapter.ViewHolder holder = new TransactionAdapter.ViewHolder(
+                inflater.inflate(R.layout.item_transaction, parent, false));
+        holder.itemView.setOnClickListener(v -> {
+            int position = holder.getAdapterPosition();
+            if (listener != null && position != RecyclerView.NO_POSITION) {
+                listener.onTransactionClick(((TimelineItem.Row) getItem(position)).getRow().getExpense());
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        TimelineItem item = getItem(position);
+        if (item instanceof TimelineItem.Header) {
+            bindHeaderView(holder.itemView, position);
+            return;
+        }
+
+        ((TransactionAdapter.ViewHolder) holder).bind(((TimelineItem.Row) item).getRow());
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position,
+            @NonNull List<Object> payloads) {
+        // Only rows carry payloads; headers always rebind in full
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        ((TransactionAdapter.ViewHolder) holder).bindChanges(((TimelineItem.Row) getItem(position)).getRow(),
+                payloads);
+    }
+
+    // StickyHeaderAdapter
+
+    @Override
+    public int getHeaderPosition(int position) {
+        TimelineItem item = getItem(position);
+        return item instanceof TimelineItem.Row ? ((TimelineItem.Row) item).getHeaderPosition() : position;
+    }
+
+    @Override
+    public boolean isHeader(int position) {
+        return getItem(position) instanceof TimelineItem.Header;
+    }
+
+    @Override
+    public View createHeaderView(ViewGroup parent) {
+        return LayoutInflater.from(parent.getContext()).inflate(R.layout.item_timeline_header, parent, false);
+    }
+
+    @Override
+    public void bindHeaderView(View view, int headerPosition) {
+        TimelineItem.Header header = (TimelineItem.Header) getItem(headerPosition);
+        ((TextView) view.findViewById(R.id.tvSectionTitle)).setText(header.getLabel());
+        ((TextView) view.findViewById(R.id.tvSectionTotal)).setText(header.getSubtotal());
+    }
+
+    private static final DiffUtil.ItemCallback<TimelineItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<TimelineItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TimelineItem oldItem, @NonNull TimelineItem newItem) {
+            return oldItem.getStableId() == newItem.getStableId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TimelineItem oldItem, @NonNull TimelineItem newItem) {
+            // The timeline reuses unchanged headers and rows, so identity is the common case
+            if (oldItem == newItem) {
+                return true;
+            }
+            if (oldItem instanceof TimelineItem.Header && newItem instanceof TimelineItem.Header) {
+                return ((TimelineItem.Header) oldItem).hasSameContent((TimelineItem.Header) newItem);
+            }
+            if (oldItem instanceof TimelineItem.Row && newItem instanceof TimelineItem.Row) {
+                return ((TimelineItem.Row) oldItem).getRow().hasSameContent(((TimelineItem.Row) newItem).getRow());
+            }
+            return false;
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull TimelineItem oldItem, @NonNull TimelineItem newItem) {
+            if (oldItem instanceof TimelineItem.Row && newItem instanceof TimelineItem.Row) {
+                return TransactionAdapter.ViewHolder.changePayload(((TimelineItem.Row) oldItem).getRow(),
+                        ((TimelineItem.Row) newItem).getRow());
+            }
+            return null;
+        }
+    };
+
+    static class HeaderViewHolder extends RecyclerView.ViewHolder {
+        HeaderViewHolder(View itemView) {
+            super(itemView);
+        }
+    }
+}
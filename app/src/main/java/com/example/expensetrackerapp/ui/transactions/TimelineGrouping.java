@@ -0,0 +1,50 @@
+package com.example.expensetrackerapp.ui.transactions;
+
+import com.example.expensetrackerapp.utils.Constants;
+import com.example.expensetrackerapp.utils.DateBuckets;
+
+/**
+ * Period used to group the transaction timeline into sections.
+ */
+public enum TimelineGrouping {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * Grouping that suits a date filter: long ranges by month, a month by week,
+     * shorter ones by day.
+     */
+    public static TimelineGrouping forDateFilter(int dateFilter) {
+        switch (dateFilter) {
+            case Constants.FILTER_ALL:
+            case Constants.FILTER_YEAR:
+                return MONTH;
+            case Constants.FILTER_MONTH:
+                return WEEK;
+            case Constants.FILTER_WEEK:
+            case Constants.FILTER_TODAY:
+            default:
+                return DAY;
+        }
+    }
+
+    /**
+     * Start of the period containing the timestamp.
+     */
+    long periodStart(DateBuckets buckets, long timestamp) {
+        return buckets.bucketStart(timestamp, toUnit());
+    }
+
+    private DateBuckets.Unit toUnit() {
+        switch (this) {
+            case WEEK:
+                return DateBuckets.Unit.WEEK;
+            case MONTH:
+                return DateBuckets.Unit.MONTH;
+            case DAY:
+            default:
+                return DateBuckets.Unit.DAY;
+        }
+    }
+}
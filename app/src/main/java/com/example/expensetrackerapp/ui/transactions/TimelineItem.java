@@ -0,0 +1,90 @@
+package com.example.expensetrackerapp.ui.transactions;
+
+/**
+ * Entry in the sectioned transaction timeline: a section header or a transaction row.
+ */
+public abstract class TimelineItem {
+
+    public static final int TYPE_HEADER = 0;
+    public static final int TYPE_ROW = 1;
+
+    private TimelineItem() {
+    }
+
+    public abstract int getViewType();
+
+    /**
+     * Stable id; rows use the expense id and headers use negative ids.
+     */
+    public abstract long getStableId();
+
+    /**
+     * Section header with its label and formatted net subtotal.
+     */
+    public static final class Header extends TimelineItem {
+        private final long sectionStart;
+        private final String label;
+        private final String subtotal;
+
+        Header(long sectionStart, String label, String subtotal) {
+            this.sectionStart = sectionStart;
+            this.label = label;
+            this.subtotal = subtotal;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getSubtotal() {
+            return subtotal;
+        }
+
+        @Override
+        public int getViewType() {
+            return TYPE_HEADER;
+        }
+
+        @Override
+        public long getStableId() {
+            return -1 - sectionStart;
+        }
+
+        boolean hasSameContent(Header other) {
+            return sectionStart == other.sectionStart
+                    && label.equals(other.label)
+                    && subtotal.equals(other.subtotal);
+        }
+    }
+
+    /**
+     * Transaction row, with the adapter position of its section header.
+     */
+    public static final class Row extends TimelineItem {
+        private final TransactionRow row;
+        private final int headerPosition;
+
+        Row(TransactionRow row, int headerPosition) {
+            this.row = row;
+            this.headerPosition = headerPosition;
+        }
+
+        public TransactionRow getRow() {
+            return row;
+        }
+
+        public int getHeaderPosition() {
+            return headerPosition;
+        }
+
+        @Override
+        public int getViewType() {
+            return TYPE_ROW;
+        }
+
+        @Override
+        public long getStableId() {
+            return row.getId();
+        }
+    }
+}
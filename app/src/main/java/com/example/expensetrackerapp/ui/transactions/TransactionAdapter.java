@@ -1,6 +1,9 @@
 package com.example.expensetrackerapp.ui.transactions;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -9,36 +12,59 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.expensetrackerapp.ExpenseTrackerApp;
 import com.example.expensetrackerapp.R;
 import com.example.expensetrackerapp.data.local.entity.Expense;
-import com.example.expensetrackerapp.utils.Constants;
-import com.example.expensetrackerapp.utils.CurrencyUtils;
-import com.example.expensetrackerapp.utils.PreferenceManager;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * RecyclerView Adapter for displaying transactions with modern UI.
+ * Rows are turned into {@link TransactionRow} display models and diffed off the
+ * main thread; binding only assigns precomputed values.
  */
-public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.ViewHolder> {
+public class TransactionAdapter extends ListAdapter<TransactionRow, TransactionAdapter.ViewHolder> {
+
+    private static final String TAG = "TransactionAdapter";
+
+    // Log bind timings every this many binds
+    private static final int BIND_STATS_WINDOW = 200;
+
+    private static final ExecutorService rowExecutor = Executors.newSingleThreadExecutor();
 
     private final Context context;
-    private List<Expense> expenses;
     private final OnTransactionClickListener listener;
-    private final PreferenceManager preferenceManager;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Incremented per update so results of an older build are dropped
+    private int generation;
+
+    // Rows are built once the owner supplies the currency
+    private List<Expense> expenses = new ArrayList<>();
+    private String currency;
+
+    // Bind timing
+    private int bindCount;
+    private long bindTotalNanos;
+    private long bindMaxNanos;
 
     public interface OnTransactionClickListener {
         void onTransactionClick(Expense expense);
     }
 
     public TransactionAdapter(Context context, List<Expense> expenses, OnTransactionClickListener listener) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.expenses = expenses != null ? expenses : new ArrayList<>();
         this.listener = listener;
-        this.preferenceManager = PreferenceManager.getInstance(context);
+        setHasStableIds(true);
+        updateData(expenses);
     }
 
     @NonNull
@@ -46,101 +72,130 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_transaction, parent, false);
-        return new ViewHolder(view);
+        ViewHolder holder = new ViewHolder(view);
+
+        // Click listener
+        holder.itemView.setOnClickListener(v -> {
+            int position = holder.getAdapterPosition();
+            if (listener != null && position != RecyclerView.NO_POSITION) {
+                listener.onTransactionClick(getItem(position).getExpense());
+            }
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Expense expense = expenses.get(position);
-        String currency = preferenceManager.getCurrency();
-
-        // Title: Use Notes if available (e.g., Merchant Name), else Category
-        String title = (expense.getNotes() != null && !expense.getNotes().isEmpty())
-                ? expense.getNotes()
-                : expense.getCategory();
-        holder.tvDescription.setText(title);
-
-        // Subtitle: Category and Date? Just Category for now as per design
-        holder.tvCategory.setText(expense.getCategory());
-
-        // Icon
-        holder.ivCategoryIcon.setImageResource(getCategoryIconResource(expense.getCategory()));
+        long start = ExpenseTrackerApp.isDebuggable() ? System.nanoTime() : 0;
 
-        // Amount formatting
-        boolean isExpense = Constants.TYPE_EXPENSE.equals(expense.getType());
-        String formattedAmount = CurrencyUtils.formatAmountWithSign(expense.getAmount(), currency, isExpense);
-        holder.tvAmount.setText(formattedAmount);
+        holder.bind(getItem(position));
 
-        // Use Black color for all amounts as per the modern design image
-        holder.tvAmount.setTextColor(context.getColor(R.color.text_primary));
+        if (start != 0) {
+            recordBind(System.nanoTime() - start);
+        }
+    }
 
-        // Click listener
-        holder.itemView.setOnClickListener(v -> {
-            if (listener != null) {
-                listener.onTransactionClick(expense);
-            }
-        });
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        holder.bindChanges(getItem(position), payloads);
     }
 
     @Override
-    public int getItemCount() {
-        return expenses.size();
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
+    /**
+     * Build display rows in the background and submit them. Callers must not
+     * mutate the list after passing it in.
+     */
     public void updateData(List<Expense> newExpenses) {
-        final List<Expense> finalNewExpenses = newExpenses != null ? newExpenses : new ArrayList<>();
+        expenses = newExpenses != null ? newExpenses : new ArrayList<>();
+        buildRows();
+    }
 
-        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new DiffUtil.Callback() {
-            @Override
-            public int getOldListSize() {
-                return expenses.size();
-            }
+    /**
+     * Set the currency baked into the rows; rebuilds them only if it changed.
+     */
+    public void setCurrency(String currency) {
+        if (currency.equals(this.currency)) {
+            return;
+        }
+        this.currency = currency;
+        buildRows();
+    }
 
-            @Override
-            public int getNewListSize() {
-                return finalNewExpenses.size();
-            }
+    private void buildRows() {
+        if (currency == null) {
+            return;
+        }
+        final List<Expense> expenses = this.expenses;
+        final String currency = this.currency;
+        final int requestGeneration = ++generation;
 
-            @Override
-            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
-                return expenses.get(oldItemPosition).getId() == finalNewExpenses.get(newItemPosition).getId();
-            }
+        // Resolve resources once per update instead of per bind
+        final int amountColor = context.getColor(R.color.text_primary);
 
-            @Override
-            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
-                Expense oldItem = expenses.get(oldItemPosition);
-                Expense newItem = finalNewExpenses.get(newItemPosition);
-                return oldItem.getAmount() == newItem.getAmount()
-                        && oldItem.getCategory().equals(newItem.getCategory())
-                        && oldItem.getDate() == newItem.getDate();
+        rowExecutor.execute(() -> {
+            List<TransactionRow> rows = new ArrayList<>(expenses.size());
+            for (Expense expense : expenses) {
+                rows.add(TransactionRow.from(expense, currency, amountColor));
             }
-        });
 
-        this.expenses = new ArrayList<>(finalNewExpenses);
-        diffResult.dispatchUpdatesTo(this);
+            mainHandler.post(() -> {
+                if (requestGeneration == generation) {
+                    submitList(rows);
+                }
+            });
+        });
     }
 
-    private int getCategoryIconResource(String category) {
-        // Return appropriate vector drawable based on category
-        switch (category) {
-            case Constants.CATEGORY_FOOD:
-                return R.drawable.ic_restaurant;
-            case Constants.CATEGORY_TRANSPORT:
-                return R.drawable.ic_transport;
-            case Constants.CATEGORY_SHOPPING:
-                return R.drawable.ic_shopping_bag;
-            case Constants.CATEGORY_BILLS:
-                return R.drawable.ic_list; // Fallback or dedicated icon
-            case Constants.CATEGORY_ENTERTAINMENT:
-                return R.drawable.ic_transport; // Placeholder
-            case Constants.CATEGORY_HEALTHCARE:
-                return R.drawable.ic_list;
-            default:
-                return R.drawable.ic_list;
+    private void recordBind(long nanos) {
+        bindCount++;
+        bindTotalNanos += nanos;
+        bindMaxNanos = Math.max(bindMaxNanos, nanos);
+
+        if (bindCount == BIND_STATS_WINDOW) {
+            Log.d(TAG, "onBindViewHolder avg " + (bindTotalNanos / bindCount / 1000) + "us, max "
+                    + (bindMaxNanos / 1000) + "us over " + bindCount + " binds");
+            bindCount = 0;
+            bindTotalNanos = 0;
+            bindMaxNanos = 0;
         }
     }
 
+    private static final DiffUtil.ItemCallback<TransactionRow> DIFF_CALLBACK = new DiffUtil.ItemCallback<TransactionRow>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TransactionRow oldItem, @NonNull TransactionRow newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TransactionRow oldItem, @NonNull TransactionRow newItem) {
+            return oldItem.hasSameContent(newItem);
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull TransactionRow oldItem, @NonNull TransactionRow newItem) {
+            return ViewHolder.changePayload(oldItem, newItem);
+        }
+    };
+
+    /**
+     * Holder for a transaction row, shared with {@link TimelineAdapter}. Binding
+     * and partial rebinds live here so both lists update rows the same way.
+     */
     static class ViewHolder extends RecyclerView.ViewHolder {
+
+        // Change payload flags
+        private static final int PAYLOAD_TITLE = 1;
+        private static final int PAYLOAD_CATEGORY = 1 << 1;
+        private static final int PAYLOAD_AMOUNT = 1 << 2;
+
         ImageView ivCategoryIcon;
         TextView tvDescription;
         TextView tvCategory;
@@ -153,5 +208,54 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
             tvCategory = itemView.findViewById(R.id.tvCategory);
             tvAmount = itemView.findViewById(R.id.tvAmount);
         }
+
+        void bind(TransactionRow row) {
+            tvDescription.setText(row.getTitle());
+            tvCategory.setText(row.getCategory());
+            ivCategoryIcon.setImageResource(row.getIconRes());
+            tvAmount.setText(row.getFormattedAmount());
+            tvAmount.setTextColor(row.getAmountColor());
+        }
+
+        /**
+         * Rebind only the views named by payloads from {@link #changePayload}.
+         */
+        void bindChanges(TransactionRow row, List<Object> payloads) {
+            int changes = 0;
+            for (Object payload : payloads) {
+                changes |= (Integer) payload;
+            }
+
+            if ((changes & PAYLOAD_TITLE) != 0) {
+                tvDescription.setText(row.getTitle());
+            }
+            if ((changes & PAYLOAD_CATEGORY) != 0) {
+                tvCategory.setText(row.getCategory());
+                ivCategoryIcon.setImageResource(row.getIconRes());
+            }
+            if ((changes & PAYLOAD_AMOUNT) != 0) {
+                tvAmount.setText(row.getFormattedAmount());
+                tvAmount.setTextColor(row.getAmountColor());
+            }
+        }
+
+        /**
+         * Flags for the views that differ between two versions of a row, or null when none do.
+         */
+        static Object changePayload(TransactionRow oldRow, TransactionRow newRow) {
+            int changes = 0;
+            if (!Objects.equals(oldRow.getTitle(), newRow.getTitle())) {
+                changes |= PAYLOAD_TITLE;
+            }
+            if (!Objects.equals(oldRow.getCategory(), newRow.getCategory())
+                    || oldRow.getIconRes() != newRow.getIconRes()) {
+                changes |= PAYLOAD_CATEGORY;
+            }
+            if (!Objects.equals(oldRow.getFormattedAmount(), newRow.getFormattedAmount())
+                    || oldRow.getAmountColor() != newRow.getAmountColor()) {
+                changes |= PAYLOAD_AMOUNT;
+            }
+            return changes != 0 ? changes : null;
+        }
     }
 }
@@ -0,0 +1,121 @@
+package com.example.expensetrackerapp.ui.transactions;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.DrawableRes;
+
+import com.example.expensetrackerapp.R;
+import com.example.expensetrackerapp.data.local.entity.Expense;
+import com.example.expensetrackerapp.utils.Constants;
+import com.example.expensetrackerapp.utils.CurrencyUtils;
+
+import java.util.Objects;
+
+/**
+ * Immutable display model for one transaction row.
+ * Built off the main thread so binding only assigns precomputed values.
+ */
+public final class TransactionRow {
+
+    private final Expense expense;
+    private final long id;
+    private final String title;
+    private final String category;
+    private final String formattedAmount;
+    @DrawableRes
+    private final int iconRes;
+    @ColorInt
+    private final int amountColor;
+
+    private TransactionRow(Expense expense, String title, String formattedAmount, int iconRes, int amountColor) {
+        this.expense = expense;
+        this.id = expense.getId();
+        this.title = title;
+        this.category = expense.getCategory();
+        this.formattedAmount = formattedAmount;
+        this.iconRes = iconRes;
+        this.amountColor = amountColor;
+    }
+
+    /**
+     * Build the row for an expense using the given currency and amount colour.
+     */
+    public static TransactionRow from(Expense expense, String currency, @ColorInt int amountColor) {
+        // Title: Use Notes if available (e.g., Merchant Name), else Category
+        String title = (expense.getNotes() != null && !expense.getNotes().isEmpty())
+                ? expense.getNotes()
+                : expense.getCategory();
+
+        boolean isExpense = Constants.TYPE_EXPENSE.equals(expense.getType());
+        String formattedAmount = CurrencyUtils.formatAmountWithSign(expense.getAmount(), currency, isExpense);
+
+        return new TransactionRow(expense, title, formattedAmount,
+                getCategoryIconResource(expense.getCategory()), amountColor);
+    }
+
+    /**
+     * Source entity, for click handling.
+     */
+    public Expense getExpense() {
+        return expense;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getFormattedAmount() {
+        return formattedAmount;
+    }
+
+    public int getIconRes() {
+        return iconRes;
+    }
+
+    public int getAmountColor() {
+        return amountColor;
+    }
+
+    static int getCategoryIconResource(String category) {
+        if (category == null) {
+            return R.drawable.ic_list;
+        }
+
+        // Return appropriate vector drawable based on category
+        switch (category) {
+            case Constants.CATEGORY_FOOD:
+                return R.drawable.ic_restaurant;
+            case Constants.CATEGORY_TRANSPORT:
+                return R.drawable.ic_transport;
+            case Constants.CATEGORY_SHOPPING:
+                return R.drawable.ic_shopping_bag;
+            case Constants.CATEGORY_BILLS:
+                return R.drawable.ic_list; // Fallback or dedicated icon
+            case Constants.CATEGORY_ENTERTAINMENT:
+                return R.drawable.ic_transport; // Placeholder
+            case Constants.CATEGORY_HEALTHCARE:
+                return R.drawable.ic_list;
+            default:
+                return R.drawable.ic_list;
+        }
+    }
+
+    /**
+     * Displayed content only; the source entity is not compared.
+     */
+    public boolean hasSameContent(TransactionRow other) {
+        return id == other.id
+                && iconRes == other.iconRes
+                && amountColor == other.amountColor
+                && Objects.equals(title, other.title)
+                && Objects.equals(category, other.category)
+                && Objects.equals(formattedAmount, other.formattedAmount);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.expensetrackerapp.ui.transactions;
+
+import com.example.expensetrackerapp.data.local.entity.Expense;
+import com.example.expensetrackerapp.utils.Constants;
+import com.example.expensetrackerapp.utils.CurrencyUtils;
+import com.example.expensetrackerapp.utils.DateBuckets;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Groups transactions into dated sections with per-section subtotals.
+ * Keeps its sections between updates and only touches the sections of rows
+ * that were inserted, removed or changed; untouched sections reuse their
+ * header and rows. Not thread-safe: confine each instance to one background thread.
+ */
+public class TransactionTimeline {
+
+    // Newest first, ties broken by id so the order is stable
+    private static final Comparator<Expense> ROW_ORDER = (a, b) -> {
+        int byDate = Long.compare(b.getDate(), a.getDate());
+        return byDate != 0 ? byDate : Long.compare(b.getId(), a.getId());
+    };
+
+    private final SimpleDateFormat dayFormat = new SimpleDateFormat("EEE, dd MMM yyyy", Locale.getDefault());
+    private final SimpleDateFormat monthFormat = new SimpleDateFormat("MMMM yyyy", Locale.getDefault());
+
+    // Sections keyed by period start, newest first
+    private final TreeMap<Long, Section> sections = new TreeMap<>(Collections.reverseOrder());
+    private final Map<Long, Expense> expensesById = new HashMap<>();
+    // Row items from the last flatten, reused while their row and header position hold
+    private final Map<Long, TimelineItem.Row> itemsById = new HashMap<>();
+
+    private DateBuckets buckets;
+    private TimelineGrouping grouping;
+    private String currency;
+    private int amountColor;
+    private long todayStart;
+
+    /**
+     * Apply a new snapshot of the list and return the flattened timeline.
+     */
+    public List<TimelineItem> update(List<Expense> expenses, TimelineGrouping grouping, String currency,
+            int amountColor) {
+        DateBuckets buckets = DateBuckets.getDefault();
+        long today = TimelineGrouping.DAY.periodStart(buckets, System.currentTimeMillis());
+        if (buckets != this.buckets || grouping != this.grouping || !currency.equals(this.currency)
+                || amountColor != this.amountColor || today != todayStart) {
+            // Time zone, display settings or relative labels changed; start over
+            sections.clear();
+            expensesById.clear();
+            itemsById.clear();
+            this.buckets = buckets;
+            this.grouping = grouping;
+            this.currency = currency;
+            this.amountColor = amountColor;
+            this.todayStart = today;
+        }
+
+        Set<Long> incomingIds = new HashSet<>(expenses.size() * 2);
+        for (Expense expense : expenses) {
+            incomingIds.add(expense.getId());
+        }
+
+        // Removed rows
+        List<Expense> removed = new ArrayList<>();
+        for (Expense existing : expensesById.values()) {
+            if (!incomingIds.contains(existing.getId())) {
+                removed.add(existing);
+            }
+        }
+        for (Expense expense : removed) {
+            remove(expense);
+        }
+
+        // Inserted and changed rows
+        for (Expense expense : expenses) {
+            Expense existing = expensesById.get(expense.getId());
+            if (existing == null) {
+                insert(expense);
+            } else if (!isSameRow(existing, expense)) {
+                remove(existing);
+                insert(expense);
+            }
+        }
+
+        return flatten();
+    }
+
+    private void insert(Expense expense) {
+        long key = grouping.periodStart(buckets, expense.getDate());
+        Section section = sections.get(key);
+        if (section == null) {
+            section = new Section(key);
+            sections.put(key, section);
+        }
+        section.add(expense, TransactionRow.from(expense, currency, amountColor));
+        expensesById.put(expense.getId(), expense);
+    }
+
+    private void remove(Expense expense) {
+        long key = grouping.periodStart(buckets, expense.getDate());
+        Section section = sections.get(key);
+        if (section != null) {
+            section.remove(expense);
+            if (section.isEmpty()) {
+                sections.remove(key);
+            }
+        }
+        expensesById.remove(expense.getId());
+        itemsById.remove(expense.getId());
+    }
+
+    private List<TimelineItem> flatten() {
+        List<TimelineItem> items = new ArrayList<>(expensesById.size() + sections.size());
+        for (Section section : sections.values()) {
+            int headerPosition = items.size();
+            items.add(section.getHeader());
+            for (TransactionRow row : section.rows.values()) {
+                TimelineItem.Row item = itemsById.get(row.getId());
+                if (item == null || item.getRow() != row || item.getHeaderPosition() != headerPosition) {
+                    item = new TimelineItem.Row(row, headerPosition);
+                    itemsById.put(row.getId(), item);
+                }
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static boolean isSameRow(Expense a, Expense b) {
+        return a.getAmount() == b.getAmount()
+                && a.getDate() == b.getDate()
+                && Objects.equals(a.getCategory(), b.getCategory())
+                && Objects.equals(a.getNotes(), b.getNotes())
+                && Objects.equals(a.getType(), b.getType());
+    }
+
+    private String formatLabel(long sectionStart) {
+        switch (grouping) {
+            case MONTH:
+                return monthFormat.format(sectionStart);
+            case WEEK:
+                return "Week of " + dayFormat.format(sectionStart);
+            case DAY:
+            default:
+                if (sectionStart == todayStart) {
+                    return "Today";
+                }
+                if (sectionStart == buckets.startOfDay(buckets.epochDay(todayStart) - 1)) {
+                    return "Yesterday";
+                }
+                return dayFormat.format(sectionStart);
+        }
+    }
+
+    /**
+     * One dated section; subtotals are kept in minor units so removals do not drift.
+     */
+    private class Section {
+        final long start;
+        final TreeMap<Expense, TransactionRow> rows = new TreeMap<>(ROW_ORDER);
+        long incomeMinor;
+        long expenseMinor;
+        TimelineItem.Header header;
+
+        Section(long start) {
+            this.start = start;
+        }
+
+        void add(Expense expense, TransactionRow row) {
+            rows.put(expense, row);
+            adjust(expense, 1);
+        }
+
+        void remove(Expense expense) {
+            if (rows.remove(expense) != null) {
+                adjust(expense, -1);
+            }
+        }
+
+        boolean isEmpty() {
+            return rows.isEmpty();
+        }
+
+        private void adjust(Expense expense, int sign) {
+            long minor = Math.round(expense.getAmount() * 100) * sign;
+            if (Constants.TYPE_INCOME.equals(expense.getType())) {
+                incomeMinor += minor;
+            } else {
+                expenseMinor += minor;
+            }
+            header = null;
+        }
+
+        TimelineItem.Header getHeader() {
+            if (header == null) {
+                long net = incomeMinor - expenseMinor;
+                String subtotal = CurrencyUtils.formatAmountWithSign(net / 100.0, currency, net < 0);
+                header = new TimelineItem.Header(start, formatLabel(start), subtotal);
+            }
+            return header;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.expensetrackerapp.ui.transactions;
 
+import android.content.Intent;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -8,21 +9,20 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
+import com.example.expensetrackerapp.ExpenseTrackerApp;
 import com.example.expensetrackerapp.R;
-import com.example.expensetrackerapp.data.local.entity.Expense;
-import com.example.expensetrackerapp.data.repository.ExpenseRepository;
 import com.example.expensetrackerapp.databinding.FragmentTransactionsBinding;
+import com.example.expensetrackerapp.ui.debug.ScrollAllocationProbe;
+import com.example.expensetrackerapp.ui.search.SearchActivity;
+import com.example.expensetrackerapp.ui.shared.ExpenseViewModel;
 import com.example.expensetrackerapp.utils.Constants;
-import com.example.expensetrackerapp.utils.DateUtils;
-import com.google.android.material.chip.Chip;
+import com.example.expensetrackerapp.utils.SettingsStore;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Fragment for displaying and filtering all transactions.
@@ -30,11 +30,10 @@ import java.util.stream.Collectors;
 public class TransactionsFragment extends Fragment {
 
     private FragmentTransactionsBinding binding;
-    private ExpenseRepository expenseRepository;
-    private TransactionAdapter adapter;
-    private int currentFilter = Constants.FILTER_ALL;
-    private String currentCategoryFilter = null; // null means "All Categories"
-    private List<Expense> allTransactions = new ArrayList<>();
+    private ExpenseViewModel viewModel;
+    private TimelineAdapter adapter;
+    private CategoryChipAdapter categoryAdapter;
+    private StickyHeaderDecoration headerDecoration;
 
     @Nullable
     @Override
@@ -48,142 +47,120 @@ public class TransactionsFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        expenseRepository = ExpenseRepository.getInstance(requireContext());
+        viewModel = new ViewModelProvider(requireActivity()).get(ExpenseViewModel.class);
 
         setupRecyclerView();
         setupDateFilterChips();
         observeTransactions();
+
+        binding.btnSearch.setOnClickListener(v ->
+                startActivity(new Intent(requireContext(), SearchActivity.class)));
     }
 
     private void setupRecyclerView() {
-        adapter = new TransactionAdapter(requireContext(), new ArrayList<>(), expense -> {
+        adapter = new TimelineAdapter(expense -> {
             // Open edit bottom sheet
             AddExpenseBottomSheet bottomSheet = AddExpenseBottomSheet.newInstance(expense.getId());
             bottomSheet.show(getParentFragmentManager(), "EditExpenseBottomSheet");
         });
+        headerDecoration = new StickyHeaderDecoration(adapter);
 
         binding.rvTransactions.setLayoutManager(new LinearLayoutManager(requireContext()));
         binding.rvTransactions.setAdapter(adapter);
+        binding.rvTransactions.addItemDecoration(headerDecoration);
+
+        // Allocation logging (debuggable builds only)
+        if (ExpenseTrackerApp.isDebuggable()) {
+            binding.rvTransactions.addOnScrollListener(new ScrollAllocationProbe("transactions"));
+        }
+
+        categoryAdapter = new CategoryChipAdapter(category -> viewModel.setTransactionCategory(category));
+        binding.rvCategoryChips.setLayoutManager(
+                new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL, false));
+        binding.rvCategoryChips.setItemAnimator(null);
+        binding.rvCategoryChips.setAdapter(categoryAdapter);
     }
 
     private void setupDateFilterChips() {
+        // Restore the chip for the filter the ViewModel remembers
+        switch (viewModel.getTransactionFilter().getValue().getDateFilter()) {
+            case Constants.FILTER_TODAY:
+                binding.chipToday.setChecked(true);
+                break;
+            case Constants.FILTER_WEEK:
+                binding.chipWeek.setChecked(true);
+                break;
+            case Constants.FILTER_MONTH:
+                binding.chipMonth.setChecked(true);
+                break;
+            default:
+                binding.chipAll.setChecked(true);
+                break;
+        }
+
         binding.chipAll.setOnCheckedChangeListener((buttonView, isChecked) -> {
             if (isChecked) {
-                currentFilter = Constants.FILTER_ALL;
-                observeTransactions();
+                viewModel.setTransactionDateFilter(Constants.FILTER_ALL);
             }
         });
 
         binding.chipToday.setOnCheckedChangeListener((buttonView, isChecked) -> {
             if (isChecked) {
-                currentFilter = Constants.FILTER_TODAY;
-                observeTransactions();
+                viewModel.setTransactionDateFilter(Constants.FILTER_TODAY);
             }
         });
 
         binding.chipWeek.setOnCheckedChangeListener((buttonView, isChecked) -> {
             if (isChecked) {
-                currentFilter = Constants.FILTER_WEEK;
-                observeTransactions();
+                viewModel.setTransactionDateFilter(Constants.FILTER_WEEK);
             }
         });
 
         binding.chipMonth.setOnCheckedChangeListener((buttonView, isChecked) -> {
             if (isChecked) {
-                currentFilter = Constants.FILTER_MONTH;
-                observeTransactions();
+                viewModel.setTransactionDateFilter(Constants.FILTER_MONTH);
             }
         });
     }
 
+    /**
+     * Observe the filter pipeline once; chip taps only change the filter state.
+     */
     private void observeTransactions() {
-        long[] dateRange = DateUtils.getDateRangeForFilter(currentFilter);
-
-        expenseRepository.getByDateRange(dateRange[0], dateRange[1])
-                .observe(getViewLifecycleOwner(), expenses -> {
-                    if (expenses != null) {
-                        allTransactions = new ArrayList<>(expenses);
-                        populateCategoryChips(allTransactions);
-                        applyFilters();
-                    } else {
-                        allTransactions.clear();
-                        updateTransactionList(new ArrayList<>());
-                    }
-                });
+        viewModel.getTransactionCategories().observe(getViewLifecycleOwner(), categories ->
+                categoryAdapter.setCategories(categories != null ? categories : new ArrayList<>()));
+        viewModel.getTransactionFilter().observe(getViewLifecycleOwner(), filter ->
+                categoryAdapter.setSelectedCategory(filter.getCategory()));
+        viewModel.getTimeline().observe(getViewLifecycleOwner(), this::updateTransactionList);
+        // Rows carry preformatted amounts; the timeline is rebuilt when the currency changes
+        SettingsStore.getInstance(requireContext()).getCurrency().observe(getViewLifecycleOwner(),
+                currency -> viewModel.setTimelineDisplay(currency, requireContext().getColor(R.color.text_primary)));
     }
 
-    private void populateCategoryChips(List<Expense> expenses) {
-        binding.chipGroupCategory.removeAllViews();
-
-        // Add "All Categories" chip
-        Chip allChip = new Chip(requireContext());
-        allChip.setText("All");
-        allChip.setCheckable(true);
-        allChip.setCheckedIconVisible(false);
-        allChip.setChipBackgroundColorResource(R.color.surface);
-        allChip.setTextAppearance(R.style.TextAppearance_App_Chip);
-        allChip.setChecked(currentCategoryFilter == null);
-        allChip.setOnCheckedChangeListener((buttonView, isChecked) -> {
-            if (isChecked) {
-                currentCategoryFilter = null;
-                applyFilters();
-            }
-        });
-        binding.chipGroupCategory.addView(allChip);
-
-        // Extract unique categories
-        Set<String> categories = new HashSet<>();
-        for (Expense e : expenses) {
-            if (e.getCategory() != null && !e.getCategory().isEmpty()) {
-                categories.add(e.getCategory());
-            }
-        }
-
-        // Add a chip for each category
-        for (String category : categories) {
-            Chip chip = new Chip(requireContext());
-            chip.setText(category);
-            chip.setCheckable(true);
-            chip.setCheckedIconVisible(false);
-            chip.setChipBackgroundColorResource(R.color.surface);
-            chip.setTextAppearance(R.style.TextAppearance_App_Chip);
-            chip.setChecked(category.equals(currentCategoryFilter));
-            chip.setOnCheckedChangeListener((buttonView, isChecked) -> {
-                if (isChecked) {
-                    currentCategoryFilter = category;
-                    applyFilters();
+    private void updateTransactionList(List<TimelineItem> items) {
+        if (items != null && !items.isEmpty()) {
+            adapter.submitList(items, () -> {
+                headerDecoration.invalidateHeader();
+                if (binding != null) {
+                    binding.rvTransactions.invalidateItemDecorations();
                 }
             });
-            binding.chipGroupCategory.addView(chip);
-        }
-    }
-
-    private void applyFilters() {
-        List<Expense> filtered;
-
-        if (currentCategoryFilter == null) {
-            filtered = new ArrayList<>(allTransactions);
-        } else {
-            filtered = allTransactions.stream()
-                    .filter(e -> currentCategoryFilter.equalsIgnoreCase(e.getCategory()))
-                    .collect(Collectors.toList());
-        }
-
-        updateTransactionList(filtered);
-    }
-
-    private void updateTransactionList(List<Expense> expenses) {
-        if (expenses != null && !expenses.isEmpty()) {
-            adapter.updateData(expenses);
             binding.rvTransactions.setVisibility(View.VISIBLE);
             binding.layoutEmptyState.setVisibility(View.GONE);
         } else {
-            adapter.updateData(new ArrayList<>());
+            adapter.submitList(new ArrayList<>());
             binding.rvTransactions.setVisibility(View.GONE);
             binding.layoutEmptyState.setVisibility(View.VISIBLE);
         }
     }
 
+    @Override
+    public void onResume() {
+        super.onResume();
+        // The tab stays alive across midnight, when Today and This Week move on
+        viewModel.refreshTransactionRange();
+    }
+
     @Override
     public void onDestroyView() {
         super.onDestroyView();
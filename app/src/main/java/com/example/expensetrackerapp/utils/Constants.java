@@ -16,11 +16,16 @@ public class Constants {
     public static final String PREFS_NAME = "expense_tracker_prefs";
     public static final String KEY_THEME_MODE = "theme_mode";
     public static final String KEY_CURRENCY = "currency";
+    public static final String KEY_CURRENCY_CHANGED_AT = "currency_changed_at";
+    public static final String KEY_CURRENCY_USER_ID = "currency_user_id";
     public static final String KEY_REMINDER_ENABLED = "reminder_enabled";
     public static final String KEY_REMINDER_TIME = "reminder_time";
     public static final String KEY_APP_LOCK_ENABLED = "app_lock_enabled";
     public static final String KEY_FIRST_LAUNCH = "first_launch";
     public static final String KEY_GUEST_DATA_EXISTS = "guest_data_exists";
+    public static final String KEY_WIPE_USER_ID = "wipe_user_id";
+    public static final String KEY_WIPE_PHASE = "wipe_phase";
+    public static final String KEY_WIPE_DELETED_COUNT = "wipe_deleted_count";
 
     // Theme modes
     public static final int THEME_SYSTEM = 0;
@@ -87,9 +92,22 @@ public class Constants {
     public static final double BUDGET_WARNING_THRESHOLD = 0.8; // 80%
     public static final double BUDGET_EXCEEDED_THRESHOLD = 1.0; // 100%
 
+    // Cloud write rate limiting
+    public static final int CLOUD_WRITE_BUCKET_CAPACITY = 50;
+    public static final double CLOUD_WRITE_REFILL_PER_SECOND = 10.0;
+    public static final int CLOUD_WRITE_MAX_RETRIES = 5;
+    public static final long CLOUD_WRITE_BASE_BACKOFF_MS = 500;
+    public static final long CLOUD_WRITE_MAX_BACKOFF_MS = 30_000;
+
+    // Firestore allows at most 500 operations per write batch
+    public static final int FIRESTORE_BATCH_LIMIT = 500;
+
     // WorkManager tags
     public static final String WORK_TAG_REMINDER = "expense_reminder";
     public static final String WORK_TAG_BUDGET_CHECK = "budget_check";
+    public static final String WORK_NAME_ACCOUNT_WIPE = "account_wipe";
+    public static final String WORK_NAME_EXPORT = "export";
+    public static final String WORK_NAME_DATABASE_BACKUP = "database_backup";
 
     // Intent extras
     public static final String EXTRA_EXPENSE_ID = "expense_id";
@@ -1,45 +1,86 @@
 package com.example.expensetrackerapp.utils;
 
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
-import java.util.Currency;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utility class for currency formatting.
  */
 public class CurrencyUtils {
 
+    // Each thread keeps its own formatter for the current locale; NumberFormat is not thread-safe
+    private static final ThreadLocal<AmountFormatter> FORMATTERS = new ThreadLocal<>();
+
+    // Counted only while the debug scroll probe is attached
+    private static volatile boolean counting;
+    private static final AtomicLong formatCount = new AtomicLong();
+    private static final AtomicLong fastPathCount = new AtomicLong();
+
     /**
      * Format amount with currency symbol.
      */
     public static String formatAmount(double amount, String currency) {
-        String symbol = Constants.getCurrencySymbol(currency);
-        NumberFormat formatter = NumberFormat.getNumberInstance(Locale.getDefault());
-        formatter.setMinimumFractionDigits(2);
-        formatter.setMaximumFractionDigits(2);
-        return symbol + " " + formatter.format(amount);
+        AmountFormatter formatter = formatter();
+        StringBuilder out = formatter.buffer;
+        out.append(Constants.getCurrencySymbol(currency)).append(' ');
+        formatter.append(out, amount);
+        return out.toString();
     }
 
     /**
      * Format amount without currency symbol.
      */
     public static String formatAmountWithoutSymbol(double amount) {
-        NumberFormat formatter = NumberFormat.getNumberInstance(Locale.getDefault());
-        formatter.setMinimumFractionDigits(2);
-        formatter.setMaximumFractionDigits(2);
-        return formatter.format(amount);
+        AmountFormatter formatter = formatter();
+        StringBuilder out = formatter.buffer;
+        formatter.append(out, amount);
+        return out.toString();
     }
 
     /**
      * Format amount with sign (+ or -).
      */
     public static String formatAmountWithSign(double amount, String currency, boolean isExpense) {
-        String symbol = Constants.getCurrencySymbol(currency);
-        NumberFormat formatter = NumberFormat.getNumberInstance(Locale.getDefault());
-        formatter.setMinimumFractionDigits(2);
-        formatter.setMaximumFractionDigits(2);
-        String sign = isExpense ? "-" : "+";
-        return sign + symbol + " " + formatter.format(Math.abs(amount));
+        AmountFormatter formatter = formatter();
+        StringBuilder out = formatter.buffer;
+        out.append(isExpense ? '-' : '+').append(Constants.getCurrencySymbol(currency)).append(' ');
+        formatter.append(out, Math.abs(amount));
+        return out.toString();
+    }
+
+    /**
+     * Start counting formatted amounts; off by default so release builds skip it.
+     */
+    public static void setCounting(boolean enabled) {
+        counting = enabled;
+    }
+
+    /**
+     * Amounts formatted while counting.
+     */
+    public static long getFormatCount() {
+        return formatCount.get();
+    }
+
+    /**
+     * Amounts that took the fixed-point fast path rather than NumberFormat.
+     */
+    public static long getFastPathCount() {
+        return fastPathCount.get();
+    }
+
+    private static AmountFormatter formatter() {
+        Locale locale = Locale.getDefault();
+        AmountFormatter formatter = FORMATTERS.get();
+        if (formatter == null || !formatter.locale.equals(locale)) {
+            formatter = new AmountFormatter(locale);
+            FORMATTERS.set(formatter);
+        }
+        formatter.buffer.setLength(0);
+        return formatter;
     }
 
     /**
@@ -102,4 +143,105 @@ public class CurrencyUtils {
                 "£ GBP - British Pound"
         };
     }
+
+    /**
+     * Two-decimal number formatting for one locale, confined to one thread.
+     * Non-negative amounts are written straight from their minor units into the
+     * reusable buffer; anything the fast path cannot reproduce exactly goes
+     * through the cached NumberFormat.
+     */
+    private static final class AmountFormatter {
+
+        // Keeps amount * 100 precise enough to tell a rounding tie apart
+        private static final double MAX_FAST_AMOUNT = 1e9;
+        private static final double TIE_TOLERANCE = 1e-4;
+
+        final Locale locale;
+        final StringBuilder buffer = new StringBuilder(32);
+        private final NumberFormat numberFormat;
+        private final boolean fastPath;
+        private char zeroDigit;
+        private char groupingSeparator;
+        private char decimalSeparator;
+        private int groupingSize;
+
+        AmountFormatter(Locale locale) {
+            this.locale = locale;
+            numberFormat = NumberFormat.getNumberInstance(locale);
+            numberFormat.setMinimumFractionDigits(2);
+            numberFormat.setMaximumFractionDigits(2);
+
+            boolean usable = false;
+            if (numberFormat instanceof DecimalFormat) {
+                DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
+                DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+                zeroDigit = symbols.getZeroDigit();
+                groupingSeparator = symbols.getGroupingSeparator();
+                decimalSeparator = symbols.getDecimalSeparator();
+                groupingSize = decimalFormat.isGroupingUsed() ? decimalFormat.getGroupingSize() : 0;
+                // Catches locales the simple layout cannot express, e.g. Indian lakh grouping
+                usable = matchesNumberFormat(0) && matchesNumberFormat(7.5)
+                        && matchesNumberFormat(1234567.89) && matchesNumberFormat(98765432.1);
+            }
+            fastPath = usable;
+        }
+
+        void append(StringBuilder out, double amount) {
+            boolean fast = fastPath && appendFixedPoint(out, amount);
+            if (!fast) {
+                out.append(numberFormat.format(amount));
+            }
+            if (counting) {
+                formatCount.incrementAndGet();
+                if (fast) {
+                    fastPathCount.incrementAndGet();
+                }
+            }
+        }
+
+        private boolean matchesNumberFormat(double amount) {
+            StringBuilder probe = new StringBuilder();
+            return appendFixedPoint(probe, amount) && probe.toString().equals(numberFormat.format(amount));
+        }
+
+        /**
+         * Append the amount rounded half-even to two decimals, or return false and
+         * append nothing when the result could differ from NumberFormat's.
+         */
+        private boolean appendFixedPoint(StringBuilder out, double amount) {
+            // The sign bit also catches -0.0, which NumberFormat prints as "-0.00"
+            if (Double.doubleToRawLongBits(amount) < 0 || !(amount < MAX_FAST_AMOUNT)) {
+                return false;
+            }
+            double scaled = amount * 100;
+            if (Math.abs(scaled - Math.floor(scaled) - 0.5) < TIE_TOLERANCE) {
+                // Near a tie only the exact binary value decides the rounding
+                return false;
+            }
+            long minor = (long) Math.rint(scaled);
+
+            int start = out.length();
+            long whole = minor / 100;
+            int digits = 0;
+            do {
+                if (groupingSize > 0 && digits > 0 && digits % groupingSize == 0) {
+                    out.append(groupingSeparator);
+                }
+                out.append((char) (zeroDigit + whole % 10));
+                whole /= 10;
+                digits++;
+            } while (whole > 0);
+            for (int i = start, j = out.length() - 1; i < j; i++, j--) {
+                char c = out.charAt(i);
+                out.setCharAt(i, out.charAt(j));
+                out.setCharAt(j, c);
+            }
+
+            int fraction = (int) (minor % 100);
+            out.append(decimalSeparator)
+                    .append((char) (zeroDigit + fraction / 10))
+                    .append((char) (zeroDigit + fraction % 10));
+            return true;
+        }
+    }
 }
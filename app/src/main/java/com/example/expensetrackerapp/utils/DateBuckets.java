@@ -0,0 +1,298 @@
+package com.example.expensetrackerapp.utils;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Maps timestamps to day, week, month and year buckets with integer arithmetic.
+ * An instance is built once per time zone: the zone's offset transitions for a
+ * window around now are found up front, so lookups inside the window never touch
+ * Calendar or TimeZone. Days are identified by local epoch day (days since
+ * 1970-01-01 in the zone). Instances are immutable and safe to share across threads.
+ */
+public final class DateBuckets {
+
+    public enum Unit {
+        DAY,
+        WEEK,
+        MONTH,
+        YEAR
+    }
+
+    public static final long MILLIS_PER_DAY = 86_400_000L;
+
+    // Offset transitions are precomputed this many years either side of creation;
+    // lookups outside the window fall back to the TimeZone
+    private static final int WINDOW_YEARS_BEFORE = 10;
+    private static final int WINDOW_YEARS_AFTER = 2;
+
+    private static volatile DateBuckets defaultInstance;
+
+    private final TimeZone zone;
+    private final Locale locale;
+    private final int firstDayOfWeek;
+    private final long windowStart;
+    private final long windowEnd;
+
+    // transitions[i] is the first instant at which offsets[i + 1] applies;
+    // offsets[0] applies from windowStart
+    private final long[] transitions;
+    private final int[] offsets;
+
+    private DateBuckets(TimeZone zone, Locale locale, long now) {
+        this.zone = zone;
+        this.locale = locale;
+        this.firstDayOfWeek = Calendar.getInstance(zone, locale).getFirstDayOfWeek();
+        this.windowStart = now - WINDOW_YEARS_BEFORE * 366L * MILLIS_PER_DAY;
+        this.windowEnd = now + WINDOW_YEARS_AFTER * 366L * MILLIS_PER_DAY;
+
+        long[] foundTransitions = new long[16];
+        int[] foundOffsets = new int[17];
+        int count = 0;
+        int offset = zone.getOffset(windowStart);
+        foundOffsets[0] = offset;
+
+        // Zones never change offset twice within a day, so a daily probe sees every
+        // transition; each one is then narrowed down to the millisecond
+        for (long probe = windowStart + MILLIS_PER_DAY; probe < windowEnd; probe += MILLIS_PER_DAY) {
+            int probeOffset = zone.getOffset(probe);
+            if (probeOffset == offset) {
+                continue;
+            }
+            long low = probe - MILLIS_PER_DAY;
+            long high = probe;
+            while (high - low > 1) {
+                long mid = (low + high) >>> 1;
+                if (zone.getOffset(mid) == offset) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            if (count == foundTransitions.length) {
+                foundTransitions = Arrays.copyOf(foundTransitions, count * 2);
+                foundOffsets = Arrays.copyOf(foundOffsets, count * 2 + 1);
+            }
+            foundTransitions[count] = high;
+            foundOffsets[++count] = probeOffset;
+            offset = probeOffset;
+        }
+
+        this.transitions = Arrays.copyOf(foundTransitions, count);
+        this.offsets = Arrays.copyOf(foundOffsets, count + 1);
+    }
+
+    /**
+     * Buckets for a specific zone and locale, with the lookup window around {@code now}.
+     */
+    static DateBuckets of(TimeZone zone, Locale locale, long now) {
+        return new DateBuckets(zone, locale, now);
+    }
+
+    /**
+     * Buckets for the device's current time zone and locale. Rebuilt when either
+     * changes; callers bucketing many timestamps should hold on to the result.
+     */
+    public static DateBuckets getDefault() {
+        TimeZone zone = TimeZone.getDefault();
+        Locale locale = Locale.getDefault();
+        DateBuckets buckets = defaultInstance;
+        if (buckets == null || !buckets.zone.getID().equals(zone.getID()) || !buckets.locale.equals(locale)) {
+            buckets = new DateBuckets(zone, locale, System.currentTimeMillis());
+            defaultInstance = buckets;
+        }
+        return buckets;
+    }
+
+    // --- Instants and days ---
+
+    /**
+     * UTC offset of the zone at the given instant.
+     */
+    public int offsetAt(long millis) {
+        if (millis < windowStart || millis >= windowEnd) {
+            return zone.getOffset(millis);
+        }
+        int index = Arrays.binarySearch(transitions, millis);
+        return offsets[index >= 0 ? index + 1 : -index - 1];
+    }
+
+    /**
+     * Local epoch day containing the instant.
+     */
+    public long epochDay(long millis) {
+        return Math.floorDiv(millis + offsetAt(millis), MILLIS_PER_DAY);
+    }
+
+    /**
+     * First instant of the local day. When clocks fall back over midnight, midnight
+     * happens twice and the day starts at the first; when midnight is skipped, the
+     * day starts where the gap ends.
+     */
+    public long startOfDay(long epochDay) {
+        long local = epochDay * MILLIS_PER_DAY;
+        // Offsets never exceed a day, so midnight lies within a day of local either way
+        // and is reached under the offset in force before or after any transition there
+        int before = offsetAt(local - MILLIS_PER_DAY);
+        int after = offsetAt(local + MILLIS_PER_DAY);
+        long early = local - before;
+        long late = local - after;
+        boolean earlyValid = offsetAt(early) == before;
+        boolean lateValid = offsetAt(late) == after;
+
+        if (earlyValid && lateValid) {
+            return Math.min(early, late);
+        }
+        if (earlyValid) {
+            return early;
+        }
+        if (lateValid) {
+            return late;
+        }
+        return transitionAfter(Math.min(early, late), Math.max(early, late));
+    }
+
+    /**
+     * First instant in (low, high] whose offset differs from the one at low.
+     */
+    private long transitionAfter(long low, long high) {
+        int offset = offsetAt(low);
+        while (high - low > 1) {
+            long mid = (low + high) >>> 1;
+            if (offsetAt(mid) == offset) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
+    }
+
+    // --- Buckets ---
+
+    /**
+     * First epoch day of the bucket containing the day.
+     */
+    public long bucketDay(long epochDay, Unit unit) {
+        switch (unit) {
+            case WEEK:
+                return epochDay - Math.floorMod(dayOfWeek(epochDay) - firstDayOfWeek, 7);
+            case MONTH:
+                return epochDay - dayOfMonth(epochDay) + 1;
+            case YEAR:
+                return daysFromCivil(year(epochDay), 1, 1);
+            case DAY:
+            default:
+                return epochDay;
+        }
+    }
+
+    /**
+     * First epoch day of the bucket after the one containing the day.
+     */
+    public long nextBucketDay(long epochDay, Unit unit) {
+        switch (unit) {
+            case WEEK:
+                return bucketDay(epochDay, unit) + 7;
+            case MONTH:
+                return addMonths(bucketDay(epochDay, unit), 1);
+            case YEAR:
+                return daysFromCivil(year(epochDay) + 1, 1, 1);
+            case DAY:
+            default:
+                return epochDay + 1;
+        }
+    }
+
+    /**
+     * First instant of the bucket containing the instant.
+     */
+    public long bucketStart(long millis, Unit unit) {
+        return startOfDay(bucketDay(epochDay(millis), unit));
+    }
+
+    /**
+     * Last millisecond of the bucket containing the instant.
+     */
+    public long bucketEnd(long millis, Unit unit) {
+        return startOfDay(nextBucketDay(epochDay(millis), unit)) - 1;
+    }
+
+    public int getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    // --- Civil calendar arithmetic (proleptic Gregorian) ---
+
+    /**
+     * Day of week in {@link Calendar#SUNDAY}..{@link Calendar#SATURDAY} numbering.
+     */
+    public static int dayOfWeek(long epochDay) {
+        // 1970-01-01 was a Thursday
+        return (int) Math.floorMod(epochDay + 4, 7) + 1;
+    }
+
+    public static int year(long epochDay) {
+        return civil(epochDay) >> 9;
+    }
+
+    /**
+     * Month of year, 1-12.
+     */
+    public static int month(long epochDay) {
+        return (civil(epochDay) >> 5) & 0xF;
+    }
+
+    public static int dayOfMonth(long epochDay) {
+        return civil(epochDay) & 0x1F;
+    }
+
+    /**
+     * The same day of month the given number of months later, clamped to the
+     * length of the target month.
+     */
+    public static long addMonths(long epochDay, int months) {
+        int packed = civil(epochDay);
+        long monthIndex = (packed >> 9) * 12L + ((packed >> 5) & 0xF) - 1 + months;
+        int year = (int) Math.floorDiv(monthIndex, 12);
+        int month = (int) Math.floorMod(monthIndex, 12) + 1;
+        int day = Math.min(packed & 0x1F, lengthOfMonth(year, month));
+        return daysFromCivil(year, month, day);
+    }
+
+    public static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Epoch day of a calendar date; month is 1-12.
+     */
+    public static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    // Year, month and day packed as (year << 9) | (month << 5) | day
+    private static int civil(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+        return (year << 9) | (month << 5) | day;
+    }
+}
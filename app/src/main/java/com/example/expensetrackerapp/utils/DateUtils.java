@@ -1,8 +1,6 @@
 package com.example.expensetrackerapp.utils;
 
-import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
 
@@ -11,149 +9,114 @@ import java.util.Locale;
  */
 public class DateUtils {
 
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault());
-    private static final SimpleDateFormat DATE_TIME_FORMAT = new SimpleDateFormat("dd MMM yyyy, hh:mm a",
-            Locale.getDefault());
-    private static final SimpleDateFormat MONTH_YEAR_FORMAT = new SimpleDateFormat("MMMM yyyy", Locale.getDefault());
-    private static final SimpleDateFormat DAY_MONTH_FORMAT = new SimpleDateFormat("dd MMM", Locale.getDefault());
-    private static final SimpleDateFormat WEEK_DAY_FORMAT = new SimpleDateFormat("EEE", Locale.getDefault());
+    // SimpleDateFormat is not thread-safe; each thread gets its own copy
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = formatter("dd MMM yyyy");
+    private static final ThreadLocal<SimpleDateFormat> DATE_TIME_FORMAT = formatter("dd MMM yyyy, hh:mm a");
+    private static final ThreadLocal<SimpleDateFormat> MONTH_YEAR_FORMAT = formatter("MMMM yyyy");
+    private static final ThreadLocal<SimpleDateFormat> DAY_MONTH_FORMAT = formatter("dd MMM");
+    private static final ThreadLocal<SimpleDateFormat> WEEK_DAY_FORMAT = formatter("EEE");
+
+    private static ThreadLocal<SimpleDateFormat> formatter(String pattern) {
+        return ThreadLocal.withInitial(() -> new SimpleDateFormat(pattern, Locale.getDefault()));
+    }
 
     /**
      * Format timestamp to readable date string.
      */
     public static String formatDate(long timestamp) {
-        return DATE_FORMAT.format(new Date(timestamp));
+        return DATE_FORMAT.get().format(new Date(timestamp));
     }
 
     /**
      * Format timestamp to readable date-time string.
      */
     public static String formatDateTime(long timestamp) {
-        return DATE_TIME_FORMAT.format(new Date(timestamp));
+        return DATE_TIME_FORMAT.get().format(new Date(timestamp));
     }
 
     /**
      * Format timestamp to month-year string.
      */
     public static String formatMonthYear(long timestamp) {
-        return MONTH_YEAR_FORMAT.format(new Date(timestamp));
+        return MONTH_YEAR_FORMAT.get().format(new Date(timestamp));
     }
 
     /**
      * Format timestamp to day-month string.
      */
     public static String formatDayMonth(long timestamp) {
-        return DAY_MONTH_FORMAT.format(new Date(timestamp));
+        return DAY_MONTH_FORMAT.get().format(new Date(timestamp));
     }
 
     /**
      * Get weekday name from timestamp.
      */
     public static String getWeekDay(long timestamp) {
-        return WEEK_DAY_FORMAT.format(new Date(timestamp));
+        return WEEK_DAY_FORMAT.get().format(new Date(timestamp));
     }
 
     /**
      * Get start of today in milliseconds.
      */
     public static long getStartOfToday() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTimeInMillis();
+        return startOfCurrent(DateBuckets.Unit.DAY);
     }
 
     /**
      * Get end of today in milliseconds.
      */
     public static long getEndOfToday() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.HOUR_OF_DAY, 23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        calendar.set(Calendar.MILLISECOND, 999);
-        return calendar.getTimeInMillis();
+        return endOfCurrent(DateBuckets.Unit.DAY);
     }
 
     /**
      * Get start of current week in milliseconds.
      */
     public static long getStartOfWeek() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.DAY_OF_WEEK, calendar.getFirstDayOfWeek());
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTimeInMillis();
+        return startOfCurrent(DateBuckets.Unit.WEEK);
     }
 
     /**
      * Get end of current week in milliseconds.
      */
     public static long getEndOfWeek() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.DAY_OF_WEEK, calendar.getFirstDayOfWeek());
-        calendar.add(Calendar.DAY_OF_WEEK, 6);
-        calendar.set(Calendar.HOUR_OF_DAY, 23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        calendar.set(Calendar.MILLISECOND, 999);
-        return calendar.getTimeInMillis();
+        return endOfCurrent(DateBuckets.Unit.WEEK);
     }
 
     /**
      * Get start of current month in milliseconds.
      */
     public static long getStartOfMonth() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTimeInMillis();
+        return startOfCurrent(DateBuckets.Unit.MONTH);
     }
 
     /**
      * Get end of current month in milliseconds.
      */
     public static long getEndOfMonth() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.DAY_OF_MONTH, calendar.getActualMaximum(Calendar.DAY_OF_MONTH));
-        calendar.set(Calendar.HOUR_OF_DAY, 23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        calendar.set(Calendar.MILLISECOND, 999);
-        return calendar.getTimeInMillis();
+        return endOfCurrent(DateBuckets.Unit.MONTH);
     }
 
     /**
      * Get start of current year in milliseconds.
      */
     public static long getStartOfYear() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.DAY_OF_YEAR, 1);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTimeInMillis();
+        return startOfCurrent(DateBuckets.Unit.YEAR);
     }
 
     /**
      * Get end of current year in milliseconds.
      */
     public static long getEndOfYear() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.DAY_OF_YEAR, calendar.getActualMaximum(Calendar.DAY_OF_YEAR));
-        calendar.set(Calendar.HOUR_OF_DAY, 23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        calendar.set(Calendar.MILLISECOND, 999);
-        return calendar.getTimeInMillis();
+        return endOfCurrent(DateBuckets.Unit.YEAR);
+    }
+
+    private static long startOfCurrent(DateBuckets.Unit unit) {
+        return DateBuckets.getDefault().bucketStart(System.currentTimeMillis(), unit);
+    }
+
+    private static long endOfCurrent(DateBuckets.Unit unit) {
+        return DateBuckets.getDefault().bucketEnd(System.currentTimeMillis(), unit);
     }
 
     /**
@@ -179,37 +142,22 @@ public class DateUtils {
      * Check if timestamp is today.
      */
     public static boolean isToday(long timestamp) {
-        long startOfToday = getStartOfToday();
-        long endOfToday = getEndOfToday();
-        return timestamp >= startOfToday && timestamp <= endOfToday;
+        DateBuckets buckets = DateBuckets.getDefault();
+        return buckets.epochDay(timestamp) == buckets.epochDay(System.currentTimeMillis());
     }
 
     /**
      * Get relative date string (Today, Yesterday, or date).
      */
     public static String getRelativeDateString(long timestamp) {
-        if (isToday(timestamp)) {
+        DateBuckets buckets = DateBuckets.getDefault();
+        long daysAgo = buckets.epochDay(System.currentTimeMillis()) - buckets.epochDay(timestamp);
+        if (daysAgo == 0) {
             return "Today";
         }
-
-        Calendar yesterday = Calendar.getInstance();
-        yesterday.add(Calendar.DAY_OF_YEAR, -1);
-        yesterday.set(Calendar.HOUR_OF_DAY, 0);
-        yesterday.set(Calendar.MINUTE, 0);
-        yesterday.set(Calendar.SECOND, 0);
-        yesterday.set(Calendar.MILLISECOND, 0);
-
-        Calendar endOfYesterday = Calendar.getInstance();
-        endOfYesterday.add(Calendar.DAY_OF_YEAR, -1);
-        endOfYesterday.set(Calendar.HOUR_OF_DAY, 23);
-        endOfYesterday.set(Calendar.MINUTE, 59);
-        endOfYesterday.set(Calendar.SECOND, 59);
-        endOfYesterday.set(Calendar.MILLISECOND, 999);
-
-        if (timestamp >= yesterday.getTimeInMillis() && timestamp <= endOfYesterday.getTimeInMillis()) {
+        if (daysAgo == 1) {
             return "Yesterday";
         }
-
         return formatDate(timestamp);
     }
 }
@@ -50,19 +50,6 @@ public class PreferenceManager {
         }
     }
 
-    // Currency management
-    public void setCurrency(String currency) {
-        prefs.edit().putString(Constants.KEY_CURRENCY, currency).apply();
-    }
-
-    public String getCurrency() {
-        return prefs.getString(Constants.KEY_CURRENCY, Constants.CURRENCY_BDT);
-    }
-
-    public String getCurrencySymbol() {
-        return Constants.getCurrencySymbol(getCurrency());
-    }
-
     // Reminder settings
     public void setReminderEnabled(boolean enabled) {
         prefs.edit().putBoolean(Constants.KEY_REMINDER_ENABLED, enabled).apply();
@@ -107,6 +94,37 @@ public class PreferenceManager {
         return prefs.getBoolean(Constants.KEY_GUEST_DATA_EXISTS, false);
     }
 
+    // Account wipe checkpoint (committed synchronously so it survives process death)
+    public void setWipeCheckpoint(String userId, int phase, long deletedCount) {
+        prefs.edit()
+                .putString(Constants.KEY_WIPE_USER_ID, userId)
+                .putInt(Constants.KEY_WIPE_PHASE, phase)
+                .putLong(Constants.KEY_WIPE_DELETED_COUNT, deletedCount)
+                .commit();
+    }
+
+    public int getWipePhase(String userId) {
+        if (userId == null || !userId.equals(prefs.getString(Constants.KEY_WIPE_USER_ID, null))) {
+            return 0;
+        }
+        return prefs.getInt(Constants.KEY_WIPE_PHASE, 0);
+    }
+
+    public long getWipeDeletedCount(String userId) {
+        if (userId == null || !userId.equals(prefs.getString(Constants.KEY_WIPE_USER_ID, null))) {
+            return 0;
+        }
+        return prefs.getLong(Constants.KEY_WIPE_DELETED_COUNT, 0);
+    }
+
+    public void clearWipeCheckpoint() {
+        prefs.edit()
+                .remove(Constants.KEY_WIPE_USER_ID)
+                .remove(Constants.KEY_WIPE_PHASE)
+                .remove(Constants.KEY_WIPE_DELETED_COUNT)
+                .commit();
+    }
+
     // Clear all preferences
     public void clearAll() {
         prefs.edit().clear().apply();
@@ -0,0 +1,182 @@
+package com.example.expensetrackerapp.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.expensetrackerapp.data.local.entity.UserProfile;
+import com.example.expensetrackerapp.data.repository.UserRepository;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory copy of the display settings, read from preferences once in the
+ * background and published as LiveData so screens re-render when a setting
+ * changes instead of re-reading it. Changes are written back in batches.
+ *
+ * <p>The currency is also stored on the user's {@link UserProfile}, which is what
+ * syncs between devices. {@link #reconcile} settles the two copies: whichever
+ * was changed last wins, and a different account's profile always wins.
+ */
+public class SettingsStore {
+
+    // Changes within this window go to disk in one write
+    private static final long WRITE_DELAY_MS = 300;
+
+    private static SettingsStore instance;
+
+    private final Context context;
+    private final ScheduledExecutorService ioExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final MutableLiveData<String> currency = new MutableLiveData<>();
+
+    // Read and written on ioExecutor only
+    private SharedPreferences prefs;
+
+    // Guarded by this
+    private String currentCurrency = Constants.CURRENCY_BDT;
+    private long currencyChangedAt;
+    private String currencyUserId;
+    private boolean dirty;
+    private boolean writeScheduled;
+
+    private SettingsStore(Context context) {
+        this.context = context.getApplicationContext();
+        ioExecutor.execute(this::load);
+    }
+
+    public static synchronized SettingsStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new SettingsStore(context);
+        }
+        return instance;
+    }
+
+    private void load() {
+        prefs = context.getSharedPreferences(Constants.PREFS_NAME, Context.MODE_PRIVATE);
+        String storedCurrency = prefs.getString(Constants.KEY_CURRENCY, null);
+
+        synchronized (this) {
+            if (currencyUserId == null) {
+                currencyUserId = prefs.getString(Constants.KEY_CURRENCY_USER_ID, null);
+            }
+            // A change made before the load finished is newer than what is on disk
+            if (!dirty && storedCurrency != null) {
+                currentCurrency = storedCurrency;
+                currencyChangedAt = prefs.getLong(Constants.KEY_CURRENCY_CHANGED_AT, 0);
+                if (currencyChangedAt == 0) {
+                    // Chosen before changes were timestamped; keep it over the profile's copy
+                    currencyChangedAt = System.currentTimeMillis();
+                    scheduleWrite();
+                }
+            }
+            // Posted under the lock so emissions keep the order of the changes
+            currency.postValue(currentCurrency);
+        }
+        loaded.countDown();
+    }
+
+    // --- Currency ---
+
+    /**
+     * The currency code; emits once loaded and again on every change.
+     */
+    public LiveData<String> getCurrency() {
+        return currency;
+    }
+
+    /**
+     * The currency code, waiting for the first load if needed. For background work.
+     */
+    public String getCurrencySync() throws InterruptedException {
+        loaded.await();
+        synchronized (this) {
+            return currentCurrency;
+        }
+    }
+
+    /**
+     * Change the currency on this device. Callers update the profile as well.
+     */
+    public void setCurrency(String code) {
+        synchronized (this) {
+            if (code.equals(currentCurrency)) {
+                return;
+            }
+            currentCurrency = code;
+            currencyChangedAt = System.currentTimeMillis();
+            scheduleWrite();
+            currency.postValue(code);
+        }
+    }
+
+    /**
+     * Settle the currency with the signed-in user's profile: adopt the profile's
+     * value when it is newer or belongs to another account, otherwise bring the
+     * profile up to date. Safe to call on every profile emission.
+     */
+    public void reconcile(UserProfile profile) {
+        if (profile == null || profile.getUserId() == null || profile.getCurrency() == null) {
+            return;
+        }
+        // Queued behind the load so the stored timestamps are known
+        ioExecutor.execute(() -> reconcileLoaded(profile));
+    }
+
+    private void reconcileLoaded(UserProfile profile) {
+        String stale;
+        synchronized (this) {
+            boolean sameAccount = currencyUserId == null || currencyUserId.equals(profile.getUserId());
+            if (!profile.getUserId().equals(currencyUserId)) {
+                currencyUserId = profile.getUserId();
+                scheduleWrite();
+            }
+            if (profile.getCurrency().equals(currentCurrency)) {
+                return;
+            }
+
+            if (!sameAccount || profile.getUpdatedAt() >= currencyChangedAt) {
+                currentCurrency = profile.getCurrency();
+                currencyChangedAt = profile.getUpdatedAt();
+                scheduleWrite();
+                currency.postValue(currentCurrency);
+                return;
+            }
+            stale = currentCurrency;
+        }
+        UserRepository.getInstance(context).updateCurrency(stale, null);
+    }
+
+    // --- Persistence ---
+
+    /**
+     * Mark the settings dirty and write them after a short delay. Called with the lock held.
+     */
+    private void scheduleWrite() {
+        dirty = true;
+        if (!writeScheduled) {
+            writeScheduled = true;
+            ioExecutor.schedule(this::write, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void write() {
+        SharedPreferences.Editor editor = prefs.edit();
+        synchronized (this) {
+            writeScheduled = false;
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            editor.putString(Constants.KEY_CURRENCY, currentCurrency)
+                    .putLong(Constants.KEY_CURRENCY_CHANGED_AT, currencyChangedAt)
+                    .putString(Constants.KEY_CURRENCY_USER_ID, currencyUserId);
+        }
+        editor.apply();
+    }
+}
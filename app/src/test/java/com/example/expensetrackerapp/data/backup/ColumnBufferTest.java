@@ -0,0 +1,177 @@
+package com.example.expensetrackerapp.data.backup;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class ColumnBufferTest {
+
+    @Test
+    public void varintsRoundTrip() throws IOException {
+        long[] values = { 0, 1, 127, 128, 300, 16383, 16384, Integer.MAX_VALUE, 1L << 35, Long.MAX_VALUE, -1,
+                Long.MIN_VALUE };
+        ColumnBuffer buffer = new ColumnBuffer(1);
+        for (long value : values) {
+            buffer.writeVarint(value);
+        }
+
+        ColumnReader reader = roundTrip(buffer);
+        for (long value : values) {
+            assertEquals(value, reader.readVarint());
+        }
+        reader.requireConsumed();
+    }
+
+    @Test
+    public void smallVarintsTakeOneByte() {
+        ColumnBuffer buffer = new ColumnBuffer(16);
+        buffer.writeVarint(127);
+        assertEquals(1, buffer.size());
+        buffer.writeVarint(128);
+        assertEquals(3, buffer.size());
+        buffer.writeVarint(-1);
+        assertEquals(13, buffer.size());
+    }
+
+    @Test
+    public void signedVarintsRoundTripAndStaySmallNearZero() throws IOException {
+        long[] values = { 0, -1, 1, -64, 63, -65, 64, Long.MIN_VALUE, Long.MAX_VALUE, -86_400_000L };
+        ColumnBuffer buffer = new ColumnBuffer(4);
+        for (long value : values) {
+            buffer.writeSignedVarint(value);
+        }
+
+        ColumnReader reader = roundTrip(buffer);
+        for (long value : values) {
+            assertEquals(value, reader.readSignedVarint());
+        }
+        reader.requireConsumed();
+
+        ColumnBuffer small = new ColumnBuffer(4);
+        small.writeSignedVarint(-64);
+        small.writeSignedVarint(63);
+        assertEquals(2, small.size());
+    }
+
+    @Test
+    public void stringsRoundTrip() throws IOException {
+        String[] values = { "", null, "Food", "ক্যাফে ☕", "🍕 pizza", repeat('x', 70_000) };
+        ColumnBuffer buffer = new ColumnBuffer(2);
+        for (String value : values) {
+            buffer.writeString(value);
+        }
+
+        ColumnReader reader = roundTrip(buffer);
+        for (String value : values) {
+            assertEquals(value, reader.readString());
+        }
+        reader.requireConsumed();
+    }
+
+    @Test
+    public void amountsRoundTripExactly() throws IOException {
+        Random random = new Random(7);
+        double[] values = new double[2000];
+        double[] fixed = { 0, 0.01, 12.5, -12.5, 1234567.89, 0.1 + 0.2, 1.0 / 3, 9_999_999_999_999.99, 1e13, -1e300,
+                Double.MIN_VALUE, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN };
+        System.arraycopy(fixed, 0, values, 0, fixed.length);
+        for (int i = fixed.length; i < values.length; i++) {
+            values[i] = i % 2 == 0
+                    ? Math.round(random.nextGaussian() * 1e7) / 100.0
+                    : random.nextDouble() * 1e6;
+        }
+
+        ColumnBuffer buffer = new ColumnBuffer(8);
+        for (double value : values) {
+            buffer.writeAmount(value);
+        }
+
+        ColumnReader reader = roundTrip(buffer);
+        for (double value : values) {
+            assertEquals(Double.doubleToLongBits(value), Double.doubleToLongBits(reader.readAmount()));
+        }
+        reader.requireConsumed();
+    }
+
+    @Test
+    public void centAmountsTakeFewBytes() {
+        ColumnBuffer buffer = new ColumnBuffer(8);
+        buffer.writeAmount(12.5);
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    public void columnsFollowOneAnotherInAStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnBuffer buffer = new ColumnBuffer(4);
+        buffer.writeString("first");
+        buffer.writeColumnTo(out);
+        buffer.reset();
+        buffer.writeSignedVarint(-5);
+        buffer.writeColumnTo(out);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        ColumnReader reader = new ColumnReader();
+        reader.readColumn(in);
+        assertEquals("first", reader.readString());
+        assertFalse(reader.hasRemaining());
+        reader.readColumn(in);
+        assertEquals(-5, reader.readSignedVarint());
+        reader.requireConsumed();
+        assertEquals(-1, in.read());
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedColumnFails() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnBuffer buffer = new ColumnBuffer(4);
+        buffer.writeString("truncated");
+        buffer.writeColumnTo(out);
+        byte[] bytes = out.toByteArray();
+
+        new ColumnReader().readColumn(new ByteArrayInputStream(bytes, 0, bytes.length - 1));
+    }
+
+    @Test(expected = IOException.class)
+    public void unreadBytesFail() throws IOException {
+        ColumnBuffer buffer = new ColumnBuffer(4);
+        buffer.writeVarint(1);
+        buffer.writeVarint(2);
+
+        ColumnReader reader = roundTrip(buffer);
+        reader.readVarint();
+        reader.requireConsumed();
+    }
+
+    @Test
+    public void nullStringIsOneByte() throws IOException {
+        ColumnBuffer buffer = new ColumnBuffer(4);
+        buffer.writeString(null);
+        assertEquals(1, buffer.size());
+        assertNull(roundTrip(buffer).readString());
+    }
+
+    private static ColumnReader roundTrip(ColumnBuffer buffer) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buffer.writeColumnTo(out);
+        ColumnReader reader = new ColumnReader();
+        reader.readColumn(new ByteArrayInputStream(out.toByteArray()));
+        return reader;
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
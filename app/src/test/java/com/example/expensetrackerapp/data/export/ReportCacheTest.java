@@ -0,0 +1,167 @@
+package com.example.expensetrackerapp.data.export;
+
+import com.example.expensetrackerapp.data.local.model.DataFingerprint;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReportCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ReportCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ReportCache(new File(folder.getRoot(), "reports"), 250);
+    }
+
+    // --- Keys ---
+
+    @Test
+    public void keyIsStableForTheSameInputs() {
+        String key = key("user", 0, 100, "pdf", "BDT", 5, 10);
+
+        assertEquals(key, key("user", 0, 100, "pdf", "BDT", 5, 10));
+        assertTrue(key.endsWith(".pdf"));
+        assertTrue(key.matches("[0-9a-f]{64}\\.pdf"));
+    }
+
+    @Test
+    public void everyInputChangesTheKey() {
+        Set<String> keys = new HashSet<>(Arrays.asList(
+                key("user", 0, 100, "pdf", "BDT", 5, 10),
+                key("other", 0, 100, "pdf", "BDT", 5, 10),
+                key("user", 1, 100, "pdf", "BDT", 5, 10),
+                key("user", 0, 101, "pdf", "BDT", 5, 10),
+                key("user", 0, 100, "csv", "BDT", 5, 10),
+                key("user", 0, 100, "pdf", "USD", 5, 10),
+                key("user", 0, 100, "pdf", "BDT", 6, 10),
+                key("user", 0, 100, "pdf", "BDT", 5, 9),
+                ReportCache.key("user", 0, 100, "category", "pdf", "BDT", fingerprint(5, 10))));
+
+        assertEquals(9, keys.size());
+    }
+
+    @Test
+    public void fieldsCannotRunTogether() {
+        // Without separators "ab" + "c" and "a" + "bc" would hash alike
+        assertNotEquals(ReportCache.key("ab", 0, 1, "c", "csv", "", fingerprint(0, 0)),
+                ReportCache.key("a", 0, 1, "bc", "csv", "", fingerprint(0, 0)));
+    }
+
+    // --- Storage ---
+
+    @Test
+    public void missReturnsNull() {
+        assertNull(cache.get(key("user", 0, 100, "csv", "", 1, 1)));
+    }
+
+    @Test
+    public void putThenGetReturnsACopy() throws IOException {
+        File report = report("report", 100);
+        String key = key("user", 0, 100, "csv", "", 1, 1);
+
+        cache.put(key, report);
+        report.delete();
+
+        File cached = cache.get(key);
+        assertNotNull(cached);
+        assertArrayEquals(bytes(100), Files.readAllBytes(cached.toPath()));
+    }
+
+    @Test
+    public void reportsOverTheBudgetAreNotCached() throws IOException {
+        String key = key("user", 0, 100, "pdf", "", 1, 1);
+
+        cache.put(key, report("large", 251));
+
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedFirst() throws IOException {
+        String first = key("user", 0, 100, "csv", "", 1, 1);
+        String second = key("user", 0, 200, "csv", "", 1, 1);
+        String third = key("user", 0, 300, "csv", "", 1, 1);
+        cache.put(first, report("first", 100));
+        cache.put(second, report("second", 100));
+        new File(folder.getRoot(), "reports/" + first).setLastModified(1_000_000_000L);
+        new File(folder.getRoot(), "reports/" + second).setLastModified(2_000_000_000L);
+
+        // Reading the older entry makes it the most recently used
+        assertNotNull(cache.get(first));
+        cache.put(third, report("third", 100));
+
+        assertNull(cache.get(second));
+        assertNotNull(cache.get(first));
+        assertNotNull(cache.get(third));
+    }
+
+    @Test
+    public void keepsEverythingWithinTheBudget() throws IOException {
+        String first = key("user", 0, 100, "csv", "", 1, 1);
+        String second = key("user", 0, 200, "csv", "", 1, 1);
+        cache.put(first, report("first", 125));
+        cache.put(second, report("second", 125));
+
+        assertNotNull(cache.get(first));
+        assertNotNull(cache.get(second));
+    }
+
+    @Test
+    public void clearDropsEverything() throws IOException {
+        String key = key("user", 0, 100, "csv", "", 1, 1);
+        cache.put(key, report("report", 10));
+
+        cache.clear();
+
+        assertNull(cache.get(key));
+    }
+
+    private static String key(String userId, long start, long end, String format, String variant,
+            long maxUpdatedAt, int rowCount) {
+        return ReportCache.key(userId, start, end, "", format, variant, fingerprint(maxUpdatedAt, rowCount));
+    }
+
+    private static DataFingerprint fingerprint(long maxUpdatedAt, int rowCount) {
+        DataFingerprint fingerprint = new DataFingerprint();
+        fingerprint.maxUpdatedAt = maxUpdatedAt;
+        fingerprint.rowCount = rowCount;
+        return fingerprint;
+    }
+
+    private File report(String name, int length) throws IOException {
+        File file = folder.newFile(name);
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(bytes(length));
+        }
+        return file;
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+}
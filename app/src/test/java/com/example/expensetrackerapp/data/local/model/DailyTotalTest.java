@@ -0,0 +1,94 @@
+package com.example.expensetrackerapp.data.local.model;
+
+import com.example.expensetrackerapp.utils.DateBuckets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class DailyTotalTest {
+
+    private TimeZone savedZone;
+    private Locale savedLocale;
+
+    @Before
+    public void saveDefaults() {
+        savedZone = TimeZone.getDefault();
+        savedLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+    }
+
+    @After
+    public void restoreDefaults() {
+        TimeZone.setDefault(savedZone);
+        Locale.setDefault(savedLocale);
+    }
+
+    @Test
+    public void amountsEitherSideOfSpringForwardKeepTheirOwnDays() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        TimeZone.setDefault(TimeZone.getTimeZone(zone));
+
+        // 1 March is still on standard time, 31 March on daylight time
+        long firstOfMonth = millis(LocalDateTime.of(2024, 3, 1, 0, 30), zone);
+        long lastOfMonth = millis(LocalDateTime.of(2024, 3, 31, 23, 30), zone);
+        long nextMonth = millis(LocalDateTime.of(2024, 4, 1, 0, 30), zone);
+        List<DailyTotal> days = DailyTotal.sumByDay(Arrays.asList(
+                amount(firstOfMonth, 1), amount(lastOfMonth, 2), amount(nextMonth, 4)), DateBuckets.getDefault());
+
+        assertEquals(3, days.size());
+        assertDay(LocalDateTime.of(2024, 3, 1, 0, 0), 1, days.get(0));
+        assertDay(LocalDateTime.of(2024, 3, 31, 0, 0), 2, days.get(1));
+        assertDay(LocalDateTime.of(2024, 4, 1, 0, 0), 4, days.get(2));
+    }
+
+    @Test
+    public void amountsOnTheSameDayAreSummed() {
+        ZoneId zone = ZoneId.of("Europe/London");
+        TimeZone.setDefault(TimeZone.getTimeZone(zone));
+
+        // Clocks go back at 02:00 on 27 October 2024, so the day is 25 hours long
+        List<DatedAmount> amounts = new ArrayList<>();
+        amounts.add(amount(millis(LocalDateTime.of(2024, 10, 27, 0, 0), zone), 1));
+        amounts.add(amount(millis(LocalDateTime.of(2024, 10, 27, 1, 30), zone), 2));
+        amounts.add(amount(millis(LocalDateTime.of(2024, 10, 27, 1, 30), zone) + 3_600_000L, 3));
+        amounts.add(amount(millis(LocalDateTime.of(2024, 10, 27, 23, 45), zone), 4));
+        amounts.add(amount(millis(LocalDateTime.of(2024, 10, 28, 0, 0), zone), 5));
+        List<DailyTotal> days = DailyTotal.sumByDay(amounts, DateBuckets.getDefault());
+
+        assertEquals(2, days.size());
+        assertDay(LocalDateTime.of(2024, 10, 27, 0, 0), 10, days.get(0));
+        assertDay(LocalDateTime.of(2024, 10, 28, 0, 0), 5, days.get(1));
+    }
+
+    @Test
+    public void noAmountsGiveNoDays() {
+        assertEquals(0, DailyTotal.sumByDay(new ArrayList<>(), DateBuckets.getDefault()).size());
+    }
+
+    private static void assertDay(LocalDateTime localDay, double total, DailyTotal day) {
+        assertEquals(localDay.toLocalDate().toEpochDay(), day.day);
+        assertEquals(total, day.total, 0);
+    }
+
+    private static long millis(LocalDateTime local, ZoneId zone) {
+        return local.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static DatedAmount amount(long date, double value) {
+        DatedAmount amount = new DatedAmount();
+        amount.date = date;
+        amount.amount = value;
+        return amount;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.expensetrackerapp.data.remote;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long START = 1_000 * SECOND;
+
+    // --- Token bucket ---
+
+    @Test
+    public void burstUpToCapacityThenWait() {
+        TokenBucket bucket = new TokenBucket(5, 2, START);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(1, START));
+        }
+        // Empty: one token takes half a second at 2 per second
+        assertEquals(SECOND / 2, bucket.tryAcquire(1, START));
+    }
+
+    @Test
+    public void refillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(5, 2, START);
+        drain(bucket, 5, START);
+
+        assertEquals(0, bucket.tryAcquire(1, START + SECOND / 2));
+        assertTrue(bucket.tryAcquire(1, START + SECOND / 2) > 0);
+        assertEquals(0, bucket.tryAcquire(2, START + SECOND / 2 + SECOND));
+    }
+
+    @Test
+    public void refillStopsAtCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 2, START);
+        drain(bucket, 5, START);
+
+        long later = START + 3600 * SECOND;
+        drain(bucket, 5, later);
+        assertTrue(bucket.tryAcquire(1, later) > 0);
+    }
+
+    @Test
+    public void costIsCappedAtCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 1, START);
+
+        assertEquals(0, bucket.tryAcquire(500, START));
+        // The oversized cost drained the whole bucket
+        assertEquals(SECOND, bucket.tryAcquire(1, START));
+    }
+
+    @Test
+    public void waitCoversTheMissingTokens() {
+        TokenBucket bucket = new TokenBucket(10, 4, START);
+        drain(bucket, 7, START);
+
+        // 3 left, 5 more needed at 4 per second
+        assertEquals(SECOND * 5 / 4, bucket.tryAcquire(8, START));
+    }
+
+    @Test
+    public void configureRefillsAndSanitizes() {
+        TokenBucket bucket = new TokenBucket(5, 2, START);
+        drain(bucket, 5, START);
+
+        bucket.configure(0, 0, START);
+        assertEquals(0.1, bucket.getRefillPerSecond(), 0);
+        assertEquals(0, bucket.tryAcquire(1, START));
+        assertTrue(bucket.tryAcquire(1, START) > 0);
+    }
+
+    // --- AIMD ---
+
+    @Test
+    public void throttleHalvesTheRateAndPauses() {
+        TokenBucket bucket = new TokenBucket(5, 8, START);
+
+        bucket.onThrottled(2 * SECOND, START);
+
+        assertEquals(4, bucket.getRefillPerSecond(), 0);
+        assertEquals(2 * SECOND, bucket.tryAcquire(1, START));
+        assertEquals(SECOND, bucket.tryAcquire(1, START + SECOND));
+    }
+
+    @Test
+    public void throttleEmptiesTheBucket() {
+        TokenBucket bucket = new TokenBucket(5, 8, START);
+        long throttledAt = START + 600 * SECOND;
+
+        bucket.onThrottled(SECOND, throttledAt);
+
+        // Only what refilled since the pause ended is available, not the idle time before it
+        long resumed = throttledAt + SECOND;
+        assertEquals(SECOND / 4, bucket.tryAcquire(1, resumed));
+        assertEquals(0, bucket.tryAcquire(1, resumed + SECOND / 4));
+        assertTrue(bucket.tryAcquire(1, resumed + SECOND / 4) > 0);
+    }
+
+    @Test
+    public void overlappingThrottlesKeepTheLaterPause() {
+        TokenBucket bucket = new TokenBucket(5, 8, START);
+
+        bucket.onThrottled(5 * SECOND, START);
+        bucket.onThrottled(SECOND, START + SECOND);
+
+        assertEquals(4 * SECOND, bucket.tryAcquire(1, START + SECOND));
+        assertEquals(2, bucket.getRefillPerSecond(), 0);
+    }
+
+    @Test
+    public void rateNeverDropsBelowTheFloor() {
+        TokenBucket bucket = new TokenBucket(5, 1, START);
+
+        for (int i = 0; i < 20; i++) {
+            bucket.onThrottled(0, START);
+        }
+
+        assertEquals(0.1, bucket.getRefillPerSecond(), 0);
+    }
+
+    @Test
+    public void successesRecoverAdditivelyToTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(5, 10, START);
+        bucket.onThrottled(0, START);
+        assertEquals(5, bucket.getRefillPerSecond(), 0);
+
+        bucket.onSuccess();
+        assertEquals(6, bucket.getRefillPerSecond(), 1e-9);
+        for (int i = 0; i < 10; i++) {
+            bucket.onSuccess();
+        }
+        assertEquals(10, bucket.getRefillPerSecond(), 0);
+    }
+
+    @Test
+    public void successAtFullRateChangesNothing() {
+        TokenBucket bucket = new TokenBucket(5, 10, START);
+
+        bucket.onSuccess();
+
+        assertEquals(10, bucket.getRefillPerSecond(), 0);
+    }
+
+    private static void drain(TokenBucket bucket, int tokens, long now) {
+        for (int i = 0; i < tokens; i++) {
+            assertEquals(0, bucket.tryAcquire(1, now));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.expensetrackerapp.ui.analytics;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class AnalyticsLoaderTest {
+
+    private static final String TYPE = "expense";
+
+    // 15 June 2020, well clear of any month edge in every time zone
+    private final AnalyticsPeriod period = AnalyticsPeriod.containing(AnalyticsPeriod.Unit.MONTH, 1592222400000L);
+
+    private final QueueExecutor worker = new QueueExecutor();
+    private final QueueExecutor main = new QueueExecutor();
+    private final List<AnalyticsResult> computed = new ArrayList<>();
+    private final AnalyticsLoader loader = new AnalyticsLoader((p, type) -> {
+        AnalyticsResult result = new AnalyticsResult(p, type, computed.size(), 0, 0, Collections.emptyList(), null);
+        computed.add(result);
+        return result;
+    }, null, worker, main);
+
+    @Test
+    public void loadDeliversComputedResult() {
+        List<AnalyticsResult> delivered = new ArrayList<>();
+        loader.load(period, TYPE, delivered::add);
+        drain();
+
+        assertEquals(1, delivered.size());
+        assertSame(period, delivered.get(0).getPeriod());
+    }
+
+    @Test
+    public void twoInvalidationsDuringOneLoadStillDeliverTheLatest() {
+        List<AnalyticsResult> delivered = new ArrayList<>();
+        loader.setOnInvalidatedListener(() -> loader.load(period, TYPE, delivered::add));
+        loader.load(period, TYPE, delivered::add);
+
+        // An insert and then the follow-up cloud id update, both before the first load finishes
+        loader.invalidate();
+        loader.invalidate();
+        drain();
+
+        assertEquals(1, delivered.size());
+        AnalyticsResult result = delivered.get(0);
+        assertSame(period, result.getPeriod());
+        // Only the load started after the last invalidation may answer
+        assertSame(lastComputedFor(period), result);
+    }
+
+    @Test
+    public void staleResultIsNotCached() {
+        loader.load(period, TYPE, result -> { });
+        loader.invalidate();
+        runWorkerAndMain();
+
+        List<AnalyticsResult> delivered = new ArrayList<>();
+        loader.load(period, TYPE, delivered::add);
+        // Not served from the cache, so nothing arrives until the new load runs
+        assertEquals(0, delivered.size());
+        drain();
+        assertEquals(1, delivered.size());
+    }
+
+    private AnalyticsResult lastComputedFor(AnalyticsPeriod p) {
+        for (int i = computed.size() - 1; i >= 0; i--) {
+            if (computed.get(i).getPeriod().equals(p)) {
+                return computed.get(i);
+            }
+        }
+        throw new AssertionError("Never computed");
+    }
+
+    private void runWorkerAndMain() {
+        worker.runAll();
+        main.runAll();
+    }
+
+    private void drain() {
+        while (!worker.isIdle() || !main.isIdle()) {
+            runWorkerAndMain();
+        }
+    }
+
+    /**
+     * Runs tasks only when asked, so tests decide how work interleaves.
+     */
+    private static class QueueExecutor extends AbstractExecutorService {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean shutdown;
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        boolean isIdle() {
+            return tasks.isEmpty();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            List<Runnable> dropped = new ArrayList<>(tasks);
+            tasks.clear();
+            return dropped;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && tasks.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isTerminated();
+        }
+    }
+}
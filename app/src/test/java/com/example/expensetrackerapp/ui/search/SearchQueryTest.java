@@ -0,0 +1,75 @@
+package com.example.expensetrackerapp.ui.search;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SearchQueryTest {
+
+    @Test
+    public void wholeNumberMatchesTheWholeUnit() {
+        SearchQuery query = SearchQuery.parse("12");
+        assertTrue(query.matchesAmount(12.00));
+        assertTrue(query.matchesAmount(12.99));
+        assertFalse(query.matchesAmount(13.00));
+        assertFalse(query.matchesAmount(11.99));
+        assertNull(query.getText());
+    }
+
+    @Test
+    public void decimalMatchesToTheCent() {
+        for (String input : new String[] { "12.50", "12,50", "12.5", "12,5" }) {
+            SearchQuery query = SearchQuery.parse(input);
+            assertTrue(input, query.matchesAmount(12.50));
+            assertFalse(input, query.matchesAmount(12.51));
+        }
+    }
+
+    @Test
+    public void thousandsSeparatorsAreDropped() {
+        assertAmount("1,250", 1250);
+        assertAmount("1.250", 1250);
+        assertAmount("12,345,678", 12345678);
+        assertAmount("1,250.50", 1250.50);
+        assertAmount("1.250,50", 1250.50);
+    }
+
+    @Test
+    public void lakhGroupingIsAccepted() {
+        assertAmount("1,25,000", 125000);
+        assertAmount("1,25,000.75", 125000.75);
+    }
+
+    @Test
+    public void currencyPrefixIsIgnored() {
+        assertAmount("$1,250", 1250);
+        assertAmount("৳500", 500);
+    }
+
+    @Test
+    public void malformedNumbersAreSearchedAsText() {
+        for (String input : new String[] { "1.2.3", "12.", "1,2345", "1,2,3", ",", "." }) {
+            SearchQuery query = SearchQuery.parse(input);
+            assertFalse(input, query.hasAmount());
+            assertEquals(input, input, query.getText());
+        }
+    }
+
+    @Test
+    public void mixedQueryKeepsBothParts() {
+        SearchQuery query = SearchQuery.parse("rent 1,250");
+        assertEquals("rent", query.getText());
+        assertTrue(query.matchesAmount(1250));
+        assertFalse(query.matchesAmount(1.25));
+    }
+
+    private static void assertAmount(String input, double amount) {
+        SearchQuery query = SearchQuery.parse(input);
+        assertTrue(input, query.hasAmount());
+        assertTrue(input, query.matchesAmount(amount));
+        assertNull(input, query.getText());
+    }
+}
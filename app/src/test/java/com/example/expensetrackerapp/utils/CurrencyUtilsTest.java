@@ -0,0 +1,94 @@
+package com.example.expensetrackerapp.utils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CurrencyUtilsTest {
+
+    private static final Locale[] LOCALES = {
+            Locale.US, Locale.GERMANY, Locale.FRANCE, new Locale("en", "IN"), new Locale("bn", "BD"),
+            new Locale("ar", "EG"), new Locale("de", "CH"), Locale.JAPAN
+    };
+
+    private final Locale defaultLocale = Locale.getDefault();
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+        CurrencyUtils.setCounting(false);
+    }
+
+    @Test
+    public void matchesNumberFormatAcrossLocales() {
+        Random random = new Random(42);
+        for (Locale locale : LOCALES) {
+            Locale.setDefault(locale);
+            NumberFormat expected = numberFormat(locale);
+
+            for (double amount : new double[] { 0, 0.01, 0.5, 0.995, 1.005, 2.675, 7.5, 999.999, 1000,
+                    1234567.89, 98765432.1, 999999999.99, 1e9, 1e12, -0.0, -12.5, Double.NaN }) {
+                assertFormat(locale, expected, amount);
+            }
+            for (int i = 0; i < 20_000; i++) {
+                // Whole cents, the cent ties in between, and arbitrary doubles
+                long cents = (long) (random.nextDouble() * 1e11);
+                assertFormat(locale, expected, cents / 100.0);
+                assertFormat(locale, expected, (cents + 0.5) / 100.0);
+                assertFormat(locale, expected, random.nextDouble() * Math.pow(10, random.nextInt(10)));
+            }
+        }
+    }
+
+    @Test
+    public void symbolAndSignWrapTheNumber() {
+        Locale.setDefault(Locale.US);
+
+        assertEquals("$ 1,234.50", CurrencyUtils.formatAmount(1234.5, Constants.CURRENCY_USD));
+        assertEquals("-$ 12.00", CurrencyUtils.formatAmountWithSign(-12, Constants.CURRENCY_USD, true));
+        assertEquals("+$ 12.00", CurrencyUtils.formatAmountWithSign(12, Constants.CURRENCY_USD, false));
+    }
+
+    @Test
+    public void countsOnlyWhileCounting() {
+        Locale.setDefault(Locale.US);
+        long formats = CurrencyUtils.getFormatCount();
+        CurrencyUtils.formatAmountWithoutSymbol(1.25);
+        assertEquals(formats, CurrencyUtils.getFormatCount());
+
+        CurrencyUtils.setCounting(true);
+        long fastPath = CurrencyUtils.getFastPathCount();
+        CurrencyUtils.formatAmountWithoutSymbol(1.25);
+        CurrencyUtils.formatAmountWithoutSymbol(-1.25);
+        assertEquals(formats + 2, CurrencyUtils.getFormatCount());
+        assertEquals(fastPath + 1, CurrencyUtils.getFastPathCount());
+    }
+
+    @Test
+    public void fastPathServesCommonLocales() {
+        CurrencyUtils.setCounting(true);
+        for (Locale locale : new Locale[] { Locale.US, Locale.GERMANY, Locale.FRANCE }) {
+            Locale.setDefault(locale);
+            long fastPath = CurrencyUtils.getFastPathCount();
+            CurrencyUtils.formatAmountWithoutSymbol(1234.56);
+            assertTrue(locale.toString(), CurrencyUtils.getFastPathCount() > fastPath);
+        }
+    }
+
+    private static void assertFormat(Locale locale, NumberFormat expected, double amount) {
+        assertEquals(locale + " " + amount, expected.format(amount), CurrencyUtils.formatAmountWithoutSymbol(amount));
+    }
+
+    private static NumberFormat numberFormat(Locale locale) {
+        NumberFormat format = NumberFormat.getNumberInstance(locale);
+        format.setMinimumFractionDigits(2);
+        format.setMaximumFractionDigits(2);
+        return format;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.expensetrackerapp.utils;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.WeekFields;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class DateBucketsTest {
+
+    // 1 January 2018; the lookup window then covers 2008 to 2019
+    private static final long NOW = 1514764800000L;
+
+    private static final long FIRST_DAY = LocalDate.of(2008, 1, 10).toEpochDay();
+    private static final long LAST_DAY = LocalDate.of(2019, 12, 20).toEpochDay();
+
+    @Test
+    public void startOfDayMatchesJavaTimeAroundEveryTransition() {
+        for (String id : ZoneId.getAvailableZoneIds()) {
+            ZoneId zoneId = ZoneId.of(id);
+            ZoneRules rules = zoneId.getRules();
+            DateBuckets buckets = DateBuckets.of(TimeZone.getTimeZone(id), Locale.US, NOW);
+
+            ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(NOW - 3650L * DateBuckets.MILLIS_PER_DAY));
+            while (transition != null && transition.getInstant().toEpochMilli() < NOW + 700L * DateBuckets.MILLIS_PER_DAY) {
+                long day = transition.getDateTimeBefore().toLocalDate().toEpochDay();
+                for (long d = day - 1; d <= day + 2; d++) {
+                    assertStartOfDay(id, buckets, zoneId, d);
+                }
+                transition = rules.nextTransition(transition.getInstant());
+            }
+        }
+    }
+
+    @Test
+    public void startOfDayMatchesJavaTimeOnOrdinaryDays() {
+        for (String id : new String[] { "UTC", "America/New_York", "Europe/London", "Asia/Dhaka",
+                "Asia/Kolkata", "Australia/Lord_Howe", "Pacific/Chatham", "America/St_Johns" }) {
+            ZoneId zoneId = ZoneId.of(id);
+            DateBuckets buckets = DateBuckets.of(TimeZone.getTimeZone(id), Locale.US, NOW);
+            for (long d = FIRST_DAY; d <= LAST_DAY; d++) {
+                assertStartOfDay(id, buckets, zoneId, d);
+            }
+        }
+    }
+
+    @Test
+    public void fallBackOverMidnightStartsAtTheFirstMidnight() {
+        DateBuckets buckets = DateBuckets.of(TimeZone.getTimeZone("Asia/Amman"), Locale.US, NOW);
+        long day = LocalDate.of(2017, 10, 27).toEpochDay();
+
+        assertEquals(Instant.parse("2017-10-26T21:00:00Z").toEpochMilli(), buckets.startOfDay(day));
+    }
+
+    @Test
+    public void skippedMidnightStartsWhereTheGapEnds() {
+        // Clocks in Sao Paulo jumped from 00:00 to 01:00 on 15 October 2017
+        DateBuckets buckets = DateBuckets.of(TimeZone.getTimeZone("America/Sao_Paulo"), Locale.US, NOW);
+        long day = LocalDate.of(2017, 10, 15).toEpochDay();
+
+        assertEquals(Instant.parse("2017-10-15T03:00:00Z").toEpochMilli(), buckets.startOfDay(day));
+    }
+
+    @Test
+    public void bucketsMatchJavaTime() {
+        ZoneId zoneId = ZoneId.of("Europe/Berlin");
+        DateBuckets buckets = DateBuckets.of(TimeZone.getTimeZone(zoneId), Locale.GERMANY, NOW);
+        WeekFields week = WeekFields.of(Locale.GERMANY);
+
+        for (long d = FIRST_DAY; d <= LAST_DAY; d += 13) {
+            LocalDate date = LocalDate.ofEpochDay(d);
+            long noon = date.atTime(12, 0).atZone(zoneId).toInstant().toEpochMilli();
+
+            assertEquals(date.with(week.dayOfWeek(), 1).atStartOfDay(zoneId).toInstant().toEpochMilli(),
+                    buckets.bucketStart(noon, DateBuckets.Unit.WEEK));
+            assertEquals(date.withDayOfMonth(1).atStartOfDay(zoneId).toInstant().toEpochMilli(),
+                    buckets.bucketStart(noon, DateBuckets.Unit.MONTH));
+            assertEquals(date.with(TemporalAdjusters.firstDayOfNextMonth()).atStartOfDay(zoneId).toInstant()
+                    .toEpochMilli() - 1, buckets.bucketEnd(noon, DateBuckets.Unit.MONTH));
+            assertEquals(date.withDayOfYear(1).atStartOfDay(zoneId).toInstant().toEpochMilli(),
+                    buckets.bucketStart(noon, DateBuckets.Unit.YEAR));
+        }
+    }
+
+    @Test
+    public void civilArithmeticMatchesJavaTime() {
+        for (long d = -800_000; d <= 800_000; d += 7) {
+            LocalDate date = LocalDate.ofEpochDay(d);
+            assertEquals(date.getYear(), DateBuckets.year(d));
+            assertEquals(date.getMonthValue(), DateBuckets.month(d));
+            assertEquals(date.getDayOfMonth(), DateBuckets.dayOfMonth(d));
+            assertEquals(d, DateBuckets.daysFromCivil(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+            assertEquals(date.plusMonths(5).toEpochDay(), DateBuckets.addMonths(d, 5));
+        }
+    }
+
+    private static void assertStartOfDay(String id, DateBuckets buckets, ZoneId zoneId, long day) {
+        ZonedDateTime expected = LocalDate.ofEpochDay(day).atStartOfDay(zoneId);
+        long start = buckets.startOfDay(day);
+        String where = id + " " + LocalDate.ofEpochDay(day);
+        assertEquals(where, expected.toInstant().toEpochMilli(), start);
+        // Checked against java.time rather than day and day - 1, since a day can be
+        // skipped whole, like 30 December 2011 in Samoa and Tokelau
+        assertEquals(where, localDay(zoneId, start), buckets.epochDay(start));
+        assertEquals(where, localDay(zoneId, start - 1), buckets.epochDay(start - 1));
+    }
+
+    private static long localDay(ZoneId zoneId, long millis) {
+        return Instant.ofEpochMilli(millis).atZone(zoneId).toLocalDate().toEpochDay();
+    }
+}